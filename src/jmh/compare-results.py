@@ -0,0 +1,106 @@
+#!/usr/bin/env python3
+"""
+Compara dois resultados JMH em JSON (-rf json) e aponta regressões.
+
+Uso:
+    python3 src/jmh/compare-results.py baseline.json atual.json [--threshold 10]
+
+Um benchmark regrediu se piorou mais que --threshold por cento e se a diferença
+é maior que a soma dos erros (intervalo de 99,9%) das duas medições. Para os
+modos de tempo (avgt, sample, ss) pior é maior; para thrpt, pior é menor.
+Com -prof gc, a alocação por operação (gc.alloc.rate.norm) também é comparada.
+
+Sai com código 1 se houver regressão, para uso em CI.
+"""
+
+import argparse
+import json
+import math
+import sys
+
+ALLOC_METRIC = "gc.alloc.rate.norm"
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = {}
+        for entry in json.load(f):
+            params = entry.get("params") or {}
+            key = entry["benchmark"]
+            if params:
+                key += " [" + ", ".join(f"{k}={v}" for k, v in sorted(params.items())) + "]"
+            results[key] = entry
+        return results
+
+
+def metric(entry, name=None):
+    if name is None:
+        data = entry["primaryMetric"]
+    else:
+        # JMH < 1.37 prefixa as métricas secundárias com '·'
+        secondary = {k.lstrip("·"): v for k, v in (entry.get("secondaryMetrics") or {}).items()}
+        data = secondary.get(name)
+        if data is None:
+            return None
+    error = data.get("scoreError")
+    if error is None or (isinstance(error, float) and math.isnan(error)) or error == "NaN":
+        error = 0.0
+    return float(data["score"]), float(error), data.get("scoreUnit", "")
+
+
+def compare(name, base, current, higher_is_better, threshold):
+    base_score, base_error, unit = base
+    current_score, current_error, _ = current
+
+    if base_score == 0:
+        change = 0.0 if current_score == 0 else math.inf
+    else:
+        change = (current_score - base_score) / base_score * 100
+    worse = -change if higher_is_better else change
+    significant = abs(current_score - base_score) > base_error + current_error
+    regressed = worse > threshold and significant
+
+    status = "REGRESSÃO" if regressed else ("melhora" if -worse > threshold and significant else "ok")
+    print(f"{status:10} {name}: {base_score:.3f} -> {current_score:.3f} {unit} ({change:+.1f}%)")
+    return regressed
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Compara resultados JMH e aponta regressões")
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0,
+                        help="piora percentual tolerada (padrão: 10)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    regressions = 0
+
+    for key in sorted(baseline.keys() | current.keys()):
+        if key not in current:
+            print(f"{'removido':10} {key}")
+            continue
+        if key not in baseline:
+            print(f"{'novo':10} {key}")
+            continue
+
+        higher_is_better = current[key]["mode"] == "thrpt"
+        if compare(key, metric(baseline[key]), metric(current[key]), higher_is_better, args.threshold):
+            regressions += 1
+
+        base_alloc = metric(baseline[key], ALLOC_METRIC)
+        current_alloc = metric(current[key], ALLOC_METRIC)
+        if base_alloc and current_alloc:
+            if compare(f"{key} (alocação)", base_alloc, current_alloc, False, args.threshold):
+                regressions += 1
+
+    if regressions:
+        print(f"\n{regressions} regressão(ões) acima de {args.threshold:g}%")
+        return 1
+    print(f"\nNenhuma regressão acima de {args.threshold:g}%")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
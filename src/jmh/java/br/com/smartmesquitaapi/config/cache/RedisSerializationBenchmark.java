@@ -0,0 +1,88 @@
+package br.com.smartmesquitaapi.config.cache;
+
+import br.com.smartmesquitaapi.pix.dto.CreatePixChargeResponse;
+import br.com.smartmesquitaapi.pix.infrastructure.EmvPayloadGenerator;
+import br.com.smartmesquitaapi.pix.infrastructure.QrcodeImageGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização dos valores guardados no Redis: o GenericJackson2JsonRedisSerializer
+ * antigo (JSON com nome de classe), JSON tipado e Smile (SmileRedisSerializer).
+ *
+ * O tamanho de cada payload é impresso no setup. "withQr" é a resposta real da
+ * criação de cobrança, dominada pela imagem em Base64; "withoutQr" mostra o
+ * ganho nos campos estruturados, que é o caso dos DTOs menores em cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializationBenchmark {
+
+    @Param({"generic-json", "typed-json", "smile"})
+    public String format;
+
+    @Param({"withQr", "withoutQr"})
+    public String payload;
+
+    private RedisSerializer<Object> serializer;
+    private CreatePixChargeResponse response;
+    private byte[] bytes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        String emv = EmvPayloadGenerator.generate(
+                "tesouraria@mesquita-exemplo.org.br",
+                "Mesquita Exemplo",
+                "Sao Paulo",
+                "0K7Q3ZP9X1ABC",
+                5000
+        );
+        response = CreatePixChargeResponse.builder()
+                .txid("0K7Q3ZP9X1ABC")
+                .qrPayload(emv)
+                .qrImageBase64(payload.equals("withQr") ? QrcodeImageGenerator.generateForMobile(emv) : null)
+                .expiresAt(System.currentTimeMillis() + 600_000)
+                .amountCents(5000)
+                .build();
+
+        serializer = (RedisSerializer<Object>) (RedisSerializer<?>) switch (format) {
+            case "generic-json" -> new GenericJackson2JsonRedisSerializer();
+            case "typed-json" -> new Jackson2JsonRedisSerializer<>(CreatePixChargeResponse.class);
+            case "smile" -> new SmileRedisSerializer<>(CreatePixChargeResponse.class);
+            default -> throw new IllegalArgumentException(format);
+        };
+        bytes = serializer.serialize(response);
+
+        System.out.printf(Locale.ROOT, "%n[%s/%s] payload: %d bytes%n", format, payload, bytes.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(response);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+}
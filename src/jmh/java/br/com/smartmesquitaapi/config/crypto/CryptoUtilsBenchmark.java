@@ -0,0 +1,46 @@
+package br.com.smartmesquitaapi.config.crypto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AES-GCM dos dados bancários (chave PIX), lidos e gravados a cada cobrança.
+ * Usa a chave de desenvolvimento se ENCRYPTION_KEY_BASE64 não estiver definida.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptoUtilsBenchmark {
+
+    private static final String PLAINTEXT = "tesouraria@mesquita-exemplo.org.br";
+
+    private String ciphertext;
+
+    @Setup
+    public void setup() {
+        ciphertext = CryptoUtils.encrypt(PLAINTEXT);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return CryptoUtils.encrypt(PLAINTEXT);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return CryptoUtils.decrypt(ciphertext);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.smartmesquitaapi.pix.infrastructure;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração do payload EMV de uma cobrança típica de totem e o CRC-16 isolado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmvPayloadGeneratorBenchmark {
+
+    private static final String PIX_KEY = "tesouraria@mesquita-exemplo.org.br";
+    private static final String MERCHANT_NAME = "Mesquita Nossa Senhora da Paz de São João";
+    private static final String MERCHANT_CITY = "São Bernardo do Campo";
+    private static final String TXID = "0K7Q3ZP9X1ABC";
+    private static final int AMOUNT_CENTS = 5000;
+
+    private EmvPayloadGenerator.Merchant merchant;
+    private String payloadWithoutCrc;
+
+    @Setup
+    public void setup() {
+        merchant = EmvPayloadGenerator.Merchant.of(MERCHANT_NAME, MERCHANT_CITY);
+        String payload = EmvPayloadGenerator.generate(PIX_KEY, merchant, TXID, AMOUNT_CENTS);
+        payloadWithoutCrc = payload.substring(0, payload.length() - 4);
+    }
+
+    /**
+     * Caminho completo, sanitizando nome e cidade a cada chamada
+     */
+    @Benchmark
+    public String generate() {
+        return EmvPayloadGenerator.generate(PIX_KEY, MERCHANT_NAME, MERCHANT_CITY, TXID, AMOUNT_CENTS);
+    }
+
+    /**
+     * Caminho do PixChargeService, com nome e cidade já sanitizados
+     */
+    @Benchmark
+    public String generateWithMerchant() {
+        return EmvPayloadGenerator.generate(PIX_KEY, merchant, TXID, AMOUNT_CENTS);
+    }
+
+    @Benchmark
+    public String calculateCRC16() {
+        return EmvPayloadGenerator.calculateCRC16(payloadWithoutCrc);
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.smartmesquitaapi.pix.infrastructure;
+
+import br.com.smartmesquitaapi.user.domain.PixKeyType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da validação de chave PIX por tipo, com e sem formatação de entrada.
+ *
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="PixKeyValidatorBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PixKeyValidatorBenchmark {
+
+    @Param({"EMAIL", "PHONE", "CPF", "CNPJ", "EVP"})
+    private PixKeyType type;
+
+    /**
+     * Chave como o usuário digita (pontuação, espaços, maiúsculas)
+     */
+    @Param({"true", "false"})
+    private boolean formatted;
+
+    private String key;
+
+    @Setup
+    public void setup() {
+        key = switch (type) {
+            case EMAIL -> formatted ? "  Tesouraria.Mesquita@Exemplo.com.br " : "tesouraria.mesquita@exemplo.com.br";
+            case PHONE -> formatted ? "+55 (11) 98765 4321" : "+5511987654321";
+            case CPF -> formatted ? "529.982.247 25" : "52998224725";
+            case CNPJ -> formatted ? "11.222.333/0001 81" : "11222333000181";
+            case EVP -> formatted ? " 123E4567-E89B-12D3-A456-426614174000 " : "123e4567-e89b-12d3-a456-426614174000";
+        };
+        if (PixKeyValidator.detectType(key) != type) {
+            throw new IllegalStateException("Chave de exemplo inválida para " + type + ": " + key);
+        }
+    }
+
+    @Benchmark
+    public PixKey classify() {
+        return PixKeyValidator.classify(key);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return PixKeyValidator.isValid(key);
+    }
+
+    @Benchmark
+    public String normalize() {
+        return PixKeyValidator.normalize(key);
+    }
+
+    @Benchmark
+    public String formatForDisplay() {
+        return PixKeyValidator.formatForDisplay(key);
+    }
+}
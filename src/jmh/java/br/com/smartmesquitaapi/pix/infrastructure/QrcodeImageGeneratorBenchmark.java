@@ -0,0 +1,49 @@
+package br.com.smartmesquitaapi.pix.infrastructure;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração da imagem do QR Code (ZXing + PNG + Base64), a etapa mais cara da criação de cobrança.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QrcodeImageGeneratorBenchmark {
+
+    private String payload;
+
+    @Setup
+    public void setup() {
+        payload = EmvPayloadGenerator.generate(
+                "tesouraria@mesquita-exemplo.org.br",
+                "Mesquita Exemplo",
+                "Sao Paulo",
+                "0K7Q3ZP9X1ABC",
+                5000
+        );
+    }
+
+    @Benchmark
+    public String generateForMobile() {
+        return QrcodeImageGenerator.generateForMobile(payload);
+    }
+
+    @Benchmark
+    public String generateHighQuality() {
+        return QrcodeImageGenerator.generateHighQuality(payload);
+    }
+}
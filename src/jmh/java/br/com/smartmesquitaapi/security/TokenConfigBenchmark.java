@@ -0,0 +1,64 @@
+package br.com.smartmesquitaapi.security;
+
+import br.com.smartmesquitaapi.auth.JWTUserData;
+import br.com.smartmesquitaapi.user.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação do JWT feita pelo SecurityFilter em toda requisição autenticada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenConfigBenchmark {
+
+    private TokenConfig tokenConfig;
+    private String validToken;
+    private String tamperedToken;
+
+    @Setup
+    public void setup() {
+        tokenConfig = new TokenConfig();
+        ReflectionTestUtils.setField(tokenConfig, "secret", "benchmark-secret-com-pelo-menos-32-bytes");
+
+        validToken = tokenConfig.generateToken(User.builder()
+                .userId(UUID.randomUUID())
+                .email("admin@mesquita-exemplo.org.br")
+                .build());
+
+        // Assinatura inválida: o caminho de quem tenta forjar tokens
+        int signature = validToken.lastIndexOf('.') + 1;
+        char first = validToken.charAt(signature);
+        tamperedToken = validToken.substring(0, signature) + (first == 'A' ? 'B' : 'A') + validToken.substring(signature + 1);
+        if (tokenConfig.validateToken(tamperedToken).isPresent()) {
+            throw new IllegalStateException("Token adulterado foi aceito");
+        }
+    }
+
+    @Benchmark
+    public Optional<JWTUserData> validateToken() {
+        return tokenConfig.validateToken(validToken);
+    }
+
+    @Benchmark
+    public Optional<JWTUserData> validateTamperedToken() {
+        return tokenConfig.validateToken(tamperedToken);
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.smartmesquitaapi.loadtest;
+
+import br.com.smartmesquitaapi.apikey.repository.TotemKeyRepository;
+import br.com.smartmesquitaapi.ratelimit.RateLimitMetrics;
+import br.com.smartmesquitaapi.ratelimit.RateLimitService;
+import br.com.smartmesquitaapi.security.TokenConfig;
+import br.com.smartmesquitaapi.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga da API em processo: sobe a aplicação numa porta aleatória,
+ * cria organizações com totem e usuário, e dispara tráfego de doações em
+ * modelo aberto, um estágio por taxa de chegada (-Dloadtest.rates).
+ *
+ * Por padrão usa Postgres e Redis do Testcontainers. Com -Dloadtest.external=true
+ * usa os já configurados (spring.datasource.* e spring.data.redis.*), útil para
+ * medir contra um banco com volume de produção.
+ *
+ * mvn -Ploadtest test -Dloadtest.rates=50,100,200,400
+ *
+ * Rodando de novo com -Dloadtest.virtual-threads=true, o teste compara os
+ * dois modos de threads estágio a estágio (ver {@link ThreadModeComparison}).
+ *
+ * Ver TESTES.md para todos os parâmetros.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                // Log DEBUG por requisição mediria o console, não a API
+                "logging.level.br.com.smartmesquitaapi=INFO",
+                "logging.level.org.springframework.web=INFO",
+                "logging.level.org.hibernate.SQL=WARN"
+        }
+)
+@AutoConfigureObservability(tracing = false)
+@EnabledIf("infrastructureAvailable")
+@Slf4j
+class DonationTrafficLoadTest {
+
+    /**
+     * Limite de cobranças pendentes por organização por hora (PixChargeService)
+     */
+    private static final int MAX_PENDING_CHARGES_PER_ORGANIZATION = 300;
+
+    private static final LoadTestSettings SETTINGS = LoadTestSettings.fromSystemProperties();
+
+    private static PostgreSQLContainer<?> postgres;
+    private static GenericContainer<?> redis;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TotemKeyRepository totemKeyRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenConfig tokenConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    static boolean infrastructureAvailable() {
+        return LoadTestSettings.isExternal() || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) {
+        registry.add("spring.threads.virtual.enabled", SETTINGS::virtualThreads);
+
+        if (SETTINGS.external()) {
+            return;
+        }
+
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+        postgres.start();
+        redis.start();
+
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @Test
+    void donationTraffic() throws Exception {
+        warnIfOrganizationLimitWillThrottle();
+
+        LoadTestDataSeeder seeder = new LoadTestDataSeeder(userRepository, totemKeyRepository, passwordEncoder, tokenConfig);
+        List<SeededOrganization> organizations = seeder.seed(SETTINGS.organizations());
+
+        LoadClient client = new LoadClient("http://localhost:" + port, organizations, objectMapper);
+        OpenModelLoadDriver driver = new OpenModelLoadDriver(client, SETTINGS);
+
+        List<StageResult> stages = new ArrayList<>();
+        for (int i = 0; i < SETTINGS.rates().size(); i++) {
+            StageResult stage = driver.run(SETTINGS.rates().get(i), SETTINGS.seed() + i);
+            stage.print(System.out, SETTINGS.sloP99());
+            stage.writeDistributions(SETTINGS.modeReportDir());
+            stages.add(stage);
+        }
+
+        // Tempos por etapa do lado da API (pix_charge_creation_stage_seconds), acumulados de todos os estágios
+        Files.writeString(SETTINGS.modeReportDir().resolve("prometheus.txt"), client.scrapeMetrics());
+
+        printSummary(stages);
+        ThreadModeComparison.write(SETTINGS, stages);
+        ThreadModeComparison.printIfBothModesRan(System.out, SETTINGS);
+
+        assertThat(stages.getFirst().results().get(Operation.CREATE_CHARGE).succeeded())
+                .as("Nenhuma cobrança criada no primeiro estágio - verifique os erros acima")
+                .isPositive();
+    }
+
+    private static void printSummary(List<StageResult> stages) {
+        double sustained = stages.stream()
+                .filter(stage -> stage.sustainable(SETTINGS.sloP99()))
+                .mapToDouble(stage -> stage.throughput(Operation.CREATE_CHARGE))
+                .max()
+                .orElse(0);
+
+        System.out.printf(Locale.ROOT, "%nMaior taxa sustentável de doações: %.1f/s (p99 <= %d ms, erros < 1%%, sem descartes)%n",
+                sustained, SETTINGS.sloP99().toMillis());
+        System.out.println("Threads: " + SETTINGS.threadMode());
+        System.out.println("Distribuições de latência: " + SETTINGS.modeReportDir().toAbsolutePath());
+    }
+
+    /**
+     * O PixChargeService recusa cobranças de organizações com muitas pendentes na
+     * última hora; com poucas organizações o teste mediria esse limite, não a API.
+     */
+    private static void warnIfOrganizationLimitWillThrottle() {
+        Duration stageLength = SETTINGS.warmup().plus(SETTINGS.duration());
+        double chargesPerOrganization = SETTINGS.rates().stream()
+                .mapToDouble(rate -> rate * SETTINGS.createShare() * stageLength.toSeconds())
+                .sum() / SETTINGS.organizations();
+
+        if (chargesPerOrganization > MAX_PENDING_CHARGES_PER_ORGANIZATION) {
+            log.warn("~{} cobranças por organização passam do limite de {} por hora; aumente -Dloadtest.organizations",
+                    Math.round(chargesPerOrganization), MAX_PENDING_CHARGES_PER_ORGANIZATION);
+        }
+    }
+
+    /**
+     * Com -Dloadtest.rate-limits=false (padrão) os limites de @RateLimit continuam
+     * sendo contados no Redis, mas não bloqueiam: todos os totens de teste
+     * compartilhariam a mesma chave e o teste mediria o limite, não a API.
+     */
+    @TestConfiguration
+    static class RateLimitBypassConfig {
+
+        @Bean
+        @Primary
+        @ConditionalOnProperty(name = "loadtest.rate-limits", havingValue = "false", matchIfMissing = true)
+        RateLimitService countingOnlyRateLimitService(StringRedisTemplate redisTemplate, RateLimitMetrics metrics) {
+            return new RateLimitService(redisTemplate, metrics) {
+
+                @Override
+                public boolean allowRequest(String key, int maxRequests, Duration windowDuration) {
+                    super.allowRequest(key, maxRequests, windowDuration);
+                    return true;
+                }
+
+                @Override
+                public boolean isBanned(String key) {
+                    return false;
+                }
+            };
+        }
+    }
+}
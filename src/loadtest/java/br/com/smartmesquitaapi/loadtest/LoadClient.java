@@ -0,0 +1,167 @@
+package br.com.smartmesquitaapi.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Executa cada {@link Operation} contra a API como um totem ou um usuário faria.
+ * O conteúdo de cada requisição vem de uma semente, então uma execução com os
+ * mesmos parâmetros repete as mesmas requisições.
+ */
+class LoadClient {
+
+    /**
+     * Resultado de uma requisição; status 0 quando a operação não tinha o que consultar
+     */
+    record Response(int status) {
+
+        static final Response SKIPPED = new Response(0);
+    }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Valores típicos de doação em totem, em centavos
+     */
+    private static final int[] AMOUNTS_CENTS = {500, 1000, 2000, 5000, 10000, 20000};
+
+    private final String baseUrl;
+    private final List<SeededOrganization> organizations;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    LoadClient(String baseUrl, List<SeededOrganization> organizations, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.organizations = organizations;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    Response execute(Operation operation, long seed) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        SeededOrganization organization = organizations.get(random.nextInt(organizations.size()));
+
+        return switch (operation) {
+            case CREATE_CHARGE -> createCharge(organization, random);
+            case RETRY_CHARGE -> retryCharge(organization, random);
+            case CHARGE_STATUS -> chargeStatus(organization, random);
+            case LOGIN -> login(organization, random);
+            case DONATION_SUMMARY -> {
+                LocalDate today = LocalDate.now();
+                yield send(authorized(organization, "/api/v1/organizations/me/donations/summary?from="
+                        + today.minusDays(30) + "&to=" + today).GET());
+            }
+            case LIVE_TOTAL -> send(authorized(organization, "/api/v1/organizations/me/donations/live").GET());
+            case CHARGE_HISTORY -> send(authorized(organization, "/api/v1/organizations/me/charges?limit=20").GET());
+        };
+    }
+
+    private Response createCharge(SeededOrganization organization, SplittableRandom random)
+            throws IOException, InterruptedException {
+        String localId = new UUID(random.nextLong(), random.nextLong()).toString();
+        String idempotencyKey = new UUID(random.nextLong(), random.nextLong()).toString();
+        int amountCents = AMOUNTS_CENTS[random.nextInt(AMOUNTS_CENTS.length)];
+
+        HttpResponse<String> response = postCharge(organization, localId, idempotencyKey, amountCents);
+        if (response.statusCode() == 201) {
+            JsonNode body = objectMapper.readTree(response.body());
+            organization.remember(new SeededOrganization.RecentCharge(
+                    localId, idempotencyKey, amountCents, body.path("txid").asText()));
+        }
+        return new Response(response.statusCode());
+    }
+
+    /**
+     * Totem reenviando uma cobrança já criada (mesma idempotencyKey)
+     */
+    private Response retryCharge(SeededOrganization organization, SplittableRandom random)
+            throws IOException, InterruptedException {
+        SeededOrganization.RecentCharge charge = organization.recentCharge(random.nextLong());
+        if (charge == null) {
+            return Response.SKIPPED;
+        }
+        HttpResponse<String> response = postCharge(organization, charge.localId(), charge.idempotencyKey(), charge.amountCents());
+        return new Response(response.statusCode());
+    }
+
+    private Response chargeStatus(SeededOrganization organization, SplittableRandom random)
+            throws IOException, InterruptedException {
+        SeededOrganization.RecentCharge charge = organization.recentCharge(random.nextLong());
+        if (charge == null) {
+            return Response.SKIPPED;
+        }
+        return send(authorized(organization, "/api/v1/donations/txid/" + charge.txid()).GET());
+    }
+
+    private Response login(SeededOrganization organization, SplittableRandom random)
+            throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(new LoginBody(organization.email(), organization.password()));
+
+        // Cada login vem de um IP diferente, como celulares de vários tesoureiros
+        String clientIp = "10." + random.nextInt(256) + "." + random.nextInt(256) + "." + (1 + random.nextInt(254));
+
+        return send(request("/api/v1/auth/login")
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", clientIp)
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpResponse<String> postCharge(
+            SeededOrganization organization,
+            String localId,
+            String idempotencyKey,
+            int amountCents
+    ) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(new ChargeBody(localId, amountCents, idempotencyKey, 10));
+
+        HttpRequest request = request("/api/v1/donations/" + localId + "/pix")
+                .header("Content-Type", "application/json")
+                .header("X-API-KEY", organization.totemKey())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Métricas da API no formato Prometheus (tempos por etapa da criação de cobrança)
+     */
+    String scrapeMetrics() throws IOException, InterruptedException {
+        return httpClient.send(request("/actuator/prometheus").GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private HttpRequest.Builder authorized(SeededOrganization organization, String path) {
+        return request(path).header("Authorization", "Bearer " + organization.accessToken());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private Response send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        return new Response(response.statusCode());
+    }
+
+    private record ChargeBody(String localDonationId, int amountCents, String idempotencyKey, int expiresMinutes) {
+    }
+
+    private record LoginBody(String email, String password) {
+    }
+}
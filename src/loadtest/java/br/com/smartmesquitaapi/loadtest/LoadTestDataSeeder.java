@@ -0,0 +1,98 @@
+package br.com.smartmesquitaapi.loadtest;
+
+import br.com.smartmesquitaapi.apikey.domain.TotemKey;
+import br.com.smartmesquitaapi.apikey.repository.TotemKeyRepository;
+import br.com.smartmesquitaapi.organization.domain.Mosque;
+import br.com.smartmesquitaapi.security.TokenConfig;
+import br.com.smartmesquitaapi.user.UserRepository;
+import br.com.smartmesquitaapi.user.domain.BankDetails;
+import br.com.smartmesquitaapi.user.domain.PixKeyType;
+import br.com.smartmesquitaapi.user.domain.User;
+import br.com.smartmesquitaapi.user.domain.UserRole;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cria as organizações do teste direto pelos repositórios: mesquita com chave
+ * PIX verificada, usuário dono (para login e dashboard) e um totem.
+ *
+ * Os e-mails e CNPJs levam um identificador da execução, então o seed pode
+ * rodar várias vezes no mesmo banco (modo externo).
+ */
+@RequiredArgsConstructor
+@Slf4j
+class LoadTestDataSeeder {
+
+    private static final String PASSWORD = "carga-Senha-123";
+
+    private final UserRepository userRepository;
+    private final TotemKeyRepository totemKeyRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TokenConfig tokenConfig;
+
+    List<SeededOrganization> seed(int organizations) {
+        String run = String.format("%06d", System.currentTimeMillis() % 1_000_000);
+
+        // BCrypt é caro de propósito; o mesmo hash serve para todos os usuários
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        List<SeededOrganization> seeded = new ArrayList<>(organizations);
+        for (int i = 0; i < organizations; i++) {
+            Mosque mosque = new Mosque();
+            mosque.setOrgName("Mesquita Carga " + run + " " + i);
+            mosque.setAdministratorName("Administrador " + i);
+            mosque.setCnpj(cnpj(run + String.format("%06d", i)));
+            mosque.setBankDetails(verifiedBankDetails("tesouraria" + i + ".carga" + run + "@mesquita-exemplo.org.br"));
+
+            User user = new User();
+            user.setName("Tesoureiro " + i);
+            user.setEmail("carga-" + run + "-" + i + "@mesquita-exemplo.org.br");
+            user.setPassword(passwordHash);
+            user.setRole(UserRole.ORG_OWNER);
+            user.setEnabled(true);
+            user.setOrganization(mosque);
+            User saved = userRepository.save(user);
+
+            String totemKey = "totem_" + UUID.randomUUID().toString().replace("-", "");
+            totemKeyRepository.save(new TotemKey("Totem carga " + i, totemKey, saved.getOrganization()));
+
+            seeded.add(new SeededOrganization(saved.getEmail(), PASSWORD, tokenConfig.generateToken(saved), totemKey));
+        }
+
+        log.info("Seed do teste de carga concluído - Execução: {} | Organizações: {}", run, organizations);
+        return seeded;
+    }
+
+    /**
+     * Completa 12 dígitos com os dígitos verificadores (Organization valida o CNPJ ao salvar)
+     */
+    private static String cnpj(String base) {
+        int[] weights = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+        StringBuilder cnpj = new StringBuilder(base);
+        for (int length = 12; length <= 13; length++) {
+            int sum = 0;
+            for (int i = 0; i < length; i++) {
+                sum += (cnpj.charAt(i) - '0') * weights[i + 13 - length];
+            }
+            cnpj.append(sum % 11 < 2 ? 0 : 11 - sum % 11);
+        }
+        return cnpj.toString();
+    }
+
+    private static BankDetails verifiedBankDetails(String pixKey) {
+        BankDetails bankDetails = new BankDetails();
+        bankDetails.setBankName("Banco Carga");
+        bankDetails.setAccountHolder("Mesquita Carga");
+        bankDetails.setPixKey(pixKey);
+        bankDetails.setPixKeyType(PixKeyType.EMAIL);
+        bankDetails.setIsVerified(true);
+        bankDetails.setVerifiedAt(LocalDateTime.now());
+        return bankDetails;
+    }
+}
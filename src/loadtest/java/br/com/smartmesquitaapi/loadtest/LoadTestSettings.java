@@ -0,0 +1,112 @@
+package br.com.smartmesquitaapi.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos de propriedades de sistema (-Dloadtest.*).
+ *
+ * @param rates Taxas de chegada (requisições/s) de cada estágio, executados em sequência
+ * @param warmup Aquecimento de cada estágio, fora das medições
+ * @param duration Duração medida de cada estágio
+ * @param maxInFlight Requisições simultâneas; chegadas acima disso são contadas como descartadas
+ * @param organizations Organizações (cada uma com um totem e um usuário) criadas no seed
+ * @param mix Peso de cada operação no tráfego
+ * @param seed Semente das chegadas e do conteúdo das requisições
+ * @param sloP99 p99 máximo da criação de cobrança para um estágio ser considerado sustentável
+ * @param enforceRateLimits Se false, o @RateLimit é contabilizado no Redis mas não bloqueia
+ * @param external Se true, usa Postgres e Redis já configurados em vez de Testcontainers
+ * @param virtualThreads Se true, sobe a API com spring.threads.virtual.enabled=true
+ * @param reportDir Onde gravar as distribuições de latência (.hgrm), uma pasta por modo de threads
+ */
+public record LoadTestSettings(
+        List<Double> rates,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        int organizations,
+        Map<Operation, Integer> mix,
+        long seed,
+        Duration sloP99,
+        boolean enforceRateLimits,
+        boolean external,
+        boolean virtualThreads,
+        Path reportDir
+) {
+
+    static final String DEFAULT_MIX = "create:40,retry:5,status:30,login:5,summary:5,live:10,history:5";
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Arrays.stream(property("loadtest.rates", "20,50,100").split(","))
+                        .map(String::trim)
+                        .map(Double::parseDouble)
+                        .toList(),
+                Duration.ofSeconds(Long.parseLong(property("loadtest.warmup-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(property("loadtest.duration-seconds", "30"))),
+                Integer.parseInt(property("loadtest.max-in-flight", "256")),
+                Integer.parseInt(property("loadtest.organizations", "100")),
+                parseMix(property("loadtest.mix", DEFAULT_MIX)),
+                Long.parseLong(property("loadtest.seed", "42")),
+                Duration.ofMillis(Long.parseLong(property("loadtest.slo-p99-ms", "500"))),
+                Boolean.parseBoolean(property("loadtest.rate-limits", "false")),
+                isExternal(),
+                Boolean.parseBoolean(property("loadtest.virtual-threads", "false")),
+                Path.of(property("loadtest.report-dir", "target/loadtest"))
+        );
+    }
+
+    static boolean isExternal() {
+        return Boolean.parseBoolean(property("loadtest.external", "false"));
+    }
+
+    /**
+     * "create:40,status:30,..." com os nomes curtos de {@link Operation}
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("loadtest.mix inválido: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromShortName(parts[0].trim().toLowerCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix sem operações");
+        }
+        return weights;
+    }
+
+    /**
+     * "virtual" ou "platform": nome da pasta de relatórios desta execução
+     */
+    String threadMode() {
+        return virtualThreads ? "virtual" : "platform";
+    }
+
+    Path modeReportDir() {
+        return reportDir.resolve(threadMode());
+    }
+
+    /**
+     * Fração do tráfego que cria cobranças novas
+     */
+    double createShare() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        return mix.getOrDefault(Operation.CREATE_CHARGE, 0) / (double) total;
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
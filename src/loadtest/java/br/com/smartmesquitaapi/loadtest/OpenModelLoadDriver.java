@@ -0,0 +1,135 @@
+package br.com.smartmesquitaapi.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gera tráfego em modelo aberto: as chegadas seguem um processo de Poisson na
+ * taxa do estágio, independentemente de quanto a API demora para responder.
+ * Assim uma API lenta acumula requisições em andamento, como acontece com
+ * totens reais, em vez de reduzir a carga sozinha.
+ *
+ * A latência é medida a partir do instante planejado da chegada (não do envio),
+ * para que atrasos do próprio gerador não escondam filas (coordinated omission).
+ */
+@Slf4j
+class OpenModelLoadDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(40);
+
+    private final LoadClient client;
+    private final LoadTestSettings settings;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    OpenModelLoadDriver(LoadClient client, LoadTestSettings settings) {
+        this.client = client;
+        this.settings = settings;
+
+        Map<Operation, Integer> mix = settings.mix();
+        this.operations = mix.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    StageResult run(double rate, long seed) throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            stats.put(operation, new OperationStats());
+        }
+
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        log.info("Estágio de {} req/s - aquecimento de {}s e medição de {}s",
+                rate, settings.warmup().toSeconds(), settings.duration().toSeconds());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long nextArrival = start;
+            while (nextArrival < end) {
+                long wait = nextArrival - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue;
+                }
+
+                long intendedStart = nextArrival;
+                nextArrival += interArrivalNanos(random, rate);
+
+                Operation operation = pick(random);
+                long requestSeed = random.nextLong();
+                OperationStats operationStats = intendedStart >= measureFrom ? stats.get(operation) : null;
+
+                if (!inFlight.tryAcquire()) {
+                    if (operationStats != null) {
+                        operationStats.recordDropped();
+                    }
+                    continue;
+                }
+
+                executor.execute(() -> {
+                    try {
+                        LoadClient.Response response = client.execute(operation, requestSeed);
+                        // Consultas e reenvios sem cobrança criada ainda não contam
+                        if (operationStats != null && response != LoadClient.Response.SKIPPED) {
+                            operationStats.recordResponse(response.status(), System.nanoTime() - intendedStart);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        if (operationStats != null) {
+                            operationStats.recordFailure();
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+
+            // Espera as requisições do fim do estágio terminarem
+            executor.shutdown();
+            if (!executor.awaitTermination(DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                log.warn("Requisições ainda em andamento após {}s; seguindo sem elas", DRAIN_TIMEOUT.toSeconds());
+                executor.shutdownNow();
+            }
+        }
+
+        Map<Operation, OperationStats.Result> results = new EnumMap<>(Operation.class);
+        stats.forEach((operation, operationStats) -> results.put(operation, operationStats.result()));
+        return new StageResult(rate, settings.duration(), results);
+    }
+
+    /**
+     * Intervalo exponencial entre chegadas (processo de Poisson)
+     */
+    private static long interArrivalNanos(SplittableRandom random, double rate) {
+        double seconds = -Math.log(1.0 - random.nextDouble()) / rate;
+        return Math.max(1, (long) (seconds * 1_000_000_000L));
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
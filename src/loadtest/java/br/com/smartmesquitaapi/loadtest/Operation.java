@@ -0,0 +1,40 @@
+package br.com.smartmesquitaapi.loadtest;
+
+/**
+ * Operações que compõem o tráfego simulado
+ */
+public enum Operation {
+
+    CREATE_CHARGE("create", "POST /api/v1/donations/{localId}/pix"),
+    RETRY_CHARGE("retry", "POST /api/v1/donations/{localId}/pix (reenvio)"),
+    CHARGE_STATUS("status", "GET /api/v1/donations/txid/{txid}"),
+    LOGIN("login", "POST /api/v1/auth/login"),
+    DONATION_SUMMARY("summary", "GET /api/v1/organizations/me/donations/summary"),
+    LIVE_TOTAL("live", "GET /api/v1/organizations/me/donations/live"),
+    CHARGE_HISTORY("history", "GET /api/v1/organizations/me/charges");
+
+    private final String shortName;
+    private final String endpoint;
+
+    Operation(String shortName, String endpoint) {
+        this.shortName = shortName;
+        this.endpoint = endpoint;
+    }
+
+    public String shortName() {
+        return shortName;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    static Operation fromShortName(String shortName) {
+        for (Operation operation : values()) {
+            if (operation.shortName.equals(shortName)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida em loadtest.mix: " + shortName);
+    }
+}
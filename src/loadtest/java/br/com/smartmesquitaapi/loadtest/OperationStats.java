@@ -0,0 +1,95 @@
+package br.com.smartmesquitaapi.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências (HdrHistogram, em microssegundos) e contadores de uma operação num estágio.
+ * Gravado por várias threads; lido uma vez, depois do estágio.
+ */
+final class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder latencies = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Só respostas 2xx entram no histograma; erros rápidos distorceriam os percentis
+     */
+    void recordResponse(int status, long latencyNanos) {
+        if (status >= 200 && status < 300) {
+            succeeded.increment();
+            latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        } else if (status == 429) {
+            rateLimited.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else {
+            clientErrors.increment();
+        }
+    }
+
+    /**
+     * Timeout, conexão recusada ou outro erro sem resposta HTTP
+     */
+    void recordFailure() {
+        failures.increment();
+    }
+
+    /**
+     * Chegada descartada por já haver loadtest.max-in-flight requisições em andamento
+     */
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    Result result() {
+        return new Result(
+                latencies.getIntervalHistogram(),
+                succeeded.sum(),
+                clientErrors.sum(),
+                rateLimited.sum(),
+                serverErrors.sum(),
+                failures.sum(),
+                dropped.sum()
+        );
+    }
+
+    record Result(
+            Histogram latenciesMicros,
+            long succeeded,
+            long clientErrors,
+            long rateLimited,
+            long serverErrors,
+            long failures,
+            long dropped
+    ) {
+
+        long errors() {
+            return clientErrors + rateLimited + serverErrors + failures;
+        }
+
+        long attempted() {
+            return succeeded + errors();
+        }
+
+        double errorRate() {
+            long attempted = attempted();
+            return attempted == 0 ? 0 : errors() / (double) attempted;
+        }
+
+        double percentileMillis(double percentile) {
+            return latenciesMicros.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package br.com.smartmesquitaapi.loadtest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Organização criada pelo seed, com as credenciais usadas pelo tráfego
+ * e as últimas cobranças criadas (para consultas de status e reenvios).
+ */
+final class SeededOrganization {
+
+    private static final int RECENT_CHARGES = 64;
+
+    record RecentCharge(String localId, String idempotencyKey, int amountCents, String txid) {
+    }
+
+    private final String email;
+    private final String password;
+    private final String accessToken;
+    private final String totemKey;
+
+    private final AtomicReferenceArray<RecentCharge> recentCharges = new AtomicReferenceArray<>(RECENT_CHARGES);
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    SeededOrganization(String email, String password, String accessToken, String totemKey) {
+        this.email = email;
+        this.password = password;
+        this.accessToken = accessToken;
+        this.totemKey = totemKey;
+    }
+
+    String email() {
+        return email;
+    }
+
+    String password() {
+        return password;
+    }
+
+    String accessToken() {
+        return accessToken;
+    }
+
+    String totemKey() {
+        return totemKey;
+    }
+
+    void remember(RecentCharge charge) {
+        recentCharges.set(Math.floorMod(nextSlot.getAndIncrement(), RECENT_CHARGES), charge);
+    }
+
+    /**
+     * Uma das últimas cobranças criadas, ou null se ainda não houver nenhuma
+     */
+    RecentCharge recentCharge(long random) {
+        int created = Math.min(nextSlot.get(), RECENT_CHARGES);
+        if (created == 0) {
+            return null;
+        }
+        return recentCharges.get((int) Math.floorMod(random, (long) created));
+    }
+}
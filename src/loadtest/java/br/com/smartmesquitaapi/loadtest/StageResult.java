@@ -0,0 +1,85 @@
+package br.com.smartmesquitaapi.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resultado de um estágio (uma taxa de chegada) por operação
+ */
+record StageResult(double rate, Duration duration, Map<Operation, OperationStats.Result> results) {
+
+    /**
+     * Acima disso o estágio não é sustentável, mesmo com o p99 dentro do SLO
+     */
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    double throughput(Operation operation) {
+        OperationStats.Result result = results.get(operation);
+        return result == null ? 0 : result.succeeded() / (double) duration.toSeconds();
+    }
+
+    /**
+     * Doações por segundo que a API sustentou: p99 da criação dentro do SLO,
+     * menos de 1% de erros e nenhuma chegada descartada
+     */
+    boolean sustainable(Duration sloP99) {
+        OperationStats.Result create = results.get(Operation.CREATE_CHARGE);
+        if (create == null || create.succeeded() == 0) {
+            return false;
+        }
+        boolean anyDropped = results.values().stream().anyMatch(result -> result.dropped() > 0);
+        boolean tooManyErrors = results.values().stream().anyMatch(result -> result.errorRate() > MAX_ERROR_RATE);
+
+        return !anyDropped && !tooManyErrors && create.percentileMillis(99) <= sloP99.toMillis();
+    }
+
+    void print(PrintStream out, Duration sloP99) {
+        out.printf(Locale.ROOT, "%n=== Estágio %.0f req/s (%ds medidos) ===%n", rate, duration.toSeconds());
+        out.printf(Locale.ROOT, "%-10s %9s %9s %9s %9s %9s %9s %9s %7s %7s %7s %7s %7s%n",
+                "operação", "ok", "ok/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "4xx", "429", "5xx", "falhas", "descart");
+
+        results.forEach((operation, result) -> out.printf(Locale.ROOT,
+                "%-10s %9d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %7d %7d %7d %7d %7d%n",
+                operation.shortName(),
+                result.succeeded(),
+                throughput(operation),
+                result.percentileMillis(50),
+                result.percentileMillis(90),
+                result.percentileMillis(99),
+                result.percentileMillis(99.9),
+                result.latenciesMicros().getMaxValue() / 1000.0,
+                result.clientErrors(),
+                result.rateLimited(),
+                result.serverErrors(),
+                result.failures(),
+                result.dropped()));
+
+        out.printf(Locale.ROOT, "Doações criadas: %.1f/s - %s (SLO p99 %d ms)%n",
+                throughput(Operation.CREATE_CHARGE),
+                sustainable(sloP99) ? "sustentável" : "NÃO sustentável",
+                sloP99.toMillis());
+    }
+
+    /**
+     * Grava a distribuição completa de cada operação em formato .hgrm (HdrHistogram),
+     * que pode ser plotada em https://hdrhistogram.github.io/HdrHistogram/plotFiles.html
+     */
+    void writeDistributions(Path reportDir) throws IOException {
+        Path stageDir = reportDir.resolve(String.format(Locale.ROOT, "rate-%.0f", rate));
+        Files.createDirectories(stageDir);
+
+        for (Map.Entry<Operation, OperationStats.Result> entry : results.entrySet()) {
+            Path file = stageDir.resolve(entry.getKey().shortName() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                // Valores em microssegundos; escala 1000 deixa a saída em milissegundos
+                entry.getValue().latenciesMicros().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.smartmesquitaapi.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Comparação entre execuções com threads de plataforma e com virtual threads.
+ *
+ * Cada execução grava summary.csv na pasta do seu modo (criação de cobrança
+ * por estágio). Quando as duas pastas existem, imprime os estágios lado a
+ * lado: rode uma vez sem e outra com -Dloadtest.virtual-threads=true, com
+ * as mesmas taxas e semente.
+ */
+final class ThreadModeComparison {
+
+    private static final String FILE = "summary.csv";
+    private static final String HEADER = "rate,ok_per_s,p50_ms,p99_ms,error_rate,dropped,sustainable";
+
+    private ThreadModeComparison() {
+    }
+
+    static void write(LoadTestSettings settings, List<StageResult> stages) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (StageResult stage : stages) {
+            OperationStats.Result create = stage.results().get(Operation.CREATE_CHARGE);
+            if (create == null) {
+                continue;
+            }
+            long dropped = stage.results().values().stream().mapToLong(OperationStats.Result::dropped).sum();
+            lines.add(String.format(Locale.ROOT, "%.0f,%.1f,%.1f,%.1f,%.4f,%d,%b",
+                    stage.rate(),
+                    stage.throughput(Operation.CREATE_CHARGE),
+                    create.percentileMillis(50),
+                    create.percentileMillis(99),
+                    create.errorRate(),
+                    dropped,
+                    stage.sustainable(settings.sloP99())));
+        }
+        Files.createDirectories(settings.modeReportDir());
+        Files.write(settings.modeReportDir().resolve(FILE), lines);
+    }
+
+    static void printIfBothModesRan(PrintStream out, LoadTestSettings settings) throws IOException {
+        Path platformFile = settings.reportDir().resolve("platform").resolve(FILE);
+        Path virtualFile = settings.reportDir().resolve("virtual").resolve(FILE);
+        if (!Files.exists(platformFile) || !Files.exists(virtualFile)) {
+            return;
+        }
+
+        Map<String, String[]> platform = read(platformFile);
+        Map<String, String[]> virtual = read(virtualFile);
+
+        out.printf(Locale.ROOT, "%n=== Criação de cobrança: platform x virtual ===%n");
+        out.printf(Locale.ROOT, "%-8s %19s %19s %19s %15s%n",
+                "req/s", "ok/s", "p50 ms", "p99 ms", "sustentável");
+        for (Map.Entry<String, String[]> entry : platform.entrySet()) {
+            String[] p = entry.getValue();
+            String[] v = virtual.get(entry.getKey());
+            if (v == null) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-8s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+                    entry.getKey(), p[1], v[1], p[2], v[2], p[3], v[3], yesNo(p[6]), yesNo(v[6]));
+        }
+    }
+
+    private static Map<String, String[]> read(Path file) throws IOException {
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank() || line.equals(HEADER)) {
+                continue;
+            }
+            String[] columns = line.split(",");
+            rows.put(columns[0], columns);
+        }
+        return rows;
+    }
+
+    private static String yesNo(String sustainable) {
+        return Boolean.parseBoolean(sustainable) ? "sim" : "não";
+    }
+}
@@ -4,6 +4,7 @@ import br.com.smartmesquitaapi.api.dto.error.ErrorResponse;
 import br.com.smartmesquitaapi.api.exception.auth.AuthenticationException;
 import br.com.smartmesquitaapi.api.exception.infrastructure.RateLimitExceededException;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -60,6 +61,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    /**
+     * Registro alterado por outra transação entre a leitura e a gravação
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex) {
+        return buildErrorResponse(
+                HttpStatus.CONFLICT,
+                "O registro foi alterado por outra operação. Tente novamente."
+        );
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         return buildErrorResponse(
@@ -4,10 +4,14 @@ import br.com.smartmesquitaapi.apikey.domain.TotemKey;
 import br.com.smartmesquitaapi.apikey.dto.TotemKeyListResponse;
 import br.com.smartmesquitaapi.apikey.dto.TotemKeyResponse;
 import br.com.smartmesquitaapi.apikey.repository.TotemKeyRepository;
+import br.com.smartmesquitaapi.config.cache.CacheConfig;
 import br.com.smartmesquitaapi.user.domain.User;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -25,6 +29,10 @@ public class TotemKeyService {
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TOTEM_KEYS, key = "#adminUser.organization?.id + ':true'"),
+            @CacheEvict(cacheNames = CacheConfig.TOTEM_KEYS, key = "#adminUser.organization?.id + ':false'")
+    })
     public TotemKeyResponse createTotemKey(String totemName, User adminUser){
         logger.info("=== TotemKeyService.createTotemKey ===");
         logger.info("totemName: {}", totemName);
@@ -54,6 +62,7 @@ public class TotemKeyService {
 
     }
 
+    @Cacheable(cacheNames = CacheConfig.TOTEM_KEYS, key = "#user.organization?.id + ':' + #activeOnly")
     public List<TotemKeyListResponse> getTotemKeys(User user, boolean activeOnly) {
         logger.info("=== TotemKeyService.getTotemKeys ===");
         logger.info("User: {}", user != null ? user.getEmail() : "NULL");
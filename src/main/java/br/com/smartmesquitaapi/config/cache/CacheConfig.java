@@ -0,0 +1,133 @@
+package br.com.smartmesquitaapi.config.cache;
+
+import br.com.smartmesquitaapi.apikey.dto.TotemKeyListResponse;
+import br.com.smartmesquitaapi.organization.dto.ChurchDto;
+import br.com.smartmesquitaapi.organization.dto.MosqueDto;
+import br.com.smartmesquitaapi.organization.dto.OrganizationDto;
+import br.com.smartmesquitaapi.pix.dto.PixChargeDto;
+import br.com.smartmesquitaapi.user.dto.NotificationsSettingsDto;
+import br.com.smartmesquitaapi.user.dto.OrganizationProfileDto;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caches de leitura (Spring Cache) em dois níveis: Caffeine local + Redis.
+ *
+ * Cada cache tem TTL no Redis, TTL e tamanho máximo locais em
+ * cache.&lt;nome&gt;.ttl-seconds, .local-ttl-seconds e .max-size.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Perfil da organização do usuário logado (chave: email)
+     */
+    public static final String ORGANIZATION_PROFILE = "organizationProfile";
+
+    /**
+     * Preferências de notificação do usuário logado (chave: email)
+     */
+    public static final String NOTIFICATION_SETTINGS = "notificationSettings";
+
+    /**
+     * Chaves de totem da organização (chave: organização:activeOnly)
+     */
+    public static final String TOTEM_KEYS = "totemKeys";
+
+    /**
+     * Cobranças em status terminal (não mudam mais), por txid
+     */
+    public static final String PIX_CHARGE_BY_TXID = "pixChargeByTxid";
+
+    /**
+     * KeyGenerator que usa o usuário autenticado (email) como chave
+     */
+    public static final String CURRENT_USER_KEY = "currentUserCacheKey";
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(Environment env,
+                                             RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             RedisMessageListenerContainer listenerContainer,
+                                             MeterRegistry registry){
+        ObjectMapper profileMapper = SmileRedisSerializer.mapperBuilder()
+                .addMixIn(OrganizationDto.class, OrganizationDtoCacheMixin.class)
+                .build();
+        ObjectMapper listMapper = SmileRedisSerializer.mapperBuilder().build();
+
+        List<CacheSpec> specs = List.of(
+                spec(env, ORGANIZATION_PROFILE, "organization-profile", 1800, 300, 1000,
+                        new SmileRedisSerializer<OrganizationProfileDto>(
+                                profileMapper.constructType(OrganizationProfileDto.class), profileMapper)),
+                spec(env, NOTIFICATION_SETTINGS, "notification-settings", 1800, 300, 1000,
+                        new SmileRedisSerializer<>(NotificationsSettingsDto.class)),
+                spec(env, TOTEM_KEYS, "totem-keys", 600, 60, 1000,
+                        new SmileRedisSerializer<List<TotemKeyListResponse>>(
+                                listMapper.getTypeFactory().constructCollectionType(List.class, TotemKeyListResponse.class),
+                                listMapper)),
+                spec(env, PIX_CHARGE_BY_TXID, "pix-charge-by-txid", 86400, 600, 1000,
+                        new SmileRedisSerializer<>(PixChargeDto.class))
+        );
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(specs, connectionFactory, stringRedisTemplate, registry);
+        listenerContainer.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.CHANNEL));
+        return cacheManager;
+    }
+
+    private static CacheSpec spec(Environment env, String name, String property,
+                                  long ttlSeconds, long localTtlSeconds, long maxSize,
+                                  RedisSerializer<?> serializer){
+        String prefix = "cache." + property + ".";
+        return new CacheSpec(
+                name,
+                Duration.ofSeconds(env.getProperty(prefix + "ttl-seconds", Long.class, ttlSeconds)),
+                Duration.ofSeconds(env.getProperty(prefix + "local-ttl-seconds", Long.class, localTtlSeconds)),
+                env.getProperty(prefix + "max-size", Long.class, maxSize),
+                serializer
+        );
+    }
+
+    @Bean(CURRENT_USER_KEY)
+    public KeyGenerator currentUserCacheKey(){
+        return (target, method, params) -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null) {
+                throw new IllegalStateException("Cache por usuário sem usuário autenticado");
+            }
+            return authentication.getName();
+        };
+    }
+
+    /**
+     * O OrganizationDtoDeserializer escolhe Mesquita/Igreja pela presença de imaName/priestName,
+     * o que falha quando o campo é null. No cache o subtipo vai explícito no valor.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "@type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = MosqueDto.class, name = "mosque"),
+            @JsonSubTypes.Type(value = ChurchDto.class, name = "church")
+    })
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    abstract static class OrganizationDtoCacheMixin {
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.smartmesquitaapi.config.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * Configuração de um cache do {@link TwoLevelCacheManager}.
+ *
+ * @param ttl        validade no Redis (L2)
+ * @param localTtl   validade no Caffeine (L1); menor que ttl
+ * @param maxSize    entradas no L1 de cada instância
+ * @param serializer formato dos valores no Redis
+ */
+public record CacheSpec(
+        String name,
+        Duration ttl,
+        Duration localTtl,
+        long maxSize,
+        RedisSerializer<?> serializer
+) {
+}
@@ -1,45 +1,136 @@
 package br.com.smartmesquitaapi.config.cache;
 
-import org.springframework.beans.factory.annotation.Value;
+import br.com.smartmesquitaapi.pix.dto.CreatePixChargeResponse;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulConnection;
+import io.lettuce.core.resource.ClientResources;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.time.Duration;
+
+/**
+ * Conexões com o Redis.
+ *
+ * Comandos comuns usam uma única conexão Lettuce compartilhada (thread-safe,
+ * multiplexada); o pool só atende operações que precisam de conexão exclusiva
+ * (MULTI/EXEC, comandos bloqueantes). Host, senha, timeouts e pool vêm de
+ * spring.data.redis.*. Espera por conexão do pool é sempre limitada: com
+ * max-wait negativo (esperar para sempre) usa DEFAULT_POOL_MAX_WAIT.
+ */
 @Configuration
+@Slf4j
 public class RedisConfig {
 
-    @Value("${spring.data.redis.host}")
-    private String redisHost;
+    static final Duration DEFAULT_POOL_MAX_WAIT = Duration.ofMillis(500);
 
-    @Value("${spring.data.redis.port}")
-    private int redisPort;
+    /**
+     * Prefixo do MBean do pool (lido por {@link br.com.smartmesquitaapi.config.pool.ConnectionPoolMetrics})
+     */
+    public static final String POOL_JMX_PREFIX = "lettuce";
 
     @Bean
-    public RedisConnectionFactory redisConnectionFactory(){
+    public LettuceConnectionFactory redisConnectionFactory(RedisProperties properties, ClientResources clientResources){
         RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
-        config.setHostName(redisHost);
-        config.setPort(redisPort);
+        config.setHostName(properties.getHost());
+        config.setPort(properties.getPort());
+        config.setDatabase(properties.getDatabase());
+        config.setUsername(properties.getUsername());
+        if (properties.getPassword() != null && !properties.getPassword().isBlank()) {
+            config.setPassword(RedisPassword.of(properties.getPassword()));
+        }
+
+        Duration commandTimeout = properties.getTimeout() != null ? properties.getTimeout() : Duration.ofSeconds(2);
+        Duration connectTimeout = properties.getConnectTimeout() != null ? properties.getConnectTimeout() : commandTimeout;
+
+        LettuceClientConfiguration clientConfig = LettucePoolingClientConfiguration.builder()
+                .poolConfig(poolConfig(properties.getLettuce().getPool()))
+                .clientResources(clientResources)
+                .clientOptions(ClientOptions.builder()
+                        .socketOptions(SocketOptions.builder().connectTimeout(connectTimeout).build())
+                        .timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+                        .build())
+                .commandTimeout(commandTimeout)
+                .shutdownTimeout(properties.getLettuce().getShutdownTimeout())
+                .build();
+
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(config, clientConfig);
+        factory.setShareNativeConnection(true);
+        return factory;
+    }
+
+    private static GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig(RedisProperties.Pool pool) {
+        GenericObjectPoolConfig<StatefulConnection<?, ?>> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(pool.getMaxActive());
+        poolConfig.setMaxIdle(pool.getMaxIdle());
+        poolConfig.setMinIdle(pool.getMinIdle());
+
+        Duration maxWait = pool.getMaxWait();
+        if (maxWait == null || maxWait.isNegative()) {
+            log.warn("spring.data.redis.lettuce.pool.max-wait sem limite; usando {} ms", DEFAULT_POOL_MAX_WAIT.toMillis());
+            maxWait = DEFAULT_POOL_MAX_WAIT;
+        }
+        poolConfig.setMaxWait(maxWait);
+        poolConfig.setBlockWhenExhausted(true);
 
-        return new LettuceConnectionFactory(config);
+        if (pool.getTimeBetweenEvictionRuns() != null) {
+            poolConfig.setTimeBetweenEvictionRuns(pool.getTimeBetweenEvictionRuns());
+        }
+        poolConfig.setJmxNamePrefix(POOL_JMX_PREFIX);
+        return poolConfig;
     }
 
+    /**
+     * Respostas de criação de cobrança (ChargeIdempotencyCache), em Smile.
+     * Contadores e banimentos do rate limit usam o StringRedisTemplate
+     */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory){
-        RedisTemplate<String, Object> template = new RedisTemplate<>();
+    public RedisTemplate<String, CreatePixChargeResponse> chargeResponseRedisTemplate(RedisConnectionFactory connectionFactory){
+        return binaryTemplate(connectionFactory, CreatePixChargeResponse.class);
+    }
+
+    /**
+     * Template com chaves em texto e valores de um único tipo em Smile
+     */
+    public static <T> RedisTemplate<String, T> binaryTemplate(RedisConnectionFactory connectionFactory, Class<T> type){
+        return binaryTemplate(connectionFactory, new SmileRedisSerializer<>(type));
+    }
+
+    public static <T> RedisTemplate<String, T> binaryTemplate(RedisConnectionFactory connectionFactory, RedisSerializer<T> valueSerializer){
+        RedisTemplate<String, T> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
-        template.setKeySerializer(new StringRedisSerializer());
-        template.setHashKeySerializer(new StringRedisSerializer());
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setKeySerializer(RedisSerializer.string());
+        template.setHashKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
 
+    /**
+     * Container de assinaturas pub/sub (fan-out de eventos entre instâncias)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory){
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
 }
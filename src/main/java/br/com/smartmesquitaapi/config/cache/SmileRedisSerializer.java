@@ -0,0 +1,78 @@
+package br.com.smartmesquitaapi.config.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Serializador binário (Smile, o JSON binário do Jackson) para DTOs em cache.
+ *
+ * Diferente do GenericJackson2JsonRedisSerializer, não grava o nome da classe
+ * em cada valor: o tipo é fixo por template. Nomes de campo repetidos viram
+ * referências e números ficam em binário. Campos desconhecidos são ignorados,
+ * para que versões diferentes da API convivam durante um deploy.
+ */
+public class SmileRedisSerializer<T> implements RedisSerializer<T> {
+
+    private static final ObjectMapper SMILE = mapperBuilder().build();
+
+    private final Class<?> type;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public SmileRedisSerializer(Class<T> type) {
+        this(SMILE.constructType(type), SMILE);
+    }
+
+    /**
+     * Para tipos genéricos (listas) ou mappers com mix-ins próprios
+     */
+    public SmileRedisSerializer(JavaType type, ObjectMapper mapper) {
+        this.type = type.getRawClass();
+        this.reader = mapper.readerFor(type);
+        this.writer = mapper.writerFor(type);
+    }
+
+    /**
+     * Configuração base do mapper Smile, para quem precisa acrescentar mix-ins
+     */
+    public static SmileMapper.Builder mapperBuilder() {
+        return SmileMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new SerializationException("Falha ao serializar " + type.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return reader.readValue(bytes);
+        } catch (Exception e) {
+            throw new SerializationException("Falha ao desserializar " + type.getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return type;
+    }
+}
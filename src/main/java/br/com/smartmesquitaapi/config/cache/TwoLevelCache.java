@@ -0,0 +1,209 @@
+package br.com.smartmesquitaapi.config.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache com dois níveis: Caffeine na própria instância (L1) e Redis compartilhado (L2).
+ *
+ * Leitura: L1, depois L2 (promovendo o valor para o L1), depois o método anotado.
+ * Remoções apagam os dois níveis e avisam as outras instâncias pelo
+ * {@link TwoLevelCacheManager}, que descartam só o L1. O TTL do L1 é menor que o do
+ * L2 e limita a desatualização caso uma mensagem de invalidação se perca.
+ *
+ * As chaves são convertidas para texto (String.valueOf) nos dois níveis.
+ *
+ * Falhas do Redis não derrubam a requisição: contam como miss (ou são ignoradas na
+ * escrita) e aparecem em cache.l2.errors.
+ *
+ * Métricas (tag cache):
+ * - cache.requests{result=l1_hit|l2_hit|miss}
+ * - cache.hit.ratio: acertos (L1 + L2) sobre o total de leituras desde o início
+ * - cache.local.size: entradas no L1 desta instância
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    static final String KEY_PREFIX = "cache:";
+
+    private final String name;
+    private final Cache<String, Object> local;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration ttl;
+    private final TwoLevelCacheManager manager;
+
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+    private final Counter l2Errors;
+
+    TwoLevelCache(TwoLevelCacheManager manager, CacheSpec spec,
+                  RedisTemplate<String, Object> redisTemplate, MeterRegistry registry) {
+        super(false);
+        this.manager = manager;
+        this.name = spec.name();
+        this.ttl = spec.ttl();
+        this.redisTemplate = redisTemplate;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(spec.maxSize())
+                .expireAfterWrite(spec.localTtl())
+                .build();
+
+        this.l1Hits = requests(registry, "l1_hit");
+        this.l2Hits = requests(registry, "l2_hit");
+        this.misses = requests(registry, "miss");
+        this.l2Errors = Counter.builder("cache.l2.errors")
+                .description("Falhas de acesso ao Redis pelo cache")
+                .tag("cache", name)
+                .register(registry);
+
+        Gauge.builder("cache.hit.ratio", this, TwoLevelCache::hitRatio)
+                .description("Fração das leituras atendidas pelo cache (L1 ou L2)")
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.local.size", local, Cache::estimatedSize)
+                .description("Entradas no cache local (L1)")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("cache.requests")
+                .description("Leituras do cache por nível atendido")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.getIfPresent(String.valueOf(key));
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+
+        try {
+            value = redisTemplate.opsForValue().get(redisKey(key));
+        } catch (RuntimeException e) {
+            l2Errors.increment();
+            log.warn("Falha ao ler o cache {} no Redis: {}", name, e.getMessage());
+            value = null;
+        }
+
+        if (value != null) {
+            local.put(String.valueOf(key), value);
+            l2Hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) fromStoreValue(cached);
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        local.put(String.valueOf(key), storeValue);
+        try {
+            redisTemplate.opsForValue().set(redisKey(key), storeValue, ttl);
+        } catch (RuntimeException e) {
+            l2Errors.increment();
+            log.warn("Falha ao gravar o cache {} no Redis: {}", name, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(String.valueOf(key));
+        try {
+            redisTemplate.delete(redisKey(key));
+        } catch (RuntimeException e) {
+            // O valor antigo no L2 só sai pelo TTL
+            l2Errors.increment();
+            log.warn("Falha ao remover {} do cache {} no Redis: {}", key, name, e.getMessage());
+        }
+        manager.publishInvalidation(name, String.valueOf(key));
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        try {
+            List<String> keys = new ArrayList<>();
+            ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + name + "::*").count(500).build();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+        } catch (RuntimeException e) {
+            l2Errors.increment();
+            log.warn("Falha ao limpar o cache {} no Redis: {}", name, e.getMessage());
+        }
+        manager.publishInvalidation(name, null);
+    }
+
+    /**
+     * Invalidação recebida de outra instância: o L2 já foi tratado por quem publicou
+     */
+    void evictLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private String redisKey(Object key) {
+        return KEY_PREFIX + name + "::" + key;
+    }
+
+    private double hitRatio() {
+        double hits = l1Hits.count() + l2Hits.count();
+        double total = hits + misses.count();
+        return total == 0 ? Double.NaN : hits / total;
+    }
+}
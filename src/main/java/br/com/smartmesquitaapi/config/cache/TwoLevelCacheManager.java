@@ -0,0 +1,88 @@
+package br.com.smartmesquitaapi.config.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Gerenciador dos caches em dois níveis ({@link TwoLevelCache}).
+ *
+ * Cada remoção é publicada no canal {@link #CHANNEL} como "instância, cache[, chave]"
+ * (sem chave: limpar o cache inteiro). As outras instâncias descartam a entrada do
+ * seu L1; a própria instância ignora as mensagens que publicou.
+ *
+ * Os caches são transaction-aware: put e evict feitos dentro de uma transação só
+ * acontecem depois do commit, então um rollback não deixa no cache um valor que
+ * nunca foi gravado. Isso não impede a gravação de um valor velho: uma leitura
+ * que carregou o valor antes do commit de quem o alterou pode fazer o put depois
+ * do evict, e a entrada velha fica até o TTL. Por isso só devem ser cacheados
+ * valores que não mudam mais (ex.: cobranças em status terminal).
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    static final String CHANNEL = "cache:invalidation";
+    private static final String SEPARATOR = "\n";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate stringRedisTemplate;
+    private final List<TwoLevelCache> caches = new ArrayList<>();
+
+    public TwoLevelCacheManager(List<CacheSpec> specs, RedisConnectionFactory connectionFactory,
+                                StringRedisTemplate stringRedisTemplate, MeterRegistry registry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        for (CacheSpec spec : specs) {
+            @SuppressWarnings("unchecked")
+            RedisSerializer<Object> serializer = (RedisSerializer<Object>) spec.serializer();
+            RedisTemplate<String, Object> template = RedisConfig.binaryTemplate(connectionFactory, serializer);
+            caches.add(new TwoLevelCache(this, spec, template, registry));
+        }
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return caches;
+    }
+
+    void publishInvalidation(String cacheName, String key) {
+        String message = key == null
+                ? nodeId + SEPARATOR + cacheName
+                : nodeId + SEPARATOR + cacheName + SEPARATOR + key;
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            // As outras instâncias ficam com o valor antigo no L1 até o localTtl
+            log.warn("Falha ao publicar invalidação do cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        String key = parts.length == 3 ? parts[2] : null;
+        for (TwoLevelCache cache : caches) {
+            if (cache.getName().equals(parts[1])) {
+                cache.evictLocal(key);
+                log.debug("Cache {} invalidado por outra instância: {}", parts[1], key != null ? key : "todas as chaves");
+            }
+        }
+    }
+}
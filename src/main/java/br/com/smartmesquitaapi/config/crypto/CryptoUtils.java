@@ -1,5 +1,6 @@
 package br.com.smartmesquitaapi.config.crypto;
 
+import br.com.smartmesquitaapi.jfr.CryptoOperationEvent;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -10,8 +11,10 @@ import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Getter
 @Setter
@@ -22,13 +25,35 @@ public final class CryptoUtils {
     // 12 bytes IV recomendado para GCM
     private static final int IV_LENGTH = 12;
     private static final int TAG_LENGTH_BITS = 128;
-    private static final SecureRandom RANDOM = new SecureRandom();
+    // DRBG em vez do NativePRNG padrão: o NativePRNG lê /dev/urandom a cada chamada
+    // dentro de um synchronized; o DRBG só lê entropia ao (re)semear. O nextBytes do
+    // DRBG também é synchronized, então há várias instâncias (stripes) e cada IV usa
+    // uma sorteada: a disputa pelo monitor, que em virtual threads (Java 21) prende a
+    // carrier thread, fica rara. Não há uma por thread porque com virtual threads
+    // cada requisição é uma thread nova e pagaria a semeadura do DRBG.
+    private static final SecureRandom[] RANDOMS = createRandoms();
 
     // carrega a chave a partir da variável de ambiente (BASE64).
     private static final SecretKey SECRET_KEY = loadKeyFromEnv();
 
     private CryptoUtils(){}
 
+    private static SecureRandom[] createRandoms() {
+        SecureRandom[] randoms = new SecureRandom[Runtime.getRuntime().availableProcessors() * 2];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = createRandom();
+        }
+        return randoms;
+    }
+
+    private static SecureRandom createRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+
     private static SecretKey loadKeyFromEnv(){
         String b64 = System.getenv("ENCRYPTION_KEY_BASE64");
         if (b64 == null || b64.isBlank()){
@@ -44,16 +69,19 @@ public final class CryptoUtils {
     public static String encrypt(String plaintext){
 
         if (plaintext == null) return null;
+        CryptoOperationEvent event = new CryptoOperationEvent();
+        event.begin();
         try {
 
+            byte[] plainBytes = plaintext.getBytes(StandardCharsets.UTF_8);
             byte[] iv = new byte[IV_LENGTH];
-            RANDOM.nextBytes(iv);
+            RANDOMS[ThreadLocalRandom.current().nextInt(RANDOMS.length)].nextBytes(iv);
 
             Cipher cipher = Cipher.getInstance(TRANSFORM);
             GCMParameterSpec spec = new GCMParameterSpec(TAG_LENGTH_BITS, iv);
             cipher.init(Cipher.ENCRYPT_MODE, SECRET_KEY, spec);
 
-            byte[] cipherText = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            byte[] cipherText = cipher.doFinal(plainBytes);
 
             // armazenei IV + cipherText juntos: [iv || ciphertext]
             ByteBuffer byteBuffer = ByteBuffer.allocate(iv.length + cipherText.length);
@@ -61,7 +89,9 @@ public final class CryptoUtils {
             byteBuffer.put(cipherText);
             byte[] ivAndCipher = byteBuffer.array();
 
-            return Base64.getEncoder().encodeToString(ivAndCipher);
+            String encoded = Base64.getEncoder().encodeToString(ivAndCipher);
+            event.finish(CryptoOperationEvent.ENCRYPT, plainBytes.length);
+            return encoded;
 
         } catch(Exception e){
             throw new IllegalStateException("Erro ao criptografar dados sensíveis", e);
@@ -70,6 +100,8 @@ public final class CryptoUtils {
 
     public static String decrypt(String b64IvAndCipher) {
         if (b64IvAndCipher == null) return null;
+        CryptoOperationEvent event = new CryptoOperationEvent();
+        event.begin();
         try {
             byte[] ivAndCipher = Base64.getDecoder().decode(b64IvAndCipher);
             ByteBuffer byteBuffer = ByteBuffer.wrap(ivAndCipher);
@@ -84,6 +116,7 @@ public final class CryptoUtils {
             cipher.init(Cipher.DECRYPT_MODE, SECRET_KEY, spec);
 
             byte[] plain = cipher.doFinal(cipherText);
+            event.finish(CryptoOperationEvent.DECRYPT, ivAndCipher.length);
             return new String(plain, StandardCharsets.UTF_8);
         } catch (Exception e) {
             // Falha na autenticação/decifração -> trata como inválido. Não expor mais detalhes.
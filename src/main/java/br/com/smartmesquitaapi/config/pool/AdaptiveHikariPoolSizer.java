@@ -0,0 +1,101 @@
+package br.com.smartmesquitaapi.config.pool;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Ajusta o tamanho do pool do Hikari à concorrência observada
+ * (db.pool.adaptive.enabled=true).
+ *
+ * A cada amostra lê conexões em uso + threads esperando; o pool vai para o
+ * pico da janela com uma folga (headroom), entre min-size e o
+ * maximum-pool-size configurado, que continua sendo o teto (e o limite do
+ * RequestAdmissionFilter no modo virtual threads). Cresce na hora em que a
+ * demanda sobe e só encolhe quando a janela inteira ficou abaixo do tamanho
+ * atual, para não oscilar a cada rajada.
+ */
+@Component
+@ConditionalOnProperty(name = "db.pool.adaptive.enabled", havingValue = "true")
+@Slf4j
+public class AdaptiveHikariPoolSizer {
+
+    private final HikariConfigMXBean config;
+    private final HikariDataSource dataSource;
+    private final int minSize;
+    private final int maxSize;
+    private final int configuredMinIdle;
+    private final double headroom;
+    private final int[] window;
+    private int samples;
+    private volatile int currentSize;
+
+    public AdaptiveHikariPoolSizer(
+            DataSource dataSource,
+            MeterRegistry registry,
+            @Value("${db.pool.adaptive.min-size:4}") int minSize,
+            @Value("${db.pool.adaptive.window-samples:60}") int windowSamples,
+            @Value("${db.pool.adaptive.headroom:1.25}") double headroom
+    ) throws SQLException {
+        this.dataSource = dataSource.unwrap(HikariDataSource.class);
+        this.config = this.dataSource.getHikariConfigMXBean();
+        this.maxSize = config.getMaximumPoolSize();
+        this.configuredMinIdle = config.getMinimumIdle();
+        this.minSize = Math.min(minSize, maxSize);
+        this.headroom = headroom;
+        this.window = new int[windowSamples];
+        this.currentSize = maxSize;
+
+        Gauge.builder("db.pool.adaptive.size", this, sizer -> sizer.currentSize)
+                .description("Tamanho máximo do pool do Hikari escolhido pelo ajuste adaptativo")
+                .register(registry);
+
+        log.info("Pool adaptativo do Hikari ativo - entre {} e {} conexões", this.minSize, maxSize);
+    }
+
+    @Scheduled(fixedDelayString = "${db.pool.adaptive.sample-interval-ms:1000}")
+    public void sample() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return;
+        }
+
+        int demand = pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+        window[samples % window.length] = demand;
+        samples++;
+
+        int peak = 0;
+        for (int i = 0; i < Math.min(samples, window.length); i++) {
+            peak = Math.max(peak, window[i]);
+        }
+
+        int target = targetSize(peak, minSize, maxSize, headroom);
+        boolean grow = target > currentSize;
+        boolean shrink = target < currentSize && samples >= window.length;
+
+        if (grow || shrink) {
+            log.info("Pool do Hikari: {} -> {} conexões (pico de demanda {})", currentSize, target, peak);
+            config.setMaximumPoolSize(target);
+            config.setMinimumIdle(Math.min(configuredMinIdle, target));
+            currentSize = target;
+        }
+    }
+
+    /**
+     * Pico de demanda com folga, limitado a [minSize, maxSize]
+     */
+    static int targetSize(int peakDemand, int minSize, int maxSize, double headroom) {
+        int wanted = (int) Math.ceil(peakDemand * headroom);
+        return Math.max(minSize, Math.min(maxSize, wanted));
+    }
+}
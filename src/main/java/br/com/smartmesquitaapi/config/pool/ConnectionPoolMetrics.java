@@ -0,0 +1,88 @@
+package br.com.smartmesquitaapi.config.pool;
+
+import br.com.smartmesquitaapi.config.cache.RedisConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas do pool de conexões Lettuce (expostas em /actuator/prometheus).
+ *
+ * O pool do Hikari já é publicado pelo Spring Boot (hikaricp_connections_active,
+ * _idle, _pending e hikaricp_connections_acquire_seconds). O do Lettuce fica
+ * dentro do LettuceConnectionFactory e só é visível pelo MBean do commons-pool,
+ * que é lido a cada scrape. O pool é criado na primeira operação que o usa:
+ * até lá as métricas ficam em zero.
+ *
+ * - lettuce.pool.connections.active / idle / pending
+ * - lettuce.pool.borrow.wait.mean / max: espera por uma conexão do pool
+ */
+@Component
+@Slf4j
+public class ConnectionPoolMetrics {
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    private final ObjectName lettucePools;
+
+    public ConnectionPoolMetrics(MeterRegistry registry) throws MalformedObjectNameException {
+        this.lettucePools = new ObjectName(
+                "org.apache.commons.pool2:type=GenericObjectPool,name=" + RedisConfig.POOL_JMX_PREFIX + "*");
+
+        Gauge.builder("lettuce.pool.connections.active", this, metrics -> metrics.sum("NumActive"))
+                .description("Conexões do pool Lettuce em uso")
+                .register(registry);
+        Gauge.builder("lettuce.pool.connections.idle", this, metrics -> metrics.sum("NumIdle"))
+                .description("Conexões do pool Lettuce livres")
+                .register(registry);
+        Gauge.builder("lettuce.pool.connections.pending", this, metrics -> metrics.sum("NumWaiters"))
+                .description("Threads esperando uma conexão do pool Lettuce")
+                .register(registry);
+        TimeGauge.builder("lettuce.pool.borrow.wait.mean", this, TimeUnit.MILLISECONDS,
+                        metrics -> metrics.max("MeanBorrowWaitTimeMillis"))
+                .description("Espera média por uma conexão do pool Lettuce")
+                .register(registry);
+        TimeGauge.builder("lettuce.pool.borrow.wait.max", this, TimeUnit.MILLISECONDS,
+                        metrics -> metrics.max("MaxBorrowWaitTimeMillis"))
+                .description("Maior espera por uma conexão do pool Lettuce")
+                .register(registry);
+    }
+
+    private double sum(String attribute) {
+        double total = 0;
+        for (ObjectName pool : pools()) {
+            total += read(pool, attribute);
+        }
+        return total;
+    }
+
+    private double max(String attribute) {
+        double max = 0;
+        for (ObjectName pool : pools()) {
+            max = Math.max(max, read(pool, attribute));
+        }
+        return max;
+    }
+
+    private Set<ObjectName> pools() {
+        return mBeanServer.queryNames(lettucePools, null);
+    }
+
+    private double read(ObjectName pool, String attribute) {
+        try {
+            return ((Number) mBeanServer.getAttribute(pool, attribute)).doubleValue();
+        } catch (Exception e) {
+            // Pool fechado entre a consulta e a leitura
+            log.debug("Falha ao ler {} de {}: {}", attribute, pool, e.getMessage());
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.smartmesquitaapi.config.threads;
+
+import br.com.smartmesquitaapi.api.dto.error.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita as requisições em andamento quando o Tomcat usa virtual threads.
+ *
+ * Com um pool fixo de threads o próprio pool limitava a concorrência; com
+ * virtual threads cada requisição ganha uma thread e milhares delas
+ * disputariam as poucas conexões do Hikari (e os núcleos, no BCrypt do login).
+ * O semáforo tem tantas vagas quanto conexões no pool: quem não consegue
+ * vaga em max-wait recebe 503 em vez de esperar indefinidamente.
+ *
+ * Só o dispatch inicial ocupa vaga: streams SSE e exportações assíncronas
+ * liberam a vaga quando o método do controller retorna.
+ */
+@Slf4j
+public class RequestAdmissionFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    public RequestAdmissionFilter(int maxConcurrent, Duration maxWait, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("http.server.admission.available", permits, Semaphore::availablePermits)
+                .description("Vagas livres para requisições (limite do modo virtual threads)")
+                .register(registry);
+        Gauge.builder("http.server.admission.waiting", permits, Semaphore::getQueueLength)
+                .description("Requisições aguardando vaga")
+                .register(registry);
+        this.rejected = Counter.builder("http.server.admission.rejected")
+                .description("Requisições recusadas com 503 por falta de vaga")
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health checks e scrape de métricas não podem ficar atrás da fila
+        return request.getRequestURI().startsWith("/actuator/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            log.warn("Requisição recusada por falta de vaga: {} {}", request.getMethod(), request.getRequestURI());
+            reject(response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ErrorResponse body = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message("Servidor sobrecarregado. Tente novamente em instantes.")
+                .build();
+
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
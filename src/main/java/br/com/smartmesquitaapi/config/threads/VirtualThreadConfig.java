@@ -0,0 +1,43 @@
+package br.com.smartmesquitaapi.config.threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Modo virtual threads (spring.threads.virtual.enabled=true).
+ *
+ * O Spring Boot já troca o pool do Tomcat, o executor de @Async e o
+ * scheduler de @Scheduled por virtual threads; aqui só entra o controle
+ * de admissão, que no modo de threads de plataforma é feito pelo próprio
+ * server.tomcat.threads.max.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestAdmissionFilter> requestAdmissionFilter(
+            @Value("${server.admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${server.admission.max-wait-ms:2000}") long maxWaitMs,
+            ObjectMapper objectMapper,
+            MeterRegistry registry
+    ) {
+        log.info("Virtual threads ativas - até {} requisições simultâneas, espera máxima de {} ms", maxConcurrent, maxWaitMs);
+
+        FilterRegistrationBean<RequestAdmissionFilter> registration = new FilterRegistrationBean<>(
+                new RequestAdmissionFilter(maxConcurrent, Duration.ofMillis(maxWaitMs), objectMapper, registry));
+        // Antes do Spring Security: os filtros de autenticação já consultam o banco
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.smartmesquitaapi.donation.controller;
+
+import br.com.smartmesquitaapi.donation.service.DonationRollupService;
+import br.com.smartmesquitaapi.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Controller administrativo para manutenção dos agregados de doações
+ */
+@RestController
+@RequestMapping("/api/admin/donations")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminDonationController {
+
+    private final DonationRollupService donationRollupService;
+
+    /**
+     * Reconstrói o rollup de um dia a partir das cobranças
+     */
+    @PostMapping("/rollup/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildDay(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day,
+            @AuthenticationPrincipal User authenticatedUser
+    ) {
+        log.info("POST /api/admin/donations/rollup/rebuild - Admin: {} | Dia: {}", authenticatedUser.getUserId(), day);
+
+        OptionalInt rows = donationRollupService.rebuildDay(day);
+
+        if (rows.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of(
+                    "message", "Reconstrução do rollup deste dia já está em andamento",
+                    "day", day
+            ));
+        }
+
+        return ResponseEntity.ok(Map.of(
+                "message", "Rollup reconstruído com sucesso",
+                "day", day,
+                "rows", rows.getAsInt()
+        ));
+    }
+}
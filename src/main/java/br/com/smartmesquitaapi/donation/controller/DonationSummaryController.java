@@ -0,0 +1,64 @@
+package br.com.smartmesquitaapi.donation.controller;
+
+import br.com.smartmesquitaapi.donation.dto.DonationSummaryDto;
+import br.com.smartmesquitaapi.donation.dto.LiveDonationTotalDto;
+import br.com.smartmesquitaapi.donation.service.DonationRollupService;
+import br.com.smartmesquitaapi.donation.service.LiveDonationCounterService;
+import br.com.smartmesquitaapi.organization.exception.OrganizationNotFoundException;
+import br.com.smartmesquitaapi.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controller de totais de doações para o dashboard da organização
+ */
+@RestController
+@RequestMapping("/api/v1/organizations/me/donations")
+@RequiredArgsConstructor
+@Slf4j
+public class DonationSummaryController {
+
+    private final DonationRollupService donationRollupService;
+    private final LiveDonationCounterService liveDonationCounterService;
+
+    /**
+     * Totais do período, por status e por dia (servidos pelo rollup diário)
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<DonationSummaryDto> getSummary(
+            @AuthenticationPrincipal User authenticatedUser,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (authenticatedUser.getOrganization() == null) {
+            throw new OrganizationNotFoundException("Usuário não possui organização associada");
+        }
+
+        log.debug("GET /api/v1/organizations/me/donations/summary - User: {} | Período: {} a {}",
+                authenticatedUser.getUserId(), from, to);
+
+        DonationSummaryDto summary = donationRollupService.getSummary(
+                authenticatedUser.getOrganization().getId(), from, to);
+
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Total arrecadado hoje, para dashboards que atualizam a cada poucos segundos.
+     * Não consulta o banco no caminho normal.
+     */
+    @GetMapping("/live")
+    public ResponseEntity<LiveDonationTotalDto> getLiveTotal(@AuthenticationPrincipal User authenticatedUser) {
+        if (authenticatedUser.getOrganization() == null) {
+            throw new OrganizationNotFoundException("Usuário não possui organização associada");
+        }
+
+        return ResponseEntity.ok(liveDonationCounterService.getTodayTotal(authenticatedUser.getOrganization().getId()));
+    }
+}
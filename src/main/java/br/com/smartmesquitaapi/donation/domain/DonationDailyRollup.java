@@ -0,0 +1,42 @@
+package br.com.smartmesquitaapi.donation.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Totais diários de doações por organização e status.
+ *
+ * Mantido de forma incremental a cada mudança de status de uma cobrança
+ * (ver DonationRollupService) e reconstruído por dia pelo job de reconciliação.
+ * O dia é a data de criação da cobrança.
+ */
+@Entity
+@Table(name = "donation_daily_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DonationDailyRollup {
+
+    @EmbeddedId
+    private DonationDailyRollupId id;
+
+    /**
+     * Quantidade de cobranças do dia neste status
+     */
+    @Column(name = "charge_count", nullable = false)
+    private long chargeCount;
+
+    /**
+     * Soma dos valores em centavos
+     */
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
@@ -0,0 +1,25 @@
+package br.com.smartmesquitaapi.donation.dto;
+
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Total de um dia para um status
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyDonationDto {
+
+    private LocalDate day;
+    private PixChargeStatus status;
+    private long count;
+    private long amountCents;
+
+}
@@ -0,0 +1,43 @@
+package br.com.smartmesquitaapi.donation.dto;
+
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumo de doações de uma organização em um período
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DonationSummaryDto {
+
+    private LocalDate from;
+    private LocalDate to;
+
+    /**
+     * Total recebido (PAID + CONFIRMED_MANUAL) em centavos
+     */
+    private long paidAmountCents;
+    private long paidCount;
+
+    /**
+     * Soma em centavos por status
+     */
+    private Map<PixChargeStatus, Long> amountCentsByStatus;
+
+    /**
+     * Quantidade de cobranças por status
+     */
+    private Map<PixChargeStatus, Long> countByStatus;
+
+    private List<DailyDonationDto> days;
+
+}
@@ -0,0 +1,28 @@
+package br.com.smartmesquitaapi.donation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Total arrecadado no dia, atualizado em tempo (quase) real
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveDonationTotalDto {
+
+    private LocalDate day;
+    private long amountCents;
+    private long count;
+
+    /**
+     * Origem do valor: "live" (contadores) ou "rollup" (fallback no banco)
+     */
+    private String source;
+
+}
@@ -0,0 +1,83 @@
+package br.com.smartmesquitaapi.donation.repository;
+
+import br.com.smartmesquitaapi.donation.domain.DonationDailyRollup;
+import br.com.smartmesquitaapi.donation.domain.DonationDailyRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DonationDailyRollupRepository extends JpaRepository<DonationDailyRollup, DonationDailyRollupId> {
+
+    /**
+     * Soma um delta (positivo ou negativo) na linha (org, dia, status), criando-a se necessário.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO donation_daily_rollup " +
+            "(organization_id, day, status, charge_count, amount_cents, updated_at) " +
+            "VALUES (:organizationId, :day, :status, :countDelta, :amountDelta, now()) " +
+            "ON CONFLICT (organization_id, day, status) DO UPDATE SET " +
+            "charge_count = donation_daily_rollup.charge_count + EXCLUDED.charge_count, " +
+            "amount_cents = donation_daily_rollup.amount_cents + EXCLUDED.amount_cents, " +
+            "updated_at = now()",
+            nativeQuery = true)
+    void applyDelta(
+            @Param("organizationId") UUID organizationId,
+            @Param("day") LocalDate day,
+            @Param("status") String status,
+            @Param("countDelta") long countDelta,
+            @Param("amountDelta") long amountDelta
+    );
+
+    /**
+     * Advisory lock da transação para a reconstrução de um dia (liberado no commit)
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockClass, :day)", nativeQuery = true)
+    boolean tryLockDay(@Param("lockClass") int lockClass, @Param("day") int day);
+
+    /**
+     * Recalcula as linhas de um dia a partir de pix_charges em um único comando.
+     * Linhas do dia que não têm mais cobranças (status que ficou vazio) são zeradas.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO donation_daily_rollup " +
+            "(organization_id, day, status, charge_count, amount_cents, updated_at) " +
+            "SELECT k.organization_id, CAST(:day AS date), k.status, COALESCE(c.charge_count, 0), COALESCE(c.amount_cents, 0), now() " +
+            "FROM (" +
+            "  SELECT organization_id, status FROM donation_daily_rollup WHERE day = :day " +
+            "  UNION " +
+            "  SELECT organization_id, status FROM pix_charges WHERE created_at >= :start AND created_at < :end" +
+            ") k " +
+            "LEFT JOIN (" +
+            "  SELECT organization_id, status, COUNT(*) AS charge_count, SUM(amount_cents) AS amount_cents " +
+            "  FROM pix_charges WHERE created_at >= :start AND created_at < :end " +
+            "  GROUP BY organization_id, status" +
+            ") c ON c.organization_id = k.organization_id AND c.status = k.status " +
+            "ON CONFLICT (organization_id, day, status) DO UPDATE SET " +
+            "charge_count = EXCLUDED.charge_count, " +
+            "amount_cents = EXCLUDED.amount_cents, " +
+            "updated_at = now()",
+            nativeQuery = true)
+    int upsertDayFromCharges(
+            @Param("day") LocalDate day,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end
+    );
+
+    @Query("SELECT r FROM DonationDailyRollup r " +
+            "WHERE r.id.organizationId = :organizationId " +
+            "AND r.id.day BETWEEN :from AND :to " +
+            "ORDER BY r.id.day ASC")
+    List<DonationDailyRollup> findByOrganizationAndPeriod(
+            @Param("organizationId") UUID organizationId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
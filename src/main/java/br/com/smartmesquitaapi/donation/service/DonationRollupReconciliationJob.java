@@ -0,0 +1,29 @@
+package br.com.smartmesquitaapi.donation.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Job que reconstrói o rollup do dia anterior a partir de pix_charges,
+ * corrigindo qualquer divergência do caminho incremental.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DonationRollupReconciliationJob {
+
+    private final DonationRollupService donationRollupService;
+
+    @Scheduled(cron = "${donation.rollup.reconciliation-cron:0 30 3 * * *}")
+    public void reconcileYesterday() {
+        try {
+            donationRollupService.rebuildDay(LocalDate.now().minusDays(1));
+        } catch (Exception e) {
+            log.error("Erro ao reconciliar rollup de doações.", e);
+        }
+    }
+}
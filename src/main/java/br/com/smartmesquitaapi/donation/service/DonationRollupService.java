@@ -0,0 +1,225 @@
+package br.com.smartmesquitaapi.donation.service;
+
+import br.com.smartmesquitaapi.donation.domain.DonationDailyRollup;
+import br.com.smartmesquitaapi.donation.dto.DailyDonationDto;
+import br.com.smartmesquitaapi.donation.dto.DonationSummaryDto;
+import br.com.smartmesquitaapi.donation.repository.DonationDailyRollupRepository;
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import br.com.smartmesquitaapi.pix.event.PixChargeStatusChangedEvent;
+import br.com.smartmesquitaapi.pix.exception.InvalidRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Mantém e consulta os totais diários de doações (donation_daily_rollup).
+ *
+ * Cada mudança de status move a cobrança de uma linha (org, dia, status) para
+ * outra, na mesma transação da mudança. Assim os totais do dashboard custam
+ * O(dias) em vez de O(cobranças). Os deltas de uma transação são somados por
+ * linha e gravados imediatamente antes do commit: uma baixa em lote (extrato,
+ * webhook, expiração) custa um upsert por (org, dia, status), não dois por cobrança.
+ *
+ * A criação é a exceção: a soma em PENDING é feita depois do commit, para que a
+ * transação da criação não segure o lock da linha (org, dia, PENDING), disputada
+ * por todas as cobranças da organização no dia. Os deltas são somas, então a
+ * ordem em relação a mudanças posteriores não importa. Se a instância cair entre
+ * o commit e a soma, a reconstrução do dia corrige.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DonationRollupService {
+
+    private static final int MAX_PERIOD_DAYS = 366;
+    private static final int REBUILD_LOCK_CLASS = 7_031_028;
+
+    private final DonationDailyRollupRepository rollupRepository;
+
+    /**
+     * Executa de forma síncrona, dentro da transação que alterou a cobrança
+     */
+    @EventListener
+    public void onStatusChanged(PixChargeStatusChangedEvent event) {
+        if (event.previousStatus() == null) {
+            return; // criação: onChargeCreated
+        }
+
+        LocalDate day = event.chargeCreatedAt().toLocalDate();
+        long amount = event.amountCents();
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            rollupRepository.applyDelta(event.organizationId(), day, event.previousStatus().name(), -1, -amount);
+            rollupRepository.applyDelta(event.organizationId(), day, event.newStatus().name(), 1, amount);
+            return;
+        }
+
+        Map<RollupKey, long[]> deltas = pendingDeltas();
+        addDelta(deltas, new RollupKey(event.organizationId(), day, event.previousStatus()), -1, -amount);
+        addDelta(deltas, new RollupKey(event.organizationId(), day, event.newStatus()), 1, amount);
+    }
+
+    /**
+     * Deltas acumulados na transação corrente, por linha do rollup
+     */
+    @SuppressWarnings("unchecked")
+    private Map<RollupKey, long[]> pendingDeltas() {
+        Map<RollupKey, long[]> deltas = (Map<RollupKey, long[]>) TransactionSynchronizationManager.getResource(this);
+        if (deltas != null) {
+            return deltas;
+        }
+
+        Map<RollupKey, long[]> created = new TreeMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                flushDeltas(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DonationRollupService.this);
+            }
+        });
+        return created;
+    }
+
+    private static void addDelta(Map<RollupKey, long[]> deltas, RollupKey key, long count, long amount) {
+        long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+        delta[0] += count;
+        delta[1] += amount;
+    }
+
+    /**
+     * Um upsert por linha, em ordem de chave (transações concorrentes bloqueiam
+     * as linhas na mesma ordem). Linhas cujo saldo ficou zero são puladas.
+     */
+    private void flushDeltas(Map<RollupKey, long[]> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                rollupRepository.applyDelta(key.organizationId(), key.day(), key.status().name(), delta[0], delta[1]);
+            }
+        });
+    }
+
+    /**
+     * Soma a cobrança criada em PENDING, depois do commit e em transação própria.
+     * Uma falha aqui não desfaz a cobrança já gravada: só deixa o rollup do dia
+     * desatualizado até a próxima reconstrução.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onChargeCreated(PixChargeStatusChangedEvent event) {
+        if (event.previousStatus() != null) {
+            return;
+        }
+
+        try {
+            rollupRepository.applyDelta(event.organizationId(), event.chargeCreatedAt().toLocalDate(),
+                    event.newStatus().name(), 1, event.amountCents());
+        } catch (Exception e) {
+            log.warn("Falha ao somar cobrança criada no rollup - Cobrança: {} | Erro: {}",
+                    event.chargeId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstrói todas as linhas de um dia a partir de pix_charges, em um único
+     * INSERT ... ON CONFLICT DO UPDATE (o dia nunca fica vazio para quem lê).
+     * Um advisory lock por dia impede duas reconstruções simultâneas (job e
+     * endpoint administrativo, ou duas instâncias).
+     *
+     * @return quantidade de linhas (org, status) gravadas; vazio se outra
+     *         reconstrução do mesmo dia estiver em andamento
+     */
+    @Transactional
+    public OptionalInt rebuildDay(LocalDate day) {
+        if (!rollupRepository.tryLockDay(REBUILD_LOCK_CLASS, (int) day.toEpochDay())) {
+            log.warn("Rollup de doações do dia {} já está sendo reconstruído por outra execução", day);
+            return OptionalInt.empty();
+        }
+
+        int rows = rollupRepository.upsertDayFromCharges(day, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+
+        log.info("Rollup de doações reconstruído - Dia: {} | Linhas: {}", day, rows);
+        return OptionalInt.of(rows);
+    }
+
+    private record RollupKey(UUID organizationId, LocalDate day, PixChargeStatus status)
+            implements Comparable<RollupKey> {
+
+        private static final Comparator<RollupKey> ORDER = Comparator
+                .comparing(RollupKey::organizationId)
+                .thenComparing(RollupKey::day)
+                .thenComparing(RollupKey::status);
+
+        @Override
+        public int compareTo(RollupKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public DonationSummaryDto getSummary(UUID organizationId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new InvalidRequestException("Período inválido");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_PERIOD_DAYS) {
+            throw new InvalidRequestException("Período máximo: " + MAX_PERIOD_DAYS + " dias");
+        }
+
+        List<DonationDailyRollup> rows = rollupRepository.findByOrganizationAndPeriod(organizationId, from, to);
+
+        Map<PixChargeStatus, Long> amountByStatus = new EnumMap<>(PixChargeStatus.class);
+        Map<PixChargeStatus, Long> countByStatus = new EnumMap<>(PixChargeStatus.class);
+        long paidAmount = 0;
+        long paidCount = 0;
+
+        for (DonationDailyRollup row : rows) {
+            PixChargeStatus status = row.getId().getStatus();
+            amountByStatus.merge(status, row.getAmountCents(), Long::sum);
+            countByStatus.merge(status, row.getChargeCount(), Long::sum);
+            if (status.isPaid()) {
+                paidAmount += row.getAmountCents();
+                paidCount += row.getChargeCount();
+            }
+        }
+
+        List<DailyDonationDto> days = rows.stream()
+                .filter(row -> row.getChargeCount() != 0)
+                .map(row -> DailyDonationDto.builder()
+                        .day(row.getId().getDay())
+                        .status(row.getId().getStatus())
+                        .count(row.getChargeCount())
+                        .amountCents(row.getAmountCents())
+                        .build())
+                .toList();
+
+        return DonationSummaryDto.builder()
+                .from(from)
+                .to(to)
+                .paidAmountCents(paidAmount)
+                .paidCount(paidCount)
+                .amountCentsByStatus(amountByStatus)
+                .countByStatus(countByStatus)
+                .days(days)
+                .build();
+    }
+}
@@ -0,0 +1,244 @@
+package br.com.smartmesquitaapi.donation.service;
+
+import br.com.smartmesquitaapi.donation.dto.DonationSummaryDto;
+import br.com.smartmesquitaapi.donation.dto.LiveDonationTotalDto;
+import br.com.smartmesquitaapi.outbox.OutboxEventHandler;
+import br.com.smartmesquitaapi.pix.PixChargeRepository;
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import br.com.smartmesquitaapi.pix.event.PixChargeStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Total arrecadado no dia, por organização, mantido no Redis.
+ *
+ * Cada confirmação fica num buffer local (sem I/O no caminho do relay do outbox).
+ * A cada poucos segundos o buffer é enviado ao Redis em pipeline, uma cobrança
+ * por vez: um script faz SADD do id da cobrança no conjunto do dia e só soma
+ * (HINCRBY) se ela ainda não estava lá. Reentregas do outbox e reenvios de um
+ * pipeline que falhou no meio não contam duas vezes. A leitura custa um HMGET.
+ *
+ * Se o Redis perdeu os dados (flush, restart sem persistência), a primeira leitura
+ * do dia de cada organização reconstrói o total a partir das cobranças pagas,
+ * pelo mesmo script: o que já tinha sido somado não entra de novo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LiveDonationCounterService implements OutboxEventHandler<PixChargeStatusChangedEvent> {
+
+    private static final String KEY_PREFIX = "donations:live:";
+    private static final Duration KEY_TTL = Duration.ofDays(2);
+    private static final List<PixChargeStatus> PAID_STATUSES = List.of(PixChargeStatus.PAID, PixChargeStatus.CONFIRMED_MANUAL);
+
+    /**
+     * KEYS: totais do dia, cobranças já somadas no dia.
+     * ARGV: id da cobrança, campo do valor, campo da contagem, valor, TTL (s).
+     */
+    private static final String APPLY_SCRIPT = """
+            if redis.call('SADD', KEYS[2], ARGV[1]) == 1 then
+              redis.call('HINCRBY', KEYS[1], ARGV[2], ARGV[4])
+              redis.call('HINCRBY', KEYS[1], ARGV[3], 1)
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[5])
+            redis.call('EXPIRE', KEYS[2], ARGV[5])
+            return 1
+            """;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final DonationRollupService donationRollupService;
+    private final PixChargeRepository pixChargeRepository;
+
+    /**
+     * Confirmações ainda não enviadas ao Redis, por id da cobrança
+     */
+    private final Map<UUID, PaidCharge> pending = new ConcurrentHashMap<>();
+
+    @Override
+    public String eventType() {
+        return PixChargeStatusChangedEvent.TYPE;
+    }
+
+    @Override
+    public Class<PixChargeStatusChangedEvent> payloadType() {
+        return PixChargeStatusChangedEvent.class;
+    }
+
+    /**
+     * Só conta a transição para pago; recebido do outbox, após o commit
+     */
+    @Override
+    public void handle(PixChargeStatusChangedEvent event) {
+        boolean becamePaid = event.newStatus().isPaid()
+                && (event.previousStatus() == null || !event.previousStatus().isPaid());
+
+        if (becamePaid) {
+            record(event.chargeId(), event.organizationId(), event.chargeCreatedAt().toLocalDate(), event.amountCents());
+        }
+    }
+
+    /**
+     * Registra a confirmação de uma cobrança; repetições da mesma cobrança são ignoradas
+     */
+    public void record(UUID chargeId, UUID organizationId, LocalDate day, long amountCents) {
+        pending.putIfAbsent(chargeId, new PaidCharge(chargeId, organizationId, day, amountCents));
+    }
+
+    /**
+     * Envia as confirmações acumuladas para o Redis em um único pipeline.
+     * Só sai do buffer o que foi enviado; numa falha tudo é reenviado e o
+     * script ignora as cobranças que já tinham sido somadas.
+     */
+    @Scheduled(fixedDelayString = "${donation.live.flush-interval-ms:2000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<PaidCharge> batch = new ArrayList<>(pending.values());
+        try {
+            apply(batch, null, null);
+        } catch (Exception e) {
+            log.warn("Falha ao enviar contadores de doações ao Redis: {}", e.getMessage());
+            return;
+        }
+
+        batch.forEach(charge -> pending.remove(charge.chargeId(), charge));
+    }
+
+    /**
+     * Soma as cobranças no Redis (uma execução do script por cobrança) e, se
+     * seededOrganization não for null, marca o total dela no dia como reconstruído
+     */
+    private void apply(List<PaidCharge> charges, UUID seededOrganization, LocalDate seededDay) {
+        String ttl = String.valueOf(KEY_TTL.toSeconds());
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (PaidCharge charge : charges) {
+                redis.eval(APPLY_SCRIPT, ReturnType.INTEGER, 2,
+                        redisKey(charge.day()),
+                        appliedKey(charge.day()),
+                        charge.chargeId().toString(),
+                        amountField(charge.organizationId()),
+                        countField(charge.organizationId()),
+                        String.valueOf(charge.amountCents()),
+                        ttl);
+            }
+            if (seededOrganization != null) {
+                redis.hSet(redisKey(seededDay), seededField(seededOrganization), "1");
+                redis.expire(redisKey(seededDay), KEY_TTL.toSeconds());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Reconstrói o total do dia da organização a partir das cobranças pagas.
+     * As confirmações da organização ainda no buffer vão junto e saem dele, para
+     * não serem somadas de novo na leitura.
+     */
+    private void seed(UUID organizationId, LocalDate day) {
+        Map<UUID, PaidCharge> paid = new HashMap<>();
+        pixChargeRepository.findSummariesByOrganizationAndStatusesCreatedBetween(
+                        organizationId, PAID_STATUSES, day.atStartOfDay(), day.plusDays(1).atStartOfDay())
+                .forEach(charge -> paid.put(charge.getId(),
+                        new PaidCharge(charge.getId(), organizationId, day, charge.getAmountCents())));
+
+        List<PaidCharge> buffered = pending.values().stream()
+                .filter(charge -> charge.organizationId().equals(organizationId) && charge.day().equals(day))
+                .toList();
+        buffered.forEach(charge -> paid.putIfAbsent(charge.chargeId(), charge));
+
+        apply(new ArrayList<>(paid.values()), organizationId, day);
+        buffered.forEach(charge -> pending.remove(charge.chargeId(), charge));
+
+        log.info("Total do dia {} da organização {} reconstruído no Redis: {} cobranças pagas",
+                day, organizationId, paid.size());
+    }
+
+    /**
+     * Total do dia: valor compartilhado no Redis + confirmações locais ainda não enviadas.
+     * Sem Redis, cai para o rollup diário.
+     */
+    public LiveDonationTotalDto getTodayTotal(UUID organizationId) {
+        LocalDate today = LocalDate.now();
+
+        try {
+            List<Object> fields = List.of(amountField(organizationId), countField(organizationId), seededField(organizationId));
+            List<Object> values = stringRedisTemplate.opsForHash().multiGet(redisKey(today), fields);
+
+            if (values.get(2) == null) {
+                seed(organizationId, today);
+                values = stringRedisTemplate.opsForHash().multiGet(redisKey(today), fields);
+            }
+
+            long localAmount = 0;
+            long localCount = 0;
+            for (PaidCharge charge : pending.values()) {
+                if (charge.organizationId().equals(organizationId) && charge.day().equals(today)) {
+                    localAmount += charge.amountCents();
+                    localCount++;
+                }
+            }
+
+            return LiveDonationTotalDto.builder()
+                    .day(today)
+                    .amountCents(parse(values.get(0)) + localAmount)
+                    .count(parse(values.get(1)) + localCount)
+                    .source("live")
+                    .build();
+        } catch (Exception e) {
+            log.warn("Falha ao ler contadores de doações do Redis: {}", e.getMessage());
+        }
+
+        DonationSummaryDto summary = donationRollupService.getSummary(organizationId, today, today);
+        return LiveDonationTotalDto.builder()
+                .day(today)
+                .amountCents(summary.getPaidAmountCents())
+                .count(summary.getPaidCount())
+                .source("rollup")
+                .build();
+    }
+
+    private static long parse(Object value) {
+        return value != null ? Long.parseLong(value.toString()) : 0;
+    }
+
+    private static String redisKey(LocalDate day) {
+        return KEY_PREFIX + day;
+    }
+
+    private static String appliedKey(LocalDate day) {
+        return KEY_PREFIX + day + ":applied";
+    }
+
+    private static String amountField(UUID organizationId) {
+        return organizationId + ":amount";
+    }
+
+    private static String countField(UUID organizationId) {
+        return organizationId + ":count";
+    }
+
+    private static String seededField(UUID organizationId) {
+        return organizationId + ":seeded";
+    }
+
+    private record PaidCharge(UUID chargeId, UUID organizationId, LocalDate day, long amountCents) {}
+}
@@ -0,0 +1,43 @@
+package br.com.smartmesquitaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Autenticação de uma requisição (SecurityFilter / ApiKeyAuthFilter), sem o resto da cadeia de filtros
+ */
+@Name("smartmesquita.Authentication")
+@Label("Authentication")
+@Category({"Smart Mesquita", "Request"})
+@StackTrace(false)
+public class AuthenticationEvent extends jdk.jfr.Event {
+
+    public static final String JWT = "JWT";
+    public static final String API_KEY = "API_KEY";
+
+    @Label("Auth Type")
+    @Description("JWT ou API_KEY")
+    public String authType;
+
+    @Label("Authenticated")
+    public boolean authenticated;
+
+    @Label("Database Time")
+    @Description("Tempo da consulta ao usuário ou à chave do totem")
+    @Timespan(Timespan.NANOSECONDS)
+    public long dbTime;
+
+    public void finish(String authType, boolean authenticated, long dbTime) {
+        end();
+        if (shouldCommit()) {
+            this.authType = authType;
+            this.authenticated = authenticated;
+            this.dbTime = dbTime;
+            commit();
+        }
+    }
+}
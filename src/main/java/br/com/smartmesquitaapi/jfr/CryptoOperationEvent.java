@@ -0,0 +1,40 @@
+package br.com.smartmesquitaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Cifra/decifra AES-GCM de um campo sensível (CryptoUtils).
+ * Com stack trace, para saber qual entidade disparou a conversão
+ */
+@Name("smartmesquita.CryptoOperation")
+@Label("Crypto Operation")
+@Category({"Smart Mesquita", "Crypto"})
+@StackTrace(true)
+public class CryptoOperationEvent extends jdk.jfr.Event {
+
+    public static final String ENCRYPT = "ENCRYPT";
+    public static final String DECRYPT = "DECRYPT";
+
+    @Label("Operation")
+    @Description("ENCRYPT ou DECRYPT")
+    public String operation;
+
+    @Label("Bytes")
+    @Description("Tamanho da entrada da operação")
+    @DataAmount(DataAmount.BYTES)
+    public int bytes;
+
+    public void finish(String operation, int bytes) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
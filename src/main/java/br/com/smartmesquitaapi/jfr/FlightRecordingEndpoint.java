@@ -0,0 +1,186 @@
+package br.com.smartmesquitaapi.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gravação contínua do JDK Flight Recorder com limite de idade e tamanho
+ * (acesso restrito a ADMIN, ver SecurityConfig).
+ *
+ * - POST   /actuator/flightrecording  {"maxAgeMinutes": 10, "maxSizeMb": 50} inicia
+ * - GET    /actuator/flightrecording  baixa o .jfr com o que está no buffer (a gravação continua)
+ * - DELETE /actuator/flightrecording  encerra e descarta
+ *
+ * Os valores pedidos são limitados por jfr.recording.max-age-minutes e
+ * jfr.recording.max-size-mb: o JFR descarta os trechos mais antigos.
+ */
+@Component
+@WebEndpoint(id = "flightrecording")
+@Slf4j
+public class FlightRecordingEndpoint {
+
+    private static final String RECORDING_NAME = "smartmesquita-continuous";
+
+    private static final List<Class<? extends jdk.jfr.Event>> DOMAIN_EVENTS = List.of(
+            RateLimitCheckEvent.class,
+            AuthenticationEvent.class,
+            CryptoOperationEvent.class,
+            QrCodeRenderEvent.class
+    );
+
+    private final String settings;
+    private final long maxAgeMinutes;
+    private final long maxSizeMb;
+
+    // Lock em vez de synchronized: o dump grava em disco e não deve prender uma carrier thread
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+
+    public FlightRecordingEndpoint(
+            @Value("${jfr.recording.settings:default}") String settings,
+            @Value("${jfr.recording.max-age-minutes:30}") long maxAgeMinutes,
+            @Value("${jfr.recording.max-size-mb:100}") long maxSizeMb
+    ) {
+        this.settings = settings;
+        this.maxAgeMinutes = maxAgeMinutes;
+        this.maxSizeMb = maxSizeMb;
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable Long maxAgeMinutes, @Nullable Long maxSizeMb) throws Exception {
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                return status();
+            }
+
+            long age = bounded(maxAgeMinutes, this.maxAgeMinutes);
+            long sizeMb = bounded(maxSizeMb, this.maxSizeMb);
+
+            Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setToDisk(true);
+            newRecording.setMaxAge(Duration.ofMinutes(age));
+            newRecording.setMaxSize(sizeMb * 1024 * 1024);
+            for (Class<? extends jdk.jfr.Event> event : DOMAIN_EVENTS) {
+                newRecording.enable(event);
+            }
+            newRecording.start();
+
+            closeRecording();
+            recording = newRecording;
+            log.info("Gravação JFR iniciada - Settings: {} | MaxAge: {} min | MaxSize: {} MB", settings, age, sizeMb);
+
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump() throws IOException {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+
+            Path file = Files.createTempFile("smartmesquita-", ".jfr");
+            try {
+                recording.dump(file);
+            } catch (IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return new WebEndpointResponse<>(new TemporaryFileResource(file));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        lock.lock();
+        try {
+            closeRecording();
+            return status();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        boolean running = recording != null && recording.getState() == RecordingState.RUNNING;
+        status.put("running", running);
+        if (running) {
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAgeMinutes", recording.getMaxAge().toMinutes());
+            status.put("maxSizeMb", recording.getMaxSize() / (1024 * 1024));
+            status.put("sizeBytes", recording.getSize());
+        }
+        return status;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            log.info("Gravação JFR encerrada");
+        }
+    }
+
+    private static long bounded(Long requested, long max) {
+        if (requested == null || requested <= 0) {
+            return max;
+        }
+        return Math.min(requested, max);
+    }
+
+    /**
+     * Apaga o arquivo temporário assim que a resposta termina de ser escrita
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path path) {
+            super(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
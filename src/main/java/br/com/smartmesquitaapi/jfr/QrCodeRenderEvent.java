@@ -0,0 +1,42 @@
+package br.com.smartmesquitaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Renderização de um QR Code (QrcodeImageGenerator): matriz ZXing + PNG
+ */
+@Name("smartmesquita.QrCodeRender")
+@Label("QR Code Render")
+@Category({"Smart Mesquita", "PIX"})
+@StackTrace(false)
+public class QrCodeRenderEvent extends jdk.jfr.Event {
+
+    @Label("Size")
+    @Description("Largura e altura da imagem em pixels")
+    public int size;
+
+    @Label("Encode Time")
+    @Description("Tempo do QRCodeWriter.encode; o restante é a escrita do PNG")
+    @Timespan(Timespan.NANOSECONDS)
+    public long encodeTime;
+
+    @Label("PNG Bytes")
+    @DataAmount(DataAmount.BYTES)
+    public int pngBytes;
+
+    public void finish(int size, long encodeTime, int pngBytes) {
+        end();
+        if (shouldCommit()) {
+            this.size = size;
+            this.encodeTime = encodeTime;
+            this.pngBytes = pngBytes;
+            commit();
+        }
+    }
+}
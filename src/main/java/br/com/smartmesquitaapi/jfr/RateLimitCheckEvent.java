@@ -0,0 +1,46 @@
+package br.com.smartmesquitaapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Verificação de um @RateLimit (RateLimitAspect): chave, decisão e tempo gasto no Redis
+ */
+@Name("smartmesquita.RateLimitCheck")
+@Label("Rate Limit Check")
+@Category({"Smart Mesquita", "Request"})
+@StackTrace(false)
+public class RateLimitCheckEvent extends jdk.jfr.Event {
+
+    public static final String ALLOWED = "ALLOWED";
+    public static final String DENIED = "DENIED";
+    public static final String BANNED = "BANNED";
+
+    @Label("Key")
+    public String key;
+
+    @Label("Decision")
+    @Description("ALLOWED, DENIED ou BANNED")
+    public String decision;
+
+    @Label("Redis Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long redisTime;
+
+    /**
+     * Grava o evento só se a gravação estiver ativa (custo quase zero quando desligada)
+     */
+    public void finish(String key, String decision, long redisTime) {
+        end();
+        if (shouldCommit()) {
+            this.key = key;
+            this.decision = decision;
+            this.redisTime = redisTime;
+            commit();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.smartmesquitaapi.organization.service;
 
+import br.com.smartmesquitaapi.config.cache.CacheConfig;
 import br.com.smartmesquitaapi.organization.exception.OrganizationNotFoundException;
 import br.com.smartmesquitaapi.pix.exception.UserNotFoundException;
 import br.com.smartmesquitaapi.user.UserRepository;
@@ -7,6 +8,8 @@ import br.com.smartmesquitaapi.user.domain.User;
 import br.com.smartmesquitaapi.user.dto.OrganizationProfileDto;
 import br.com.smartmesquitaapi.organization.mapper.OrganizationMapper;
 import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -21,6 +24,7 @@ public class OrganizationService {
         this.organizationMapper = organizationMapper;
     }
 
+    @Cacheable(cacheNames = CacheConfig.ORGANIZATION_PROFILE, keyGenerator = CacheConfig.CURRENT_USER_KEY)
     public OrganizationProfileDto getOrganizationProfile(){
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -34,7 +38,11 @@ public class OrganizationService {
         return organizationMapper.toProfileDto(user);
     }
 
+    /**
+     * A organização aparece no perfil de todos os seus usuários: limpa o cache inteiro
+     */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ORGANIZATION_PROFILE, allEntries = true)
     public void updateOrganizationProfile(OrganizationProfileDto dto){
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -0,0 +1,20 @@
+package br.com.smartmesquitaapi.outbox;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Linha da tabela outbox_events
+ *
+ * attempts conta as entregas anteriores que falharam em algum handler interno.
+ */
+public record OutboxEvent(
+        long id,
+        String aggregateType,
+        UUID aggregateId,
+        String eventType,
+        String payload,
+        LocalDateTime createdAt,
+        int attempts
+) {
+}
@@ -0,0 +1,16 @@
+package br.com.smartmesquitaapi.outbox;
+
+/**
+ * Consumidor interno de eventos do outbox.
+ *
+ * A entrega é "pelo menos uma vez": após uma falha do relay o mesmo evento
+ * pode ser entregue de novo, então o tratamento deve tolerar repetição.
+ */
+public interface OutboxEventHandler<T> {
+
+    String eventType();
+
+    Class<T> payloadType();
+
+    void handle(T payload);
+}
@@ -0,0 +1,218 @@
+package br.com.smartmesquitaapi.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Entrega os eventos do outbox e os remove da tabela.
+ *
+ * Cada lote é bloqueado com FOR UPDATE SKIP LOCKED (várias instâncias dividem
+ * a fila), publicado no Redis Stream "outbox:{aggregateType}" em um pipeline,
+ * entregue aos {@link OutboxEventHandler} internos e apagado na mesma
+ * transação. Se a publicação no Redis falhar, o lote volta para a fila.
+ *
+ * Um evento cuja entrega a algum handler interno falhou não é apagado: ganha
+ * attempts + 1 e next_attempt_at com backoff exponencial (V013), e os demais
+ * eventos do lote seguem normalmente. Na nova tentativa o evento é entregue
+ * de novo a todos os handlers do tipo, mas não é republicado no Stream, que
+ * já o recebeu na primeira passagem.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String STREAM_PREFIX = "outbox:";
+
+    private static final String LOCK_BATCH_SQL =
+            "SELECT id, aggregate_type, aggregate_id, event_type, payload, created_at, attempts " +
+            "FROM outbox_events " +
+            "WHERE next_attempt_at IS NULL OR next_attempt_at <= LOCALTIMESTAMP " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String DELETE_SQL = "DELETE FROM outbox_events WHERE id = ANY (?)";
+
+    private static final String RESCHEDULE_SQL =
+            "UPDATE outbox_events SET attempts = attempts + 1, " +
+            "next_attempt_at = LOCALTIMESTAMP + make_interval(secs => ?), last_error = ? " +
+            "WHERE id = ?";
+
+    private static final int LAST_ERROR_MAX_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, List<OutboxEventHandler<?>>> handlersByType;
+    private final int batchSize;
+    private final boolean streamEnabled;
+    private final long streamMaxLength;
+    private final long retryBaseDelayMs;
+    private final long retryMaxDelayMs;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            List<OutboxEventHandler<?>> handlers,
+            @Value("${outbox.relay.batch-size:500}") int batchSize,
+            @Value("${outbox.redis-stream.enabled:true}") boolean streamEnabled,
+            @Value("${outbox.redis-stream.max-length:100000}") long streamMaxLength,
+            @Value("${outbox.relay.retry-base-delay-ms:1000}") long retryBaseDelayMs,
+            @Value("${outbox.relay.retry-max-delay-ms:600000}") long retryMaxDelayMs
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.handlersByType = handlers.stream().collect(Collectors.groupingBy(OutboxEventHandler::eventType));
+        this.batchSize = batchSize;
+        this.streamEnabled = streamEnabled;
+        this.streamMaxLength = streamMaxLength;
+        this.retryBaseDelayMs = retryBaseDelayMs;
+        this.retryMaxDelayMs = retryMaxDelayMs;
+    }
+
+    /**
+     * Esvazia o outbox: processa lotes enquanto vierem cheios
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void relay() {
+        try {
+            int delivered;
+            do {
+                delivered = transactionTemplate.execute(status -> relayBatch());
+            } while (delivered == batchSize);
+        } catch (Exception e) {
+            log.error("Erro ao entregar eventos do outbox", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = jdbcTemplate.query(LOCK_BATCH_SQL, (rs, rowNum) -> new OutboxEvent(
+                rs.getLong("id"),
+                rs.getString("aggregate_type"),
+                rs.getObject("aggregate_id", UUID.class),
+                rs.getString("event_type"),
+                rs.getString("payload"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getInt("attempts")
+        ), batchSize);
+
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        if (streamEnabled) {
+            // Eventos em retentativa já foram publicados na primeira passagem
+            List<OutboxEvent> firstAttempt = events.stream().filter(event -> event.attempts() == 0).toList();
+            if (!firstAttempt.isEmpty()) {
+                publishToStreams(firstAttempt);
+            }
+        }
+
+        List<Long> delivered = new ArrayList<>(events.size());
+        List<Object[]> failed = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            Exception failure = dispatch(event);
+            if (failure == null) {
+                delivered.add(event.id());
+            } else {
+                failed.add(new Object[]{retryDelaySeconds(event.attempts()), lastError(failure), event.id()});
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            Long[] ids = delivered.toArray(Long[]::new);
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(DELETE_SQL);
+                ps.setArray(1, connection.createArrayOf("bigint", ids));
+                return ps;
+            });
+        }
+        if (!failed.isEmpty()) {
+            jdbcTemplate.batchUpdate(RESCHEDULE_SQL, failed);
+            log.warn("Outbox: {} eventos com falha de entrega reagendados", failed.size());
+        }
+
+        log.debug("Outbox: {} eventos entregues", delivered.size());
+        return events.size();
+    }
+
+    private void publishToStreams(List<OutboxEvent> events) {
+        XAddOptions options = XAddOptions.maxlen(streamMaxLength).approximateTrimming(true);
+
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (OutboxEvent event : events) {
+                Map<String, String> fields = new HashMap<>();
+                fields.put("id", String.valueOf(event.id()));
+                fields.put("type", event.eventType());
+                fields.put("aggregateId", event.aggregateId().toString());
+                fields.put("payload", event.payload());
+
+                redis.xAdd(StreamRecords.string(fields).withStreamKey(STREAM_PREFIX + event.aggregateType()), options);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Entrega o evento a todos os handlers do tipo.
+     *
+     * @return a primeira falha, ou null se todos os handlers concluíram
+     */
+    private Exception dispatch(OutboxEvent event) {
+        List<OutboxEventHandler<?>> handlers = handlersByType.get(event.eventType());
+        if (handlers == null) {
+            return null;
+        }
+
+        Exception failure = null;
+        for (OutboxEventHandler<?> handler : handlers) {
+            try {
+                deliver(handler, event);
+            } catch (Exception e) {
+                log.error("Falha no handler {} para o evento {} ({}), tentativa {}",
+                        handler.getClass().getSimpleName(), event.id(), event.eventType(), event.attempts() + 1, e);
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        return failure;
+    }
+
+    private double retryDelaySeconds(int attempts) {
+        long delayMs = retryBaseDelayMs << Math.min(attempts, 20);
+        return Math.min(delayMs, retryMaxDelayMs) / 1000.0;
+    }
+
+    private static String lastError(Exception failure) {
+        String message = failure.getClass().getSimpleName() + ": " + failure.getMessage();
+        return message.length() > LAST_ERROR_MAX_LENGTH ? message.substring(0, LAST_ERROR_MAX_LENGTH) : message;
+    }
+
+    private <T> void deliver(OutboxEventHandler<T> handler, OutboxEvent event) throws Exception {
+        handler.handle(objectMapper.readValue(event.payload(), handler.payloadType()));
+    }
+}
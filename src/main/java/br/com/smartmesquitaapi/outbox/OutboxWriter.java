@@ -0,0 +1,90 @@
+package br.com.smartmesquitaapi.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Grava eventos no outbox dentro da transação corrente.
+ *
+ * Os eventos de uma transação são acumulados e inseridos em um único lote
+ * imediatamente antes do commit; se a transação for desfeita, nada é gravado.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload, created_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    private record PendingEvent(String aggregateType, UUID aggregateId, String eventType, String payload,
+                                LocalDateTime createdAt) {}
+
+    /**
+     * @throws IllegalStateException se não houver transação ativa
+     */
+    public void append(String aggregateType, UUID aggregateId, String eventType, Object payload) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Eventos do outbox exigem uma transação ativa: " + eventType);
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento " + eventType, e);
+        }
+
+        pendingEvents().add(new PendingEvent(aggregateType, aggregateId, eventType, json, LocalDateTime.now()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PendingEvent> pendingEvents() {
+        List<PendingEvent> events = (List<PendingEvent>) TransactionSynchronizationManager.getResource(this);
+        if (events != null) {
+            return events;
+        }
+
+        List<PendingEvent> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                insert(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+            }
+        });
+        return created;
+    }
+
+    private void insert(List<PendingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setString(1, event.aggregateType());
+            ps.setObject(2, event.aggregateId());
+            ps.setString(3, event.eventType());
+            ps.setString(4, event.payload());
+            ps.setTimestamp(5, Timestamp.valueOf(event.createdAt()));
+        });
+    }
+}
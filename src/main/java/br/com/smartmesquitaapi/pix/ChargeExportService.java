@@ -0,0 +1,232 @@
+package br.com.smartmesquitaapi.pix;
+
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import br.com.smartmesquitaapi.pix.dto.ChargeExportFormat;
+import br.com.smartmesquitaapi.pix.dto.PixChargeSummary;
+import br.com.smartmesquitaapi.pix.exception.InvalidRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação de doações em streaming (CSV ou NDJSON).
+ *
+ * As linhas são lidas por um cursor JDBC somente leitura e forward-only,
+ * com fetch size fixo, e escritas na resposta uma a uma: o uso de memória
+ * não depende do tamanho do período exportado. A coluna qr_image_base64
+ * nunca é lida.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ChargeExportService {
+
+    private static final int FETCH_SIZE = 500;
+    private static final int MAX_PERIOD_DAYS = 366;
+
+    private static final String EXPORT_SQL =
+            "SELECT id, local_donation_id, txid, amount_cents, status, created_at, expires_at, confirmed_at " +
+            "FROM pix_charges " +
+            "WHERE organization_id = ? " +
+            "AND created_at >= ? AND created_at < ? " +
+            "AND status = ANY (?) " +
+            "ORDER BY created_at, id";
+
+    private static final String CSV_HEADER =
+            "id,localDonationId,txid,amountCents,status,createdAt,expiresAt,confirmedAt\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Monta o corpo da resposta. A consulta só é executada quando o Spring MVC
+     * começa a escrever a resposta, fora da thread da requisição.
+     */
+    public StreamingResponseBody export(
+            UUID organizationId,
+            ChargeExportFormat format,
+            LocalDate from,
+            LocalDate to,
+            List<PixChargeStatus> statuses,
+            boolean gzip
+    ) {
+        validatePeriod(from, to);
+
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.plusDays(1).atStartOfDay();
+        String[] statusFilter = (statuses == null || statuses.isEmpty()
+                ? Arrays.asList(PixChargeStatus.values())
+                : statuses).stream().map(Enum::name).toArray(String[]::new);
+
+        return outputStream -> {
+            OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream;
+            long rows = writeRows(organizationId, format, start, end, statusFilter, target);
+            target.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            log.info("Exportação concluída - Org: {} | Formato: {} | Linhas: {}", organizationId, format, rows);
+        };
+    }
+
+    private long writeRows(
+            UUID organizationId,
+            ChargeExportFormat format,
+            LocalDateTime start,
+            LocalDateTime end,
+            String[] statuses,
+            OutputStream target
+    ) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 16 * 1024);
+        SequenceWriter jsonLines = format == ChargeExportFormat.NDJSON
+                ? objectMapper.writer().withRootValueSeparator("\n").writeValues(writer)
+                : null;
+
+        if (format == ChargeExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+
+        long[] count = {0};
+        try {
+            // O driver do Postgres só usa cursor no servidor com autocommit desligado,
+            // por isso a leitura roda dentro de uma transação somente leitura.
+            readOnly.executeWithoutResult(status -> jdbcTemplate.query(
+                    connection -> {
+                        PreparedStatement ps = connection.prepareStatement(
+                                EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                        ps.setFetchSize(FETCH_SIZE);
+                        ps.setObject(1, organizationId);
+                        ps.setTimestamp(2, Timestamp.valueOf(start));
+                        ps.setTimestamp(3, Timestamp.valueOf(end));
+                        ps.setArray(4, connection.createArrayOf("varchar", statuses));
+                        return ps;
+                    },
+                    rs -> {
+                        PixChargeSummary row = mapRow(rs);
+                        try {
+                            if (jsonLines != null) {
+                                jsonLines.write(row);
+                            } else {
+                                writeCsvRow(writer, row);
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        count[0]++;
+                    }
+            ));
+        } catch (UncheckedIOException e) {
+            // Cliente desconectou no meio do download
+            throw e.getCause();
+        }
+
+        if (jsonLines != null) {
+            jsonLines.flush();
+            if (count[0] > 0) {
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+        return count[0];
+    }
+
+    private PixChargeSummary mapRow(ResultSet rs) throws SQLException {
+        Timestamp confirmedAt = rs.getTimestamp("confirmed_at");
+        return PixChargeSummary.builder()
+                .id(rs.getObject("id", UUID.class))
+                .localDonationId(rs.getString("local_donation_id"))
+                .txid(rs.getString("txid"))
+                .amountCents(rs.getInt("amount_cents"))
+                .status(PixChargeStatus.valueOf(rs.getString("status")))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .expiresAt(rs.getTimestamp("expires_at").toLocalDateTime())
+                .confirmedAt(confirmedAt != null ? confirmedAt.toLocalDateTime() : null)
+                .build();
+    }
+
+    private void writeCsvRow(Writer writer, PixChargeSummary row) throws IOException {
+        writer.write(row.getId().toString());
+        writer.write(',');
+        writeCsvField(writer, row.getLocalDonationId());
+        writer.write(',');
+        writeCsvField(writer, row.getTxid());
+        writer.write(',');
+        writer.write(Integer.toString(row.getAmountCents()));
+        writer.write(',');
+        writer.write(row.getStatus().name());
+        writer.write(',');
+        writer.write(row.getCreatedAt().toString());
+        writer.write(',');
+        writer.write(row.getExpiresAt().toString());
+        writer.write(',');
+        if (row.getConfirmedAt() != null) {
+            writer.write(row.getConfirmedAt().toString());
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Escreve um campo de texto seguindo a RFC 4180 (aspas quando necessário)
+     */
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void validatePeriod(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new InvalidRequestException("Período (from/to) é obrigatório");
+        }
+        if (to.isBefore(from)) {
+            throw new InvalidRequestException("Data final anterior à data inicial");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_PERIOD_DAYS) {
+            throw new InvalidRequestException("Período máximo de exportação: " + MAX_PERIOD_DAYS + " dias");
+        }
+    }
+}
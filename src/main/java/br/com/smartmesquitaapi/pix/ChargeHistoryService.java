@@ -0,0 +1,72 @@
+package br.com.smartmesquitaapi.pix;
+
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import br.com.smartmesquitaapi.pix.dto.ChargeCursor;
+import br.com.smartmesquitaapi.pix.dto.ChargeHistoryPage;
+import br.com.smartmesquitaapi.pix.dto.PixChargeSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consulta do histórico de cobranças de uma organização.
+ * Usa paginação por cursor (keyset) sobre (organization_id, created_at, id),
+ * evitando OFFSET em uma tabela que só cresce.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChargeHistoryService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final PixChargeRepository pixChargeRepository;
+
+    @Transactional(readOnly = true)
+    public ChargeHistoryPage getHistory(
+            UUID organizationId,
+            List<PixChargeStatus> statuses,
+            String cursor,
+            Integer pageSize
+    ) {
+        int size = resolvePageSize(pageSize);
+        List<PixChargeStatus> statusFilter = (statuses == null || statuses.isEmpty())
+                ? Arrays.asList(PixChargeStatus.values())
+                : statuses;
+
+        // Busca uma linha a mais para saber se existe próxima página
+        Limit limit = Limit.of(size + 1);
+
+        List<PixChargeSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = pixChargeRepository.findHistoryFirstPage(organizationId, statusFilter, limit);
+        } else {
+            ChargeCursor position = ChargeCursor.decode(cursor);
+            rows = pixChargeRepository.findHistoryPageAfter(
+                    organizationId, statusFilter, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<PixChargeSummary> items = hasMore ? rows.subList(0, size) : rows;
+
+        return ChargeHistoryPage.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? ChargeCursor.of(items.get(items.size() - 1)).encode() : null)
+                .build();
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        if (pageSize == null || pageSize <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.smartmesquitaapi.pix;
+
+import br.com.smartmesquitaapi.config.cache.CacheConfig;
+import br.com.smartmesquitaapi.pix.event.PixChargeStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Remove do cache de cobranças por txid as que saem de um status final.
+ *
+ * Só cobranças em status terminal são cacheadas (PixChargeService.getChargeByTxid)
+ * e elas não mudam mais; a remoção cobre entradas EXPIRED gravadas antes dessa
+ * regra, que ainda podem estar no Redis até o TTL.
+ */
+@Component
+@RequiredArgsConstructor
+public class PixChargeCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(PixChargeStatusChangedEvent event) {
+        if (event.previousStatus() == null || !event.previousStatus().isFinal()) {
+            return;
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.PIX_CHARGE_BY_TXID);
+        if (cache != null) {
+            cache.evict(event.txid());
+        }
+    }
+}
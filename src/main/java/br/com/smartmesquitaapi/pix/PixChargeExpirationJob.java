@@ -2,6 +2,7 @@ package br.com.smartmesquitaapi.pix;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -24,9 +25,30 @@ public class PixChargeExpirationJob {
             if (expiredCount > 0){
                 log.info("Job de expiração concluído: {} cobranças expiradas.", expiredCount);
             }
+        } catch(OptimisticLockingFailureException e){
+            // Uma cobrança foi paga durante a execução; as demais expiram na próxima
+            log.warn("Job de expiração desfeito por alteração concorrente: {}", e.getMessage());
         } catch(Exception e){
             log.error("Erro ao executar job de expiração.", e);
         }
     }
+
+    /**
+     * Varredura completa, para cobranças que escaparam da janela do job frequente
+     */
+    @Scheduled(cron = "${pix.expiration.full-sweep-cron:0 45 3 * * *}")
+    public void expireAllStaleCharges(){
+        try{
+            int expiredCount = pixChargeService.expireAllStaleCharges();
+
+            if (expiredCount > 0){
+                log.info("Varredura completa de expiração concluída: {} cobranças expiradas.", expiredCount);
+            }
+        } catch(OptimisticLockingFailureException e){
+            log.warn("Varredura de expiração desfeita por alteração concorrente: {}", e.getMessage());
+        } catch(Exception e){
+            log.error("Erro ao executar varredura completa de expiração.", e);
+        }
+    }
 }
 
@@ -0,0 +1,130 @@
+package br.com.smartmesquitaapi.pix;
+
+import br.com.smartmesquitaapi.pix.domain.PixCharge;
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Criação idempotente de cobranças.
+ *
+ * A reserva é um INSERT em pix_charge_keys com ON CONFLICT DO NOTHING: quando
+ * a chave de idempotência da organização já existia, o mesmo comando devolve
+ * a cobrança anterior, sem nenhuma consulta prévia. Só quem ganhou a reserva
+ * gera EMV e QR Code e grava a cobrança em pix_charges, na mesma transação
+ * (uma chave sem cobrança nunca fica visível para as outras transações).
+ */
+@Repository
+@RequiredArgsConstructor
+public class PixChargeInsertRepository {
+
+    private static final String RESERVE_OR_FIND_SQL = """
+            WITH new_key AS (
+                INSERT INTO pix_charge_keys (txid, charge_id, organization_id, user_id, idempotency_key,
+                                             local_donation_id, created_at)
+                VALUES (:txid, :id, :organizationId, CAST(:userId AS uuid), :idempotencyKey,
+                        :localDonationId, :createdAt)
+                ON CONFLICT DO NOTHING
+                RETURNING charge_id
+            )
+            SELECT true AS created, charge_id AS id, NULL AS local_donation_id, NULL AS txid, NULL AS amount_cents,
+                   NULL AS qr_payload, NULL AS qr_image_base64, NULL AS status, NULL AS created_at, NULL AS expires_at
+            FROM new_key
+            UNION ALL
+            SELECT false, pc.id, pc.local_donation_id, pc.txid, pc.amount_cents, pc.qr_payload, pc.qr_image_base64,
+                   pc.status, pc.created_at, pc.expires_at
+            FROM pix_charges pc
+            WHERE NOT EXISTS (SELECT 1 FROM new_key)
+              AND pc.id = (SELECT k.charge_id FROM pix_charge_keys k
+                           WHERE k.organization_id = :organizationId AND k.idempotency_key = :idempotencyKey)
+              AND pc.created_at = (SELECT k.created_at FROM pix_charge_keys k
+                                   WHERE k.organization_id = :organizationId AND k.idempotency_key = :idempotencyKey)
+            """;
+
+    private static final String INSERT_CHARGE_SQL = """
+            INSERT INTO pix_charges (id, organization_id, user_id, local_donation_id, idempotency_key, txid,
+                                     amount_cents, qr_payload, qr_image_base64, status, psp_name,
+                                     created_at, expires_at, updated_at)
+            VALUES (:id, :organizationId, CAST(:userId AS uuid), :localDonationId, :idempotencyKey, :txid,
+                    :amountCents, :qrPayload, :qrImageBase64, :status, :pspName,
+                    :createdAt, :expiresAt, :createdAt)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * @param created true se a chave foi reservada agora (charge é o rascunho
+     *                recebido, ainda sem QR Code); false se já pertencia a outra
+     *                cobrança (devolvida em charge)
+     */
+    public record Result(boolean created, PixCharge charge) {}
+
+    /**
+     * Reserva txid e chave de idempotência da cobrança ou devolve a existente
+     * com a mesma chave. Deve ser chamado dentro de uma transação, seguido de
+     * {@link #insert} quando a reserva for criada.
+     *
+     * Retorna vazio quando nada foi reservado nem encontrado: a chave foi gravada
+     * por uma transação concorrente depois do início do comando (basta buscá-la
+     * de novo) ou o txid já pertence a outra organização.
+     *
+     * @param draft cobrança montada pelo serviço, com id, txid e createdAt preenchidos
+     */
+    public Optional<Result> reserveOrFindExisting(PixCharge draft, UUID userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", draft.getPixChargeId())
+                .addValue("organizationId", draft.getOrganization().getId())
+                .addValue("userId", userId)
+                .addValue("localDonationId", draft.getLocalDonationId())
+                .addValue("idempotencyKey", draft.getIdempotencyKey())
+                .addValue("txid", draft.getTxid())
+                .addValue("createdAt", draft.getCreatedAt());
+
+        return jdbcTemplate.query(RESERVE_OR_FIND_SQL, params, (rs, rowNum) -> {
+            if (rs.getBoolean("created")) {
+                return new Result(true, draft);
+            }
+            return new Result(false, PixCharge.builder()
+                    .pixChargeId(rs.getObject("id", UUID.class))
+                    .organization(draft.getOrganization())
+                    .user(draft.getUser())
+                    .localDonationId(rs.getString("local_donation_id"))
+                    .idempotencyKey(draft.getIdempotencyKey())
+                    .txid(rs.getString("txid"))
+                    .amountCents(rs.getInt("amount_cents"))
+                    .qrPayload(rs.getString("qr_payload"))
+                    .qrImageBase64(rs.getString("qr_image_base64"))
+                    .status(PixChargeStatus.valueOf(rs.getString("status")))
+                    .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                    .expiresAt(rs.getTimestamp("expires_at").toLocalDateTime())
+                    .build());
+        }).stream().findFirst();
+    }
+
+    /**
+     * Grava a cobrança cuja chave foi reservada por {@link #reserveOrFindExisting}
+     */
+    public void insert(PixCharge charge, UUID userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", charge.getPixChargeId())
+                .addValue("organizationId", charge.getOrganization().getId())
+                .addValue("userId", userId)
+                .addValue("localDonationId", charge.getLocalDonationId())
+                .addValue("idempotencyKey", charge.getIdempotencyKey())
+                .addValue("txid", charge.getTxid())
+                .addValue("amountCents", charge.getAmountCents())
+                .addValue("qrPayload", charge.getQrPayload())
+                .addValue("qrImageBase64", charge.getQrImageBase64())
+                .addValue("status", charge.getStatus().name())
+                .addValue("pspName", charge.getPspName())
+                .addValue("createdAt", charge.getCreatedAt())
+                .addValue("expiresAt", charge.getExpiresAt());
+
+        jdbcTemplate.update(INSERT_CHARGE_SQL, params);
+    }
+}
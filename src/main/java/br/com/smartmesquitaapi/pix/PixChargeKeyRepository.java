@@ -0,0 +1,15 @@
+package br.com.smartmesquitaapi.pix;
+
+import br.com.smartmesquitaapi.pix.domain.PixChargeKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+
+@Repository
+public interface PixChargeKeyRepository extends JpaRepository<PixChargeKey, String> {
+
+    List<PixChargeKey> findAllByTxidIn(Collection<String> txids);
+}
@@ -0,0 +1,142 @@
+package br.com.smartmesquitaapi.pix;
+
+import br.com.smartmesquitaapi.pix.domain.ChargeOrigin;
+import br.com.smartmesquitaapi.pix.event.PixChargeStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Métricas da criação de cobranças PIX (expostas em /actuator/prometheus).
+ *
+ * Todas as tags têm poucos valores possíveis (etapa, origem, status, resultado):
+ * nada de organização, txid ou valor, que multiplicariam as séries.
+ *
+ * - pix.charge.creation: tempo total de createPixCharge, por origem e resultado
+ * - pix.charge.creation.stage: tempo de cada etapa (ver {@link Stage})
+ * - pix.charges: mudanças de status confirmadas, por status e origem
+ * - pix.charges.pending / pix.charges.expiration.backlog: atualizados
+ *   periodicamente, para o scrape não consultar o banco
+ */
+@Component
+@Slf4j
+public class PixChargeMetrics {
+
+    /**
+     * Etapas da criação de uma cobrança, na ordem em que acontecem.
+     * Cada etapa é medida em um único ponto, para que cada tag tenha um só significado.
+     */
+    public enum Stage {
+        /** Validação da requisição (valor e chave de idempotência) */
+        VALIDATION("validation"),
+        /** Consulta ao cache de idempotência no Redis e espera pelo lock */
+        IDEMPOTENCY_CACHE("idempotency_cache"),
+        ORG_LOAD("org_load"),
+        /** Validação da chave PIX da organização carregada */
+        ORG_VALIDATION("org_validation"),
+        TXID("txid"),
+        /** Reserva da chave em pix_charge_keys, que devolve a cobrança de um reenvio */
+        IDEMPOTENCY_DB("idempotency_db"),
+        LIMIT_CHECK("limit_check"),
+        EMV("emv"),
+        QR("qr"),
+        SAVE("save");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final PixChargeRepository pixChargeRepository;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final AtomicLong pendingCharges = new AtomicLong();
+    private final AtomicLong expirationBacklog = new AtomicLong();
+
+    public PixChargeMetrics(MeterRegistry registry, PixChargeRepository pixChargeRepository) {
+        this.registry = registry;
+        this.pixChargeRepository = pixChargeRepository;
+
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("pix.charge.creation.stage")
+                    .description("Tempo de cada etapa da criação de cobrança PIX")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry));
+        }
+
+        Gauge.builder("pix.charges.pending", pendingCharges, AtomicLong::get)
+                .description("Cobranças PIX pendentes")
+                .register(registry);
+        Gauge.builder("pix.charges.expiration.backlog", expirationBacklog, AtomicLong::get)
+                .description("Cobranças pendentes já vencidas, aguardando o job de expiração")
+                .register(registry);
+    }
+
+    public <T> T time(Stage stage, Supplier<T> step) {
+        return stageTimers.get(stage).record(step);
+    }
+
+    public void time(Stage stage, Runnable step) {
+        stageTimers.get(stage).record(step);
+    }
+
+    public void record(Stage stage, long durationNanos) {
+        stageTimers.get(stage).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tempo total da criação (inclui reenvios respondidos pelo cache)
+     */
+    public void recordCreation(ChargeOrigin origin, boolean success, long durationNanos) {
+        Timer.builder("pix.charge.creation")
+                .description("Tempo total da criação de cobrança PIX")
+                .tag("origin", origin.name())
+                .tag("outcome", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Só conta mudanças confirmadas; sem transação (ex.: testes), conta na hora
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(PixChargeStatusChangedEvent event) {
+        Counter.builder("pix.charges")
+                .description("Mudanças de status de cobranças PIX (inclui a criação)")
+                .tag("status", event.newStatus().name())
+                .tag("origin", event.origin() != null ? event.origin().name() : "UNKNOWN")
+                .register(registry)
+                .increment();
+    }
+
+    @Scheduled(fixedDelayString = "${pix.metrics.backlog-refresh-ms:30000}")
+    public void refreshBacklog() {
+        try {
+            pendingCharges.set(pixChargeRepository.countPending());
+            expirationBacklog.set(pixChargeRepository.countExpiredPending(LocalDateTime.now()));
+        } catch (Exception e) {
+            log.warn("Falha ao atualizar métricas de cobranças pendentes: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package br.com.smartmesquitaapi.pix;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Manutenção das partições mensais de pix_charges (ver V009).
+ *
+ * - cria as partições dos próximos meses antes que sejam necessárias;
+ * - desanexa as partições mais antigas que o período de retenção;
+ * - arquiva cada partição desanexada em CSV gzip no disco local e só então
+ *   remove a tabela e as chaves correspondentes em pix_charge_keys.
+ *
+ * Um advisory lock garante que apenas uma instância execute por vez. Uma
+ * partição desanexada cujo arquivamento falhou é retomada na próxima execução.
+ */
+@Component
+@Slf4j
+public class PixChargePartitionMaintenanceJob {
+
+    private static final long ADVISORY_LOCK_KEY = 7_031_034L;
+    private static final Pattern PARTITION_NAME = Pattern.compile("pix_charges_y(\\d{4})m(\\d{2})");
+
+    private static final String ATTACHED_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = 'pix_charges'::regclass";
+
+    private static final String DETACHED_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE c.relkind = 'r' AND NOT c.relispartition AND n.nspname = current_schema() " +
+            "AND c.relname ~ '^pix_charges_y[0-9]{4}m[0-9]{2}$'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Path archiveDir;
+
+    public PixChargePartitionMaintenanceJob(
+            JdbcTemplate jdbcTemplate,
+            @Value("${pix.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${pix.partitions.retention-months:24}") int retentionMonths,
+            @Value("${pix.partitions.archive-dir:./archive/pix_charges}") String archiveDir
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveDir = Path.of(archiveDir);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${pix.partitions.maintenance-cron:0 0 2 * * *}")
+    public void maintain() {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                if (!tryLock(connection)) {
+                    log.debug("Manutenção de partições em execução em outra instância");
+                    return null;
+                }
+                try {
+                    createUpcomingPartitions(connection);
+                    detachExpiredPartitions(connection);
+                    archiveDetachedPartitions(connection);
+                } finally {
+                    unlock(connection);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Erro na manutenção das partições de pix_charges", e);
+        }
+    }
+
+    private void createUpcomingPartitions(Connection connection) throws SQLException {
+        List<String> attached = queryNames(connection, ATTACHED_PARTITIONS_SQL);
+        YearMonth current = YearMonth.now();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = partitionName(month);
+            if (attached.contains(name)) {
+                continue;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(String.format(
+                        "CREATE TABLE %s PARTITION OF pix_charges FOR VALUES FROM ('%s') TO ('%s')",
+                        name, month.atDay(1), month.plusMonths(1).atDay(1)));
+                log.info("Partição criada: {}", name);
+            } catch (SQLException e) {
+                // Ex.: a partição DEFAULT já tem linhas desse mês; requer intervenção manual
+                log.error("Não foi possível criar a partição {}: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private void detachExpiredPartitions(Connection connection) throws SQLException {
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+
+        for (String name : queryNames(connection, ATTACHED_PARTITIONS_SQL)) {
+            YearMonth month = monthOf(name);
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER TABLE pix_charges DETACH PARTITION " + name);
+                log.info("Partição desanexada: {}", name);
+            }
+        }
+    }
+
+    private void archiveDetachedPartitions(Connection connection) throws SQLException {
+        for (String name : queryNames(connection, DETACHED_PARTITIONS_SQL)) {
+            YearMonth month = monthOf(name);
+            if (month == null) {
+                continue;
+            }
+
+            Path archive;
+            try {
+                archive = archive(connection, name);
+            } catch (IOException e) {
+                // A tabela desanexada é mantida; nova tentativa na próxima execução
+                log.error("Falha ao arquivar a partição {} em {}", name, archiveDir, e);
+                continue;
+            }
+            dropPartition(connection, name, month);
+            log.info("Partição {} arquivada em {} e removida", name, archive);
+        }
+    }
+
+    /**
+     * Copia a partição para {archiveDir}/{nome}.csv.gz via COPY, direto do
+     * banco para o arquivo (sem materializar linhas na JVM)
+     */
+    private Path archive(Connection connection, String name) throws SQLException, IOException {
+        Files.createDirectories(archiveDir);
+        Path target = archiveDir.resolve(name + ".csv.gz");
+        Path partial = archiveDir.resolve(name + ".csv.gz.part");
+
+        try (FileChannel channel = FileChannel.open(partial,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream file = Channels.newOutputStream(channel);
+            GZIPOutputStream gzip = new GZIPOutputStream(file, 64 * 1024);
+            long rows = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyOut("COPY " + name + " TO STDOUT WITH (FORMAT csv, HEADER)", gzip);
+            gzip.finish();
+            gzip.flush();
+            channel.force(true);
+            log.info("Partição {} copiada: {} linhas", name, rows);
+        }
+
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    private void dropPartition(Connection connection, String name, YearMonth month) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement deleteKeys = connection.prepareStatement(
+                     "DELETE FROM pix_charge_keys WHERE created_at >= ? AND created_at < ?");
+             Statement drop = connection.createStatement()) {
+            deleteKeys.setTimestamp(1, Timestamp.valueOf(month.atDay(1).atStartOfDay()));
+            deleteKeys.setTimestamp(2, Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+            deleteKeys.executeUpdate();
+            drop.execute("DROP TABLE " + name);
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static boolean tryLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            ps.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private static void unlock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            ps.setLong(1, ADVISORY_LOCK_KEY);
+            ps.execute();
+        }
+    }
+
+    private static List<String> queryNames(Connection connection, String sql) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("pix_charges_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    static YearMonth monthOf(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
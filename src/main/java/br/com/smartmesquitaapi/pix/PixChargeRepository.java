@@ -2,13 +2,17 @@ package br.com.smartmesquitaapi.pix;
 
 import br.com.smartmesquitaapi.pix.domain.PixCharge;
 import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import br.com.smartmesquitaapi.pix.dto.PixChargeSummary;
+import br.com.smartmesquitaapi.pix.reconciliation.ReconciliationCandidate;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.awt.print.Pageable;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,17 +22,41 @@ import java.util.UUID;
 public interface PixChargeRepository extends JpaRepository<PixCharge, UUID> {
 
 
-    @Query("SELECT pc FROM PixCharge pc WHERE pc.organization.id = :organizationId AND pc.idempotencyKey = :idempotencyKey")
+    /*
+     * pix_charges é particionada por created_at. As buscas por chave abaixo
+     * obtêm o created_at em pix_charge_keys por subconsulta escalar, e o
+     * Postgres poda as partições em tempo de execução: só uma é lida.
+     */
+
+    @Query("SELECT pc FROM PixCharge pc " +
+            "WHERE pc.pixChargeId = (SELECT k.chargeId FROM PixChargeKey k " +
+            "WHERE k.organizationId = :organizationId AND k.idempotencyKey = :idempotencyKey) " +
+            "AND pc.createdAt = (SELECT k.createdAt FROM PixChargeKey k " +
+            "WHERE k.organizationId = :organizationId AND k.idempotencyKey = :idempotencyKey)")
     Optional<PixCharge> findByOrganizationIdAndIdempotencyKey(
             @Param("organizationId") UUID organizationId,
             @Param("idempotencyKey") String idempotencyKey
     );
 
 
-    Optional<PixCharge> findByTxid(String txid);
+    @Query("SELECT pc FROM PixCharge pc WHERE pc.txid = :txid " +
+            "AND pc.createdAt = (SELECT k.createdAt FROM PixChargeKey k WHERE k.txid = :txid)")
+    Optional<PixCharge> findByTxid(@Param("txid") String txid);
+
+
+    /**
+     * Busca em lote; a faixa de created_at (obtida em pix_charge_keys) limita as partições lidas
+     */
+    List<PixCharge> findAllByTxidInAndCreatedAtBetween(
+            Collection<String> txids,
+            LocalDateTime startTime,
+            LocalDateTime endTime
+    );
 
 
-    Optional<PixCharge> findByLocalDonationId(String localDonationId);
+    @Query("SELECT pc FROM PixCharge pc WHERE pc.localDonationId = :localDonationId " +
+            "AND pc.createdAt = (SELECT MAX(k.createdAt) FROM PixChargeKey k WHERE k.localDonationId = :localDonationId)")
+    Optional<PixCharge> findByLocalDonationId(@Param("localDonationId") String localDonationId);
 
 
     @Query("SELECT pc FROM PixCharge pc WHERE pc.user.userId = :userId ORDER BY pc.createdAt DESC")
@@ -44,9 +72,32 @@ public interface PixChargeRepository extends JpaRepository<PixCharge, UUID> {
     );
 
 
+    /**
+     * Varredura completa (todas as partições); usada pela limpeza noturna
+     */
     @Query("SELECT pc FROM PixCharge pc WHERE pc.status = 'PENDING' AND pc.expiresAt < :now")
     List<PixCharge> findExpiredPendingCharges(@Param("now") LocalDateTime now);
 
+    /**
+     * Métricas: total de pendentes e quantas já venceram sem o job de expiração
+     * passar (ambas usam o índice parcial idx_pix_charges_pending_expires)
+     */
+    @Query("SELECT COUNT(pc) FROM PixCharge pc WHERE pc.status = 'PENDING'")
+    long countPending();
+
+    @Query("SELECT COUNT(pc) FROM PixCharge pc WHERE pc.status = 'PENDING' AND pc.expiresAt < :now")
+    long countExpiredPending(@Param("now") LocalDateTime now);
+
+    /**
+     * Varredura frequente: só as partições de cobranças criadas a partir de createdAfter
+     */
+    @Query("SELECT pc FROM PixCharge pc WHERE pc.status = 'PENDING' AND pc.expiresAt < :now " +
+            "AND pc.createdAt >= :createdAfter")
+    List<PixCharge> findExpiredPendingChargesCreatedAfter(
+            @Param("now") LocalDateTime now,
+            @Param("createdAfter") LocalDateTime createdAfter
+    );
+
 
     @Query("SELECT pc FROM PixCharge pc WHERE pc.status = :status " +
             "AND pc.createdAt < :thresholdTime " +
@@ -57,20 +108,33 @@ public interface PixChargeRepository extends JpaRepository<PixCharge, UUID> {
             Pageable pageable
     );
 
-    @Query("SELECT pc FROM PixCharge pc WHERE pc.amountCents = :amountCents " +
-            "AND pc.status = 'PENDING' " +
-            "AND pc.createdAt BETWEEN :startTime AND :endTime " +
-            "ORDER BY pc.createdAt ASC")
-    List<PixCharge> findPendingChargesByAmountAndTimeRange(
-            @Param("amountCents") Integer amountCents,
+    /**
+     * Cobranças candidatas à conciliação de um extrato, carregadas de uma vez
+     * para o índice em memória (ver StatementImportService).
+     */
+    @Query("SELECT new br.com.smartmesquitaapi.pix.reconciliation.ReconciliationCandidate(" +
+            "pc.pixChargeId, pc.txid, pc.amountCents, pc.status, pc.createdAt, pc.expiresAt) " +
+            "FROM PixCharge pc WHERE pc.organization.id = :organizationId " +
+            "AND pc.status IN :statuses " +
+            "AND pc.createdAt >= :startTime AND pc.createdAt < :endTime")
+    List<ReconciliationCandidate> findReconciliationCandidates(
+            @Param("organizationId") UUID organizationId,
+            @Param("statuses") List<PixChargeStatus> statuses,
             @Param("startTime") LocalDateTime startTime,
-            @Param("endTime") LocalDateTime endTime,
-            Pageable pageable
+            @Param("endTime") LocalDateTime endTime
     );
 
 
-    @Query("SELECT COUNT(p) FROM PixCharge p WHERE p.organization.id = :orgId AND p.status = :status")
-    Long countByOrganizationIdAndStatus(@Param("orgId") UUID orgId, @Param("status") PixChargeStatus status);
+    /**
+     * Status como literal: permite ao planejador usar o índice parcial
+     * idx_pix_charges_pending_org também em planos genéricos
+     */
+    @Query("SELECT COUNT(p) FROM PixCharge p WHERE p.organization.id = :orgId AND p.status = 'PENDING' " +
+            "AND p.createdAt >= :since")
+    Long countPendingByOrganizationIdSince(
+            @Param("orgId") UUID orgId,
+            @Param("since") LocalDateTime since
+    );
 
 
     @Query("SELECT pc FROM PixCharge pc WHERE pc.createdAt BETWEEN :startDate AND :endDate " +
@@ -88,11 +152,8 @@ public interface PixChargeRepository extends JpaRepository<PixCharge, UUID> {
     List<PixCharge> findRecentManuallyConfirmedCharges(@Param("since") LocalDateTime since, Pageable pageable);
 
 
-    boolean existsByTxid(String txid);
-
-
     @Query("SELECT pc FROM PixCharge pc WHERE pc.user.userId = :userId ORDER BY pc.createdAt DESC LIMIT 1")
-    Optional<PixCharge> findFirstByUserIdOrderByCreatedAtDesc(@Param("userId") UUID userId, Pageable pageable);
+    Optional<PixCharge> findFirstByUserIdOrderByCreatedAtDesc(@Param("userId") UUID userId);
 
 
     @Query("SELECT pc FROM PixCharge pc WHERE pc.status = 'PENDING' " +
@@ -105,13 +166,109 @@ public interface PixChargeRepository extends JpaRepository<PixCharge, UUID> {
     );
 
 
+    /**
+     * Varre todas as cobranças do período. Para totais de dashboard use
+     * DonationRollupService, que lê a tabela donation_daily_rollup.
+     */
     @Query("SELECT SUM(pc.amountCents) FROM PixCharge pc " +
             "WHERE pc.status IN :statuses " +
             "AND pc.createdAt BETWEEN :startDate AND :endDate")
     Long sumAmountByStatusesAndPeriod(
             @Param("statuses") List<PixChargeStatus> statuses,
             @Param("startDate") LocalDateTime startDate,
-            @Param("endDate") LocalDateTime endDate,
-            Pageable pageable
+            @Param("endDate") LocalDateTime endDate
+    );
+
+
+    /**
+     * Primeira página do histórico de cobranças da organização (keyset).
+     * Projeção enxuta: nunca lê a coluna qr_image_base64.
+     */
+    @Query("SELECT new br.com.smartmesquitaapi.pix.dto.PixChargeSummary(" +
+            "pc.pixChargeId, pc.localDonationId, pc.txid, pc.amountCents, pc.status, " +
+            "pc.createdAt, pc.expiresAt, pc.confirmedAt) " +
+            "FROM PixCharge pc WHERE pc.organization.id = :organizationId " +
+            "AND pc.status IN :statuses " +
+            "ORDER BY pc.createdAt DESC, pc.pixChargeId DESC")
+    List<PixChargeSummary> findHistoryFirstPage(
+            @Param("organizationId") UUID organizationId,
+            @Param("statuses") List<PixChargeStatus> statuses,
+            Limit limit
+    );
+
+    /**
+     * Páginas seguintes do histórico: continua a partir do cursor (createdAt, id)
+     * da última linha entregue, sem OFFSET.
+     */
+    @Query("SELECT new br.com.smartmesquitaapi.pix.dto.PixChargeSummary(" +
+            "pc.pixChargeId, pc.localDonationId, pc.txid, pc.amountCents, pc.status, " +
+            "pc.createdAt, pc.expiresAt, pc.confirmedAt) " +
+            "FROM PixCharge pc WHERE pc.organization.id = :organizationId " +
+            "AND pc.status IN :statuses " +
+            "AND (pc.createdAt, pc.pixChargeId) < (:cursorCreatedAt, :cursorId) " +
+            "ORDER BY pc.createdAt DESC, pc.pixChargeId DESC")
+    List<PixChargeSummary> findHistoryPageAfter(
+            @Param("organizationId") UUID organizationId,
+            @Param("statuses") List<PixChargeStatus> statuses,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            Limit limit
+    );
+
+    /**
+     * Cobranças pendentes com o valor informado, criadas na janela (conciliação
+     * manual de um crédito sem txid). Usa idx_pix_charges_pending_amount.
+     */
+    @Query("SELECT new br.com.smartmesquitaapi.pix.dto.PixChargeSummary(" +
+            "pc.pixChargeId, pc.localDonationId, pc.txid, pc.amountCents, pc.status, " +
+            "pc.createdAt, pc.expiresAt, pc.confirmedAt) " +
+            "FROM PixCharge pc WHERE pc.status = 'PENDING' " +
+            "AND pc.amountCents = :amountCents " +
+            "AND pc.createdAt >= :startTime AND pc.createdAt < :endTime " +
+            "ORDER BY pc.createdAt ASC")
+    List<PixChargeSummary> findPendingSummariesByAmountAndTimeRange(
+            @Param("amountCents") Integer amountCents,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime,
+            Limit limit
+    );
+
+    /**
+     * Cobranças da organização criadas no intervalo [from, to), nos status informados
+     * (reconstrução do total do dia em LiveDonationCounterService)
+     */
+    @Query("SELECT new br.com.smartmesquitaapi.pix.dto.PixChargeSummary(" +
+            "pc.pixChargeId, pc.localDonationId, pc.txid, pc.amountCents, pc.status, " +
+            "pc.createdAt, pc.expiresAt, pc.confirmedAt) " +
+            "FROM PixCharge pc WHERE pc.organization.id = :organizationId " +
+            "AND pc.status IN :statuses " +
+            "AND pc.createdAt >= :from AND pc.createdAt < :to")
+    List<PixChargeSummary> findSummariesByOrganizationAndStatusesCreatedBetween(
+            @Param("organizationId") UUID organizationId,
+            @Param("statuses") List<PixChargeStatus> statuses,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    /**
+     * Cobranças pendentes mais recentes da organização (simulador de PSP)
+     */
+    @Query("SELECT new br.com.smartmesquitaapi.pix.reconciliation.ReconciliationCandidate(" +
+            "pc.pixChargeId, pc.txid, pc.amountCents, pc.status, pc.createdAt, pc.expiresAt) " +
+            "FROM PixCharge pc WHERE pc.organization.id = :organizationId AND pc.status = 'PENDING' " +
+            "ORDER BY pc.createdAt DESC")
+    List<ReconciliationCandidate> findRecentPendingCandidatesByOrganization(
+            @Param("organizationId") UUID organizationId,
+            Limit limit
+    );
+
+    @Query("SELECT new br.com.smartmesquitaapi.pix.dto.PixChargeSummary(" +
+            "pc.pixChargeId, pc.localDonationId, pc.txid, pc.amountCents, pc.status, " +
+            "pc.createdAt, pc.expiresAt, pc.confirmedAt) " +
+            "FROM PixCharge pc WHERE pc.txid = :txid AND pc.organization.id = :organizationId " +
+            "AND pc.createdAt = (SELECT k.createdAt FROM PixChargeKey k WHERE k.txid = :txid)")
+    Optional<PixChargeSummary> findSummaryByTxidAndOrganizationId(
+            @Param("txid") String txid,
+            @Param("organizationId") UUID organizationId
     );
-}
\ No newline at end of file
+}
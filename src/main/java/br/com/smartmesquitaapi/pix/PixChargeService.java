@@ -1,9 +1,13 @@
 package br.com.smartmesquitaapi.pix;
 
+import br.com.smartmesquitaapi.config.cache.CacheConfig;
 import br.com.smartmesquitaapi.organization.domain.Organization;
 import br.com.smartmesquitaapi.api.exception.auth.UserInactiveException;
 import br.com.smartmesquitaapi.organization.repository.OrganizationRepository;
+import br.com.smartmesquitaapi.pix.PixChargeMetrics.Stage;
+import br.com.smartmesquitaapi.pix.domain.ChargeOrigin;
 import br.com.smartmesquitaapi.pix.domain.PixCharge;
+import br.com.smartmesquitaapi.pix.domain.PixChargeKey;
 import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
 import br.com.smartmesquitaapi.user.domain.BankDetails;
 import br.com.smartmesquitaapi.user.domain.User;
@@ -11,18 +15,40 @@ import br.com.smartmesquitaapi.user.UserRepository;
 import br.com.smartmesquitaapi.pix.infrastructure.EmvPayloadGenerator;
 import br.com.smartmesquitaapi.pix.infrastructure.PixKeyValidator;
 import br.com.smartmesquitaapi.pix.infrastructure.QrcodeImageGenerator;
+import br.com.smartmesquitaapi.pix.infrastructure.TxidGenerator;
 import br.com.smartmesquitaapi.pix.dto.CreatePixChargeRequest;
 import br.com.smartmesquitaapi.pix.dto.CreatePixChargeResponse;
 import br.com.smartmesquitaapi.pix.dto.PixChargeDto;
+import br.com.smartmesquitaapi.pix.dto.PixChargeSummary;
+import br.com.smartmesquitaapi.pix.event.PixChargeStatusChangedEvent;
 import br.com.smartmesquitaapi.pix.exception.*;
+import br.com.smartmesquitaapi.pix.idempotency.ChargeIdempotencyCache;
+import br.com.smartmesquitaapi.pix.reconciliation.ReconciledPayment;
+import br.com.smartmesquitaapi.pix.webhook.PspPayment;
+import br.com.smartmesquitaapi.pix.webhook.WebhookOutcome;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -31,8 +57,15 @@ import java.util.UUID;
 public class PixChargeService {
 
     private final PixChargeRepository pixChargeRepository;
+    private final PixChargeKeyRepository pixChargeKeyRepository;
+    private final PixChargeInsertRepository pixChargeInsertRepository;
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChargeIdempotencyCache idempotencyCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TxidGenerator txidGenerator;
+    private final PixChargeMetrics metrics;
 
     // Configurações de validação
     private static final int MIN_AMOUNT_CENTS = 100;
@@ -40,82 +73,166 @@ public class PixChargeService {
     private static final int DEFAULT_EXPIRATION_MINUTES = 10;
     private static final int MAX_EXPIRATION_MINUTES = 60;
     private static final int MAX_CHARGES_PER_HOUR = 300;
+    private static final int MAX_TXID_ATTEMPTS = 3;
+    private static final int RECONCILIATION_CHUNK_SIZE = 500;
 
+    /**
+     * A varredura frequente de expiração só olha cobranças criadas nesse intervalo
+     * (bem acima da validade máxima); o restante fica para a varredura noturna.
+     */
+    private static final int EXPIRATION_SCAN_WINDOW_HOURS = 24;
 
-    @Transactional
+    private static final int MAX_PENDING_SEARCH_DAYS = 31;
+    private static final int MAX_PENDING_SEARCH_RESULTS = 50;
+
+    @Value("${pix.psp.name:static-key}")
+    private String pspName;
+
+    /**
+     * Nome e cidade do recebedor já sanitizados, por organização.
+     * Guarda os valores originais para recalcular se o cadastro mudar.
+     */
+    private final Map<UUID, CachedMerchant> merchantByOrganization = new ConcurrentHashMap<>();
+
+    private record CachedMerchant(String name, String city, EmvPayloadGenerator.Merchant merchant) {
+    }
+
+
+    /**
+     * Cria a cobrança ou devolve a já criada com a mesma idempotencyKey.
+     * Reenvios são respondidos pelo cache de idempotência, sem abrir transação.
+     */
     public CreatePixChargeResponse createPixCharge(
             Organization organizationParcial,
             UUID userId,
             CreatePixChargeRequest request,
             String clientIp
     ) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            metrics.time(Stage.VALIDATION, () -> validateRequest(request));
 
-        Organization organization = organizationRepository.findById(organizationParcial.getId())
-                .orElseThrow(() -> new IllegalStateException("Organização não encontrada no banco"));
+            CreatePixChargeResponse response = idempotencyCache.getOrCreate(
+                    organizationParcial.getId(),
+                    request.getIdempotencyKey(),
+                    () -> transactionTemplate.execute(status -> createOrFindCharge(organizationParcial, userId, request))
+            );
+            success = true;
+            return response;
+        } finally {
+            metrics.recordCreation(userId != null ? ChargeOrigin.APP : ChargeOrigin.TOTEM, success, System.nanoTime() - start);
+        }
+    }
 
-        validateOrganization(organization);
+    private CreatePixChargeResponse createOrFindCharge(
+            Organization organizationParcial,
+            UUID userId,
+            CreatePixChargeRequest request
+    ) {
+        Organization organization = metrics.time(Stage.ORG_LOAD, () -> organizationRepository
+                .findById(organizationParcial.getId())
+                .orElseThrow(() -> new IllegalStateException("Organização não encontrada no banco")));
+
+        metrics.time(Stage.ORG_VALIDATION, () -> validateOrganization(organization));
 
         log.info("Iniciando cobrança PIX - Org: {} | User: {} | Amount: {}",
                 organization.getId(),
                 userId != null ? userId : "TOTEM",
                 request.getAmountCents());
 
-        validateRequest(request);
+        String txid = metrics.time(Stage.TXID, () -> txidGenerator.generate(request.getIdempotencyKey()));
 
-        Optional<PixCharge> existingCharge = pixChargeRepository
-                .findByOrganizationIdAndIdempotencyKey(organization.getId(), request.getIdempotencyKey());
+        for (int attempt = 1; ; attempt++) {
+            PixCharge draft = newCharge(organization, userId, request, txid);
 
-        if (existingCharge.isPresent()) {
-            return buildResponse(existingCharge.get());
-        }
+            // Reenvio que escapou do cache de idempotência: a própria reserva da
+            // chave devolve a cobrança gravada, sem gerar EMV e QR Code de novo
+            // (e mesmo acima do limite por hora)
+            Optional<PixChargeInsertRepository.Result> reservation = metrics.time(Stage.IDEMPOTENCY_DB,
+                    () -> pixChargeInsertRepository.reserveOrFindExisting(draft, userId));
 
-        validateRateLimit(organization.getId());
+            if (reservation.isPresent() && !reservation.get().created()) {
+                return buildResponse(reservation.get().charge());
+            }
 
-        String txid = generateTxid(request.getIdempotencyKey());
+            if (reservation.isPresent()) {
+                // A exceção desfaz a reserva junto com a transação
+                if (metrics.time(Stage.LIMIT_CHECK, () -> isRateLimitExceeded(organization.getId()))) {
+                    throw new RateLimitExceededPixException("Limite de cobranças por hora excedido para esta organização");
+                }
 
-        if (pixChargeRepository.existsByTxid(txid)){
-            txid = generateTxid(UUID.randomUUID().toString());
-        }
+                PixCharge pixCharge = renderQrCode(organization, draft);
+                metrics.time(Stage.SAVE, () -> pixChargeInsertRepository.insert(pixCharge, userId));
+                eventPublisher.publishEvent(PixChargeStatusChangedEvent.of(pixCharge, null));
 
-        BankDetails bankDetails = organization.getBankDetails();
-        String emvPayload = generateEmvPayload(
-                bankDetails,
-                organization.getOrgName(),
-                txid,
-                request.getAmountCents()
-        );
+                log.info("Cobrança PIX criada - TxID: {} | Origem: {}", pixCharge.getTxid(), userId != null ? "APP" : "TOTEM");
 
-        String qrImageBase64 = QrcodeImageGenerator.generateForMobile(emvPayload);
+                return buildResponse(pixCharge);
+            }
 
-        LocalDateTime expiresAt = LocalDateTime.now()
+            // Nada reservado nem encontrado: outra requisição com a mesma chave
+            // acabou de criar a cobrança, ou o txid já é de outra organização
+            Optional<PixCharge> concurrent = pixChargeRepository
+                    .findByOrganizationIdAndIdempotencyKey(organization.getId(), request.getIdempotencyKey());
+            if (concurrent.isPresent()) {
+                return buildResponse(concurrent.get());
+            }
+            if (attempt == MAX_TXID_ATTEMPTS) {
+                throw new IllegalStateException("Não foi possível reservar um txid único para a cobrança");
+            }
+            // Chave aleatória: a estratégia legacy repetiria o mesmo txid
+            txid = metrics.time(Stage.TXID, () -> txidGenerator.generate(UUID.randomUUID().toString()));
+        }
+    }
+
+    /**
+     * Monta a cobrança para o txid informado, ainda sem QR Code e não gravada
+     */
+    private PixCharge newCharge(Organization organization, UUID userId, CreatePixChargeRequest request, String txid) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now
                 .plusMinutes(request.getExpiresMinutes() != null
                         ? request.getExpiresMinutes()
                         : DEFAULT_EXPIRATION_MINUTES);
 
-        var chargeBuilder = PixCharge.builder()
+        return PixCharge.builder()
+                .pixChargeId(UUID.randomUUID())
                 .organization(organization)
+                // Referência sem consulta: só o id é usado (origem da cobrança nos eventos)
+                .user(userId != null ? userRepository.getReferenceById(userId) : null)
                 .localDonationId(request.getLocalDonationId())
                 .idempotencyKey(request.getIdempotencyKey())
                 .txid(txid)
                 .amountCents(request.getAmountCents())
-                .qrPayload(emvPayload)
-                .qrImageBase64(qrImageBase64)
                 .status(PixChargeStatus.PENDING)
+                .createdAt(now)
                 .expiresAt(expiresAt)
-                .pspName("static-key");
-
-        if (userId != null) {
-            chargeBuilder.user(userRepository.getReferenceById(userId));
-        }
-
-        PixCharge pixCharge = chargeBuilder.build();
-        pixCharge = pixChargeRepository.save(pixCharge);
+                .pspName(pspName)
+                .build();
+    }
 
-        log.info("Cobrança PIX criada - TxID: {} | Origem: {}", txid, userId != null ? "APP" : "TOTEM");
+    /**
+     * Gera o payload EMV e a imagem do QR Code da cobrança com chave já reservada
+     */
+    private PixCharge renderQrCode(Organization organization, PixCharge charge) {
+        String emvPayload = metrics.time(Stage.EMV, () -> generateEmvPayload(
+                organization.getBankDetails(),
+                organization.getId(),
+                organization.getOrgName(),
+                charge.getTxid(),
+                charge.getAmountCents()
+        ));
 
-        return buildResponse(pixCharge);
+        charge.setQrPayload(emvPayload);
+        charge.setQrImageBase64(metrics.time(Stage.QR, () -> QrcodeImageGenerator.generateForMobile(emvPayload)));
+        return charge;
     }
 
+    /**
+     * Transacional porque o DTO lê o usuário (lazy) e o open-in-view está desligado
+     */
+    @Transactional
     public PixChargeDto getChargeByLocalId(String localDonationId) {
         PixCharge charge = pixChargeRepository.findByLocalDonationId(localDonationId)
                 .orElseThrow(() -> new ChargeNotFoundException("Cobrança não encontrada: " + localDonationId));
@@ -123,6 +240,14 @@ public class PixChargeService {
         return mapToDto(charge);
     }
 
+    /**
+     * Só cobranças em status terminal (PAID, CONFIRMED_MANUAL, CANCELLED) vão
+     * para o cache. Uma EXPIRED ainda pode virar PAID, e uma leitura que carregou
+     * a versão expirada pode gravá-la no cache depois da remoção feita pelo
+     * PixChargeCacheEvictor, deixando o valor velho até o TTL (24 h).
+     */
+    @Transactional
+    @Cacheable(cacheNames = CacheConfig.PIX_CHARGE_BY_TXID, key = "#txid", unless = "!#result.status.isTerminal()")
     public PixChargeDto getChargeByTxid(String txid) {
         PixCharge charge = pixChargeRepository.findByTxid(txid)
                 .orElseThrow(() -> new ChargeNotFoundException("Cobrança não encontrada: " + txid));
@@ -130,6 +255,22 @@ public class PixChargeService {
         return mapToDto(charge);
     }
 
+    /**
+     * Cobranças pendentes com o valor informado, criadas entre from e to.
+     * Apoio à conciliação manual de créditos recebidos sem txid.
+     */
+    public List<PixChargeSummary> findPendingChargesByAmount(int amountCents, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("Início do período deve ser anterior ao fim");
+        }
+        if (from.plusDays(MAX_PENDING_SEARCH_DAYS).isBefore(to)) {
+            throw new InvalidRequestException("Período máximo de busca: " + MAX_PENDING_SEARCH_DAYS + " dias");
+        }
+
+        return pixChargeRepository.findPendingSummariesByAmountAndTimeRange(
+                amountCents, from, to, Limit.of(MAX_PENDING_SEARCH_RESULTS));
+    }
+
     /**
      * Confirma manualmente uma cobrança (via comprovante)
      */
@@ -147,25 +288,158 @@ public class PixChargeService {
             throw new ChargeAlreadyProcessedException("Cobrança já foi processada");
         }
 
+        PixChargeStatus previousStatus = charge.getStatus();
         charge.confirmManually(confirmedByUserId, receiptUrl, notes);
-        charge = pixChargeRepository.save(charge);
+        try {
+            // Flush aqui: se o webhook ou a expiração mudou a cobrança desde a leitura, responde 409
+            charge = pixChargeRepository.saveAndFlush(charge);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ChargeAlreadyProcessedException("Cobrança foi alterada por outro processo; consulte o status atual");
+        }
+        eventPublisher.publishEvent(PixChargeStatusChangedEvent.of(charge, previousStatus));
 
         return mapToDto(charge);
     }
 
 
+    /**
+     * Expira as cobranças vencidas recentes (lê só as partições do período)
+     */
     @Transactional
     public int expireOldCharges() {
-        var expiredCharges = pixChargeRepository.findExpiredPendingCharges(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        return expire(pixChargeRepository.findExpiredPendingChargesCreatedAfter(
+                now, now.minusHours(EXPIRATION_SCAN_WINDOW_HOURS)));
+    }
+
+    /**
+     * Expira todas as cobranças vencidas, em qualquer partição
+     */
+    @Transactional
+    public int expireAllStaleCharges() {
+        return expire(pixChargeRepository.findExpiredPendingCharges(LocalDateTime.now()));
+    }
 
+    /**
+     * Se o webhook ou a conciliação pagar uma destas cobranças entre a leitura e
+     * o commit, o UPDATE da versão antiga falha e a transação inteira é desfeita
+     * (nenhum evento sai); a próxima execução do job não a encontra mais pendente.
+     */
+    private int expire(List<PixCharge> expiredCharges) {
         expiredCharges.forEach(charge -> {
+            PixChargeStatus previousStatus = charge.getStatus();
             charge.markAsExpired();
             pixChargeRepository.save(charge);
+            eventPublisher.publishEvent(PixChargeStatusChangedEvent.of(charge, previousStatus));
         });
 
         return expiredCharges.size();
     }
 
+    /**
+     * Marca como pagas as cobranças conciliadas por extrato.
+     *
+     * Carrega as cobranças em blocos (um SELECT ... IN por bloco) e publica os
+     * eventos só depois de alterar o bloco inteiro. Os UPDATEs saem em um único
+     * flush, como lote JDBC (hibernate.jdbc.batch_size); o rollup e o outbox
+     * acumulam os eventos e gravam antes do commit, um upsert por (org, dia,
+     * status) e um lote de INSERTs. Cobranças que deixaram de estar pendentes
+     * ou expiradas desde a leitura do extrato são ignoradas.
+     *
+     * @return quantidade de cobranças atualizadas
+     */
+    @Transactional
+    public int applyReconciledPayments(List<ReconciledPayment> payments) {
+        int updated = 0;
+
+        for (int from = 0; from < payments.size(); from += RECONCILIATION_CHUNK_SIZE) {
+            List<ReconciledPayment> chunk =
+                    payments.subList(from, Math.min(from + RECONCILIATION_CHUNK_SIZE, payments.size()));
+
+            Map<UUID, PixCharge> charges = pixChargeRepository
+                    .findAllById(chunk.stream().map(ReconciledPayment::chargeId).toList())
+                    .stream()
+                    .collect(Collectors.toMap(PixCharge::getPixChargeId, Function.identity()));
+
+            List<PixChargeStatusChangedEvent> events = new ArrayList<>(chunk.size());
+            for (ReconciledPayment payment : chunk) {
+                PixCharge charge = charges.get(payment.chargeId());
+                if (charge == null || (charge.getStatus() != PixChargeStatus.PENDING
+                        && charge.getStatus() != PixChargeStatus.EXPIRED)) {
+                    continue;
+                }
+
+                PixChargeStatus previousStatus = charge.getStatus();
+                charge.markAsPaid(payment.note(), payment.paidAt());
+                events.add(PixChargeStatusChangedEvent.of(charge, previousStatus));
+            }
+
+            events.forEach(eventPublisher::publishEvent);
+            updated += events.size();
+        }
+
+        return updated;
+    }
+
+    /**
+     * Dá baixa nos pagamentos notificados pelo PSP (webhook).
+     *
+     * Idempotente por txid: uma cobrança já paga não é alterada e a notificação
+     * é registrada como ALREADY_PAID. Cobranças expiradas também recebem a baixa,
+     * pois o pagamento pode ter sido feito no limite da validade do QR Code.
+     *
+     * @return resultado por id da caixa de entrada
+     */
+    @Transactional
+    public Map<Long, WebhookOutcome> applyPspPayments(List<PspPayment> payments) {
+        Map<String, PixCharge> charges = new HashMap<>();
+        List<String> txids = payments.stream().map(PspPayment::txid).filter(Objects::nonNull).distinct().toList();
+        if (!txids.isEmpty()) {
+            List<PixChargeKey> keys = pixChargeKeyRepository.findAllByTxidIn(txids);
+            if (!keys.isEmpty()) {
+                // Faixa de criação das cobranças notificadas: limita as partições lidas
+                LocalDateTime oldest = keys.stream().map(PixChargeKey::getCreatedAt).min(LocalDateTime::compareTo).get();
+                LocalDateTime newest = keys.stream().map(PixChargeKey::getCreatedAt).max(LocalDateTime::compareTo).get();
+                pixChargeRepository.findAllByTxidInAndCreatedAtBetween(txids, oldest, newest)
+                        .forEach(charge -> charges.put(charge.getTxid(), charge));
+            }
+        }
+
+        Map<Long, WebhookOutcome> outcomes = new LinkedHashMap<>();
+        List<PixChargeStatusChangedEvent> events = new ArrayList<>();
+
+        for (PspPayment payment : payments) {
+            PixCharge charge = payment.txid() != null ? charges.get(payment.txid()) : null;
+
+            WebhookOutcome outcome;
+            if (charge == null) {
+                outcome = WebhookOutcome.UNKNOWN_TXID;
+            } else if (charge.getStatus().isPaid()) {
+                outcome = WebhookOutcome.ALREADY_PAID;
+            } else if (charge.getStatus() == PixChargeStatus.CANCELLED) {
+                outcome = WebhookOutcome.NOT_PAYABLE;
+            } else if (charge.getAmountCents() != payment.amountCents()) {
+                outcome = WebhookOutcome.AMOUNT_MISMATCH;
+            } else {
+                PixChargeStatus previousStatus = charge.getStatus();
+                charge.markAsPaid("Pago via " + payment.pspName() + " - E2E " + payment.endToEndId(), payment.paidAt());
+                events.add(PixChargeStatusChangedEvent.of(charge, previousStatus));
+                outcome = WebhookOutcome.PAID;
+            }
+
+            if (outcome != WebhookOutcome.PAID) {
+                log.warn("Notificação PIX não aplicada - E2E: {} | TxID: {} | Resultado: {}",
+                        payment.endToEndId(), payment.txid(), outcome);
+            }
+            outcomes.put(payment.inboxId(), outcome);
+        }
+
+        // Eventos depois das alterações: um único flush em lote (ver applyReconciledPayments)
+        events.forEach(eventPublisher::publishEvent);
+
+        return outcomes;
+    }
+
     // ========== MÉTODOS PRIVADOS DE VALIDAÇÃO ==========
 
     private void validateRequest(CreatePixChargeRequest request) {
@@ -196,35 +470,19 @@ public class PixChargeService {
         }
     }
 
-    private void validateRateLimit(UUID organizationId) {
+    private boolean isRateLimitExceeded(UUID organizationId) {
 
-        Long recentCharges = pixChargeRepository.countByOrganizationIdAndStatus(organizationId, PixChargeStatus.PENDING);
+        Long recentCharges = pixChargeRepository.countPendingByOrganizationIdSince(
+                organizationId, LocalDateTime.now().minusHours(1));
 
-        if (recentCharges != null && recentCharges >= MAX_CHARGES_PER_HOUR) {
-            throw new RateLimitExceededPixException("Limite de cobranças por hora excedido para esta organização");
-        }
+        return recentCharges != null && recentCharges >= MAX_CHARGES_PER_HOUR;
     }
 
     // ========== MÉTODOS PRIVADOS DE GERAÇÃO ==========
 
-    private String generateTxid(String idempotencyKey) {
-
-        String txid = idempotencyKey.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
-
-        if (txid.length() > 25) {
-            txid = txid.substring(0, 25);
-        } else if (txid.length() < 10) {
-            txid = txid + System.currentTimeMillis();
-            if (txid.length() > 25) {
-                txid = txid.substring(0, 25);
-            }
-        }
-
-        return txid;
-    }
-
     private String generateEmvPayload(
             BankDetails bankDetails,
+            UUID organizationId,
             String merchantName,
             String txid,
             Integer amountCents
@@ -235,8 +493,7 @@ public class PixChargeService {
 
             return EmvPayloadGenerator.generate(
                     bankDetails.getPixKey(),
-                    merchantName,
-                    merchantCity,
+                    resolveMerchant(organizationId, merchantName, merchantCity),
                     txid,
                     amountCents
             );
@@ -245,6 +502,17 @@ public class PixChargeService {
         }
     }
 
+    private EmvPayloadGenerator.Merchant resolveMerchant(UUID organizationId, String merchantName, String merchantCity) {
+        CachedMerchant cached = merchantByOrganization.get(organizationId);
+        if (cached != null && cached.name().equals(merchantName) && cached.city().equals(merchantCity)) {
+            return cached.merchant();
+        }
+
+        EmvPayloadGenerator.Merchant merchant = EmvPayloadGenerator.Merchant.of(merchantName, merchantCity);
+        merchantByOrganization.put(organizationId, new CachedMerchant(merchantName, merchantCity, merchant));
+        return merchant;
+    }
+
     // ========== MÉTODOS DE MAPEAMENTO ==========
 
     private CreatePixChargeResponse buildResponse(PixCharge charge) {
@@ -0,0 +1,73 @@
+package br.com.smartmesquitaapi.pix.controller;
+
+import java.util.Locale;
+
+/**
+ * Negociação de Content-Encoding a partir do cabeçalho Accept-Encoding (RFC 9110, 12.5.3).
+ *
+ * Cada elemento é um token inteiro ("gzip", "x-gzip", "identity" ou "*") com
+ * q opcional; q=0 significa recusado. Um token explícito vale mais que o "*".
+ * O gzip só é escolhido se for aceito e o cliente não tiver dado peso maior a
+ * identity.
+ */
+final class AcceptEncoding {
+
+    private static final double NOT_LISTED = -1;
+
+    private AcceptEncoding() {
+    }
+
+    static boolean acceptsGzip(String header) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+
+        double gzip = NOT_LISTED;
+        double identity = NOT_LISTED;
+        double wildcard = NOT_LISTED;
+
+        for (String element : header.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.isEmpty()) {
+                continue;
+            }
+
+            double q = quality(parts);
+            if (Double.isNaN(q)) {
+                continue;
+            }
+
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzip = Math.max(gzip, q);
+                case "identity" -> identity = q;
+                case "*" -> wildcard = q;
+                default -> {
+                }
+            }
+        }
+
+        double gzipQuality = gzip != NOT_LISTED ? gzip : wildcard;
+        return gzipQuality > 0 && (identity == NOT_LISTED || gzipQuality >= identity);
+    }
+
+    /**
+     * Valor de q do elemento (1 quando ausente), ou NaN se for inválido
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            int equals = parameter.indexOf('=');
+            if (equals < 0 || !parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                continue;
+            }
+            try {
+                double q = Double.parseDouble(parameter.substring(equals + 1).trim());
+                return q >= 0 && q <= 1 ? q : Double.NaN;
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        return 1;
+    }
+}
@@ -4,13 +4,24 @@ import br.com.smartmesquitaapi.api.dto.UpdateStatusRequest;
 import br.com.smartmesquitaapi.pix.PixChargeService;
 import br.com.smartmesquitaapi.user.domain.User;
 import br.com.smartmesquitaapi.pix.dto.PixChargeDto;
+import br.com.smartmesquitaapi.pix.dto.PixChargeSummary;
+import br.com.smartmesquitaapi.pix.dto.StatementImportResult;
+import br.com.smartmesquitaapi.pix.reconciliation.StatementFormat;
+import br.com.smartmesquitaapi.pix.reconciliation.StatementImportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -30,6 +41,7 @@ import java.util.UUID;
 public class AdminPixController {
 
     private final PixChargeService pixChargeService;
+    private final StatementImportService statementImportService;
 
     /**
      * Força expiração de cobranças pendentes antigas
@@ -41,7 +53,7 @@ public class AdminPixController {
     ) {
         log.info("POST /api/admin/pix/expire-old-charges - Admin: {}", authenticatedUser.getUserId());
 
-        int expiredCount = pixChargeService.expireOldCharges();
+        int expiredCount = pixChargeService.expireAllStaleCharges();
 
         return ResponseEntity.ok(Map.of(
                 "message", "Cobranças expiradas com sucesso",
@@ -65,6 +77,23 @@ public class AdminPixController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Lista cobranças pendentes com o valor informado, para localizar a cobrança
+     * de um crédito recebido sem txid
+     */
+    @GetMapping("/charges/pending")
+    public ResponseEntity<List<PixChargeSummary>> findPendingChargesByAmount(
+            @RequestParam Integer amountCents,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal User authenticatedUser
+    ) {
+        log.debug("GET /api/admin/pix/charges/pending - User: {} | Valor: {} | Período: {} a {}",
+                authenticatedUser.getUserId(), amountCents, from, to);
+
+        return ResponseEntity.ok(pixChargeService.findPendingChargesByAmount(amountCents, from, to));
+    }
+
     /**
      * Altera o status de uma cobrança manualmente (uso com cautela)
      */
@@ -89,19 +118,31 @@ public class AdminPixController {
     }
 
     /**
-     * Endpoint para importação de extrato bancário (futuro)
+     * Importa um extrato bancário (OFX ou CSV) e concilia os créditos com as
+     * cobranças pendentes ou expiradas da organização
      */
-    @PostMapping("/import-extract")
+    @PostMapping(value = "/import-extract", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Map<String, Object>> importExtract(
+    public ResponseEntity<StatementImportResult> importExtract(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam UUID organizationId,
+            @RequestParam(required = false) StatementFormat format,
             @AuthenticationPrincipal User authenticatedUser
-    ) {
-        log.info("POST /api/admin/pix/import-extract - Admin: {}", authenticatedUser.getUserId());
+    ) throws IOException {
+        StatementFormat resolvedFormat = format != null
+                ? format
+                : StatementFormat.fromFilename(file.getOriginalFilename());
 
-        // TODO: Implementar importação de extrato
+        log.info("POST /api/admin/pix/import-extract - Admin: {} | Org: {} | Arquivo: {} | Formato: {} | Tamanho: {} bytes",
+                authenticatedUser.getUserId(),
+                organizationId,
+                file.getOriginalFilename(),
+                resolvedFormat,
+                file.getSize()
+        );
 
-        return ResponseEntity.ok(Map.of(
-                "message", "Funcionalidade em desenvolvimento"
-        ));
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(statementImportService.importStatement(organizationId, resolvedFormat, input));
+        }
     }
-}
\ No newline at end of file
+}
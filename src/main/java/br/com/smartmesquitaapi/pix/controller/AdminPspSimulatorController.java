@@ -0,0 +1,42 @@
+package br.com.smartmesquitaapi.pix.controller;
+
+import br.com.smartmesquitaapi.pix.dto.PspSimulationRequest;
+import br.com.smartmesquitaapi.pix.dto.PspSimulationResult;
+import br.com.smartmesquitaapi.pix.webhook.PspSimulator;
+import br.com.smartmesquitaapi.user.domain.User;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Dispara o PSP simulado (somente com pix.webhook.simulator.enabled=true)
+ */
+@RestController
+@RequestMapping("/api/admin/pix/simulator")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "pix.webhook.simulator.enabled", havingValue = "true")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminPspSimulatorController {
+
+    private final PspSimulator pspSimulator;
+
+    /**
+     * Paga as cobranças pendentes da organização via webhook, na taxa pedida
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<PspSimulationResult> replay(
+            @Valid @RequestBody PspSimulationRequest request,
+            @AuthenticationPrincipal User authenticatedUser
+    ) {
+        log.info("POST /api/admin/pix/simulator/replay - Admin: {} | Org: {} | Count: {} | Rate: {}/s",
+                authenticatedUser.getUserId(), request.getOrganizationId(), request.getCount(), request.getRatePerSecond());
+
+        return ResponseEntity.ok(pspSimulator.replay(request));
+    }
+}
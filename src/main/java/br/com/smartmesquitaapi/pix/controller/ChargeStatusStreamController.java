@@ -0,0 +1,69 @@
+package br.com.smartmesquitaapi.pix.controller;
+
+import br.com.smartmesquitaapi.organization.domain.Organization;
+import br.com.smartmesquitaapi.pix.stream.ChargeStatusStreamService;
+import br.com.smartmesquitaapi.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller de acompanhamento de status de cobranças via Server-Sent Events.
+ * Substitui o polling dos totens por notificações empurradas pelo servidor.
+ */
+@RestController
+@RequestMapping("/api/v1/donations")
+@RequiredArgsConstructor
+@Slf4j
+public class ChargeStatusStreamController {
+
+    private final ChargeStatusStreamService chargeStatusStreamService;
+
+    /**
+     * Mudanças de status de todas as cobranças da organização
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrganization(Authentication authentication) {
+        Organization organization = resolveOrganization(authentication);
+
+        log.debug("GET /api/v1/donations/stream - Org: {}", organization.getId());
+
+        return chargeStatusStreamService.streamOrganization(organization.getId());
+    }
+
+    /**
+     * Mudanças de status de uma cobrança; encerra ao atingir status final
+     */
+    @GetMapping(value = "/txid/{txid}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCharge(@PathVariable String txid, Authentication authentication) {
+        Organization organization = resolveOrganization(authentication);
+
+        log.debug("GET /api/v1/donations/txid/{}/stream - Org: {}", txid, organization.getId());
+
+        return chargeStatusStreamService.streamCharge(organization.getId(), txid);
+    }
+
+    private Organization resolveOrganization(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+
+        Organization organization;
+        if (principal instanceof User user) {
+            organization = user.getOrganization();
+        } else if (principal instanceof Organization org) {
+            organization = org;
+        } else {
+            throw new IllegalStateException("Tipo de autenticação não suportado");
+        }
+
+        if (organization == null) {
+            throw new IllegalStateException("Nenhuma organização vinculada à requisição");
+        }
+        return organization;
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.smartmesquitaapi.pix.controller;
+
+import br.com.smartmesquitaapi.organization.exception.OrganizationNotFoundException;
+import br.com.smartmesquitaapi.pix.ChargeExportService;
+import br.com.smartmesquitaapi.pix.ChargeHistoryService;
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import br.com.smartmesquitaapi.pix.dto.ChargeExportFormat;
+import br.com.smartmesquitaapi.pix.dto.ChargeHistoryPage;
+import br.com.smartmesquitaapi.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Controller para o histórico de cobranças da organização do usuário autenticado
+ */
+@RestController
+@RequestMapping("/api/v1/organizations/me/charges")
+@RequiredArgsConstructor
+@Slf4j
+public class OrganizationChargeController {
+
+    private final ChargeHistoryService chargeHistoryService;
+    private final ChargeExportService chargeExportService;
+
+    /**
+     * Lista as cobranças mais recentes primeiro, paginadas por cursor.
+     * Para a próxima página, envie o nextCursor da resposta anterior.
+     */
+    @GetMapping
+    public ResponseEntity<ChargeHistoryPage> getCharges(
+            @AuthenticationPrincipal User authenticatedUser,
+            @RequestParam(required = false) List<PixChargeStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        log.debug("GET /api/v1/organizations/me/charges - User: {} | Status: {} | Cursor: {}",
+                authenticatedUser.getUserId(), status, cursor);
+
+        ChargeHistoryPage page = chargeHistoryService.getHistory(
+                resolveOrganizationId(authenticatedUser),
+                status,
+                cursor,
+                limit
+        );
+
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Exporta as doações do período em CSV ou NDJSON, em streaming.
+     * Comprime com gzip quando o Accept-Encoding aceita gzip (ver {@link AcceptEncoding}).
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCharges(
+            @AuthenticationPrincipal User authenticatedUser,
+            @RequestParam(defaultValue = "CSV") ChargeExportFormat format,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<PixChargeStatus> status,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        UUID organizationId = resolveOrganizationId(authenticatedUser);
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+
+        log.info("GET /api/v1/organizations/me/charges/export - User: {} | Formato: {} | Período: {} a {}",
+                authenticatedUser.getUserId(), format, from, to);
+
+        StreamingResponseBody body = chargeExportService.export(organizationId, format, from, to, status, gzip);
+
+        String filename = "doacoes-" + from + "-" + to + "." + format.getExtension();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType() + ";charset=UTF-8")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                // A resposta depende do Accept-Encoding mesmo quando sai sem compressão
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(body);
+    }
+
+    private UUID resolveOrganizationId(User authenticatedUser) {
+        if (authenticatedUser.getOrganization() == null) {
+            throw new OrganizationNotFoundException("Usuário não possui organização associada");
+        }
+        return authenticatedUser.getOrganization().getId();
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.smartmesquitaapi.pix.controller;
+
+import br.com.smartmesquitaapi.pix.webhook.PixWebhookService;
+import br.com.smartmesquitaapi.pix.webhook.WebhookSignatureVerifier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Webhook de pagamentos do PSP. Autenticado pela assinatura HMAC do corpo,
+ * não por usuário.
+ */
+@RestController
+@RequestMapping("/api/v1/webhooks/pix")
+@RequiredArgsConstructor
+@Slf4j
+public class PixWebhookController {
+
+    private final PixWebhookService pixWebhookService;
+
+    /**
+     * Responde 202 assim que as notificações estão gravadas; a baixa é assíncrona
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Integer>> receive(
+            @RequestBody byte[] body,
+            @RequestHeader(value = WebhookSignatureVerifier.HEADER, required = false) String signature
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(pixWebhookService.ingest(body, signature));
+    }
+}
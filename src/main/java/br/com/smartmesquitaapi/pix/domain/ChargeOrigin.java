@@ -0,0 +1,9 @@
+package br.com.smartmesquitaapi.pix.domain;
+
+/**
+ * Quem criou a cobrança: um usuário logado no app ou um totem (sem usuário)
+ */
+public enum ChargeOrigin {
+    APP,
+    TOTEM
+}
@@ -8,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -16,15 +17,25 @@ import java.util.UUID;
 /**
  * Entidade que representa uma cobrança PIX gerada pelo sistema.
  * Cada cobrança está associada a um User (mesquita) e contém o QR Code gerado.
+ *
+ * A tabela é particionada por mês de created_at (ver V009); a unicidade de
+ * txid e da chave de idempotência é garantida por {@link PixChargeKey}.
+ * Os índices parciais de cobranças pendentes (WHERE status = 'PENDING') ficam
+ * só na migration V010, pois @Index não expressa predicado.
+ *
+ * Vários escritores mudam o status (expiração, webhook, conciliação, confirmação
+ * manual): {@link #version} faz o UPDATE de quem leu uma versão antiga falhar
+ * (OptimisticLockingFailureException) em vez de sobrescrever a mudança do outro.
  */
 @Entity
 @Table(
         name = "pix_charges",
         indexes = {
-                @Index(name = "idx_user_idempotency", columnList = "user_id,idempotency_key", unique = true),
                 @Index(name = "idx_txid", columnList = "txid"),
-                @Index(name = "idx_status_expires", columnList = "status,expires_at"),
-                @Index(name = "idx_local_donation", columnList = "local_donation_id")
+                @Index(name = "idx_local_donation", columnList = "local_donation_id"),
+                @Index(name = "idx_created_at", columnList = "created_at DESC"),
+                @Index(name = "idx_user_created", columnList = "user_id,created_at DESC"),
+                @Index(name = "idx_pix_charges_org_created", columnList = "organization_id,created_at DESC,id DESC")
         }
 )
 @Data
@@ -35,6 +46,7 @@ public class PixCharge {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
     private UUID pixChargeId;
 
 
@@ -55,7 +67,7 @@ public class PixCharge {
     /**
      * Chave de idempotência gerada pelo cliente (totem).
      * Garante que múltiplas requisições com a mesma chave não criem cobranças duplicadas.
-     * UNIQUE constraint combinado com user_id.
+     * UNIQUE combinado com organization_id (em pix_charge_keys).
      */
     @Column(name = "idempotency_key", nullable = false, length = 100)
     private String idempotencyKey;
@@ -63,8 +75,9 @@ public class PixCharge {
     /**
      * Transaction ID do PIX (txid) - identificador único da transação.
      * Máximo 35 caracteres conforme especificação PIX.
+     * Único via pix_charge_keys (a tabela particionada não aceita UNIQUE só em txid).
      */
-    @Column(name = "txid", nullable = false, unique = true, length = 35)
+    @Column(name = "txid", nullable = false, length = 35)
     private String txid;
 
     /**
@@ -100,9 +113,11 @@ public class PixCharge {
     private String pspName = "static-key";
 
     /**
-     * Data/hora de criação da cobrança
+     * Data/hora de criação da cobrança (chave de partição).
+     * O Hibernate inclui a coluna no WHERE de UPDATE/DELETE para ler uma só partição.
      */
     @CreationTimestamp
+    @PartitionKey
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -112,6 +127,14 @@ public class PixCharge {
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
 
+    /**
+     * Versão da linha (controle de concorrência otimista, ver V012)
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    @Builder.Default
+    private Long version = 0L;
+
     /**
      * Data/hora da última atualização
      */
@@ -183,8 +206,15 @@ public class PixCharge {
      * Marca como pago (reconciliação automática)
      */
     public void markAsPaid(String notes) {
+        markAsPaid(notes, LocalDateTime.now());
+    }
+
+    /**
+     * Marca como pago informando o momento do pagamento (ex.: data do extrato)
+     */
+    public void markAsPaid(String notes, LocalDateTime paidAt) {
         this.status = PixChargeStatus.PAID;
-        this.confirmedAt = LocalDateTime.now();
+        this.confirmedAt = paidAt;
         this.notes = notes;
         this.updatedAt = LocalDateTime.now();
     }
@@ -198,6 +228,13 @@ public class PixCharge {
         this.updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Origem da cobrança (não inicializa o usuário, só verifica a referência)
+     */
+    public ChargeOrigin getOrigin() {
+        return user != null ? ChargeOrigin.APP : ChargeOrigin.TOTEM;
+    }
+
     /**
      * Retorna o valor em reais (formato decimal)
      */
@@ -0,0 +1,60 @@
+package br.com.smartmesquitaapi.pix.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Chaves únicas de uma cobrança (tabela pix_charge_keys).
+ *
+ * Gravada no mesmo comando que insere em pix_charges (ver
+ * PixChargeInsertRepository), que é particionada por mês e não consegue
+ * garantir unicidade global sozinha. O created_at
+ * guardado aqui permite localizar a partição de uma cobrança pelo txid,
+ * pela chave de idempotência ou pelo localDonationId.
+ */
+@Entity
+@Immutable
+@Table(
+        name = "pix_charge_keys",
+        indexes = {
+                @Index(name = "idx_charge_keys_org_idempotency", columnList = "organization_id,idempotency_key", unique = true),
+                @Index(name = "idx_charge_keys_local_donation", columnList = "local_donation_id"),
+                @Index(name = "idx_charge_keys_created", columnList = "created_at")
+        }
+)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PixChargeKey {
+
+    @Id
+    @Column(name = "txid", length = 35)
+    private String txid;
+
+    @Column(name = "charge_id", nullable = false)
+    private UUID chargeId;
+
+    @Column(name = "organization_id", nullable = false)
+    private UUID organizationId;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    /**
+     * Única por organização; nula nas duplicatas anteriores à V011
+     */
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "local_donation_id", length = 100)
+    private String localDonationId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
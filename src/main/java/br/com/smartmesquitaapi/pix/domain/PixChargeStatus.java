@@ -37,6 +37,14 @@ public enum PixChargeStatus {
         return this == PAID || this == CONFIRMED_MANUAL || this == EXPIRED || this == CANCELLED;
     }
 
+    /**
+     * Status que não muda mais depois de gravado. EXPIRED é final, mas não
+     * terminal: um pagamento tardio ainda leva a cobrança para PAID.
+     */
+    public boolean isTerminal() {
+        return this == PAID || this == CONFIRMED_MANUAL || this == CANCELLED;
+    }
+
     /**
      * Verifica se o status indica pagamento confirmado
      */
@@ -0,0 +1,37 @@
+package br.com.smartmesquitaapi.pix.dto;
+
+import br.com.smartmesquitaapi.pix.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição no histórico de cobranças: (createdAt, id) da última linha entregue.
+ * Trafega para o cliente como uma string Base64 URL-safe opaca.
+ */
+public record ChargeCursor(LocalDateTime createdAt, UUID id) {
+
+    public static ChargeCursor of(PixChargeSummary last) {
+        return new ChargeCursor(last.getCreatedAt(), last.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChargeCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new ChargeCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.smartmesquitaapi.pix.dto;
+
+/**
+ * Formatos suportados na exportação de doações
+ */
+public enum ChargeExportFormat {
+
+    /**
+     * Valores separados por vírgula, com cabeçalho
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * Um objeto JSON por linha (newline-delimited JSON)
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ChargeExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.smartmesquitaapi.pix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página do histórico de cobranças (paginação por cursor)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChargeHistoryPage {
+
+    private List<PixChargeSummary> items;
+
+    /**
+     * Cursor opaco para buscar a próxima página (null quando não há mais itens)
+     */
+    private String nextCursor;
+
+    private boolean hasMore;
+
+}
@@ -0,0 +1,31 @@
+package br.com.smartmesquitaapi.pix.dto;
+
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projeção enxuta de uma cobrança PIX para listagens e exportações.
+ * Não carrega qrPayload nem qrImageBase64.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PixChargeSummary {
+
+    private UUID id;
+    private String localDonationId;
+    private String txid;
+    private Integer amountCents;
+    private PixChargeStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+    private LocalDateTime confirmedAt;
+
+}
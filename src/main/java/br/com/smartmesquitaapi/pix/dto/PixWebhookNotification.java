@@ -0,0 +1,31 @@
+package br.com.smartmesquitaapi.pix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notificação de PIX recebido, no formato do webhook da API PIX do Banco Central
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PixWebhookNotification {
+
+    private String endToEndId;
+    private String txid;
+
+    /**
+     * Valor em reais, com duas casas decimais (ex.: "50.00")
+     */
+    private String valor;
+
+    /**
+     * Instante do pagamento em ISO-8601 (ex.: "2025-11-26T14:30:00.000Z")
+     */
+    private String horario;
+
+    private String infoPagador;
+}
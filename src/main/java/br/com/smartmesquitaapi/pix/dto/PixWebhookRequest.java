@@ -0,0 +1,20 @@
+package br.com.smartmesquitaapi.pix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Corpo do webhook do PSP: um ou mais PIX recebidos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PixWebhookRequest {
+
+    private List<PixWebhookNotification> pix;
+}
@@ -0,0 +1,57 @@
+package br.com.smartmesquitaapi.pix.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Parâmetros de uma rodada do simulador de PSP
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PspSimulationRequest {
+
+    /**
+     * Organização cujas cobranças pendentes serão pagas; nenhuma outra é tocada
+     */
+    @NotNull
+    private UUID organizationId;
+
+    /**
+     * Quantidade de notificações (pagamentos) a enviar
+     */
+    @Builder.Default
+    @Min(1) @Max(1_000_000)
+    private int count = 1000;
+
+    /**
+     * Taxa alvo de notificações por segundo
+     */
+    @Builder.Default
+    @Min(1) @Max(100_000)
+    private int ratePerSecond = 1000;
+
+    /**
+     * Notificações por requisição HTTP
+     */
+    @Builder.Default
+    @Min(1) @Max(1000)
+    private int batchSize = 100;
+
+    /**
+     * Fração das notificações reenviadas (simula retentativas do PSP)
+     */
+    @Builder.Default
+    @DecimalMin("0.0") @DecimalMax("1.0")
+    private double duplicateRatio = 0.0;
+}
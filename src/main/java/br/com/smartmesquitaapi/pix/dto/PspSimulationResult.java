@@ -0,0 +1,34 @@
+package br.com.smartmesquitaapi.pix.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de uma rodada do simulador de PSP
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PspSimulationResult {
+
+    /**
+     * Notificações para cobranças pendentes reais
+     */
+    private int pendingChargesPaid;
+
+    /**
+     * Notificações com txid inexistente (completam a carga quando faltam pendentes)
+     */
+    private int syntheticNotifications;
+
+    private int duplicatesSent;
+    private int notificationsSent;
+    private int requestsSent;
+    private int requestsFailed;
+    private long enqueued;
+    private long durationMs;
+    private double notificationsPerSecond;
+}
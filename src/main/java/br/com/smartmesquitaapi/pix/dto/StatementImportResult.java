@@ -0,0 +1,35 @@
+package br.com.smartmesquitaapi.pix.dto;
+
+import br.com.smartmesquitaapi.pix.reconciliation.StatementFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado da importação de um extrato bancário
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementImportResult {
+
+    private StatementFormat format;
+    private int totalEntries;
+    private int creditEntries;
+    private int candidateCharges;
+    private int matchedByTxid;
+    private int matchedByAmount;
+    private int updatedCharges;
+    private int unmatchedCredits;
+
+    /**
+     * Primeiros lançamentos de crédito sem cobrança correspondente (linha e referência)
+     */
+    private List<String> unmatchedSamples;
+
+    private long durationMs;
+}
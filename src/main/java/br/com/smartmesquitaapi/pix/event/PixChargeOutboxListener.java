@@ -0,0 +1,25 @@
+package br.com.smartmesquitaapi.pix.event;
+
+import br.com.smartmesquitaapi.outbox.OutboxWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra cada mudança de status de cobrança no outbox, na mesma transação
+ * da mudança. Os consumidores (SSE, contadores ao vivo, Redis Stream) leem
+ * do outbox, fora do caminho da requisição.
+ */
+@Component
+@RequiredArgsConstructor
+public class PixChargeOutboxListener {
+
+    public static final String AGGREGATE_TYPE = "pix-charge";
+
+    private final OutboxWriter outboxWriter;
+
+    @EventListener
+    public void onStatusChanged(PixChargeStatusChangedEvent event) {
+        outboxWriter.append(AGGREGATE_TYPE, event.chargeId(), PixChargeStatusChangedEvent.TYPE, event);
+    }
+}
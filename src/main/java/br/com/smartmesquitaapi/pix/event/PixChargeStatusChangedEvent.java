@@ -0,0 +1,52 @@
+package br.com.smartmesquitaapi.pix.event;
+
+import br.com.smartmesquitaapi.pix.domain.ChargeOrigin;
+import br.com.smartmesquitaapi.pix.domain.PixCharge;
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento publicado sempre que uma cobrança PIX muda de status
+ * (inclusive na criação, quando previousStatus é null).
+ *
+ * É publicado de forma síncrona, dentro da transação que alterou a cobrança,
+ * e copiado para o outbox (tipo {@link #TYPE}) para os consumidores assíncronos.
+ */
+public record PixChargeStatusChangedEvent(
+        UUID chargeId,
+        UUID organizationId,
+        String txid,
+        String localDonationId,
+        Integer amountCents,
+        ChargeOrigin origin,
+        LocalDateTime chargeCreatedAt,
+        PixChargeStatus previousStatus,
+        PixChargeStatus newStatus,
+        LocalDateTime occurredAt
+) {
+
+    public static final String TYPE = "PixChargeStatusChanged";
+
+    public static PixChargeStatusChangedEvent of(PixCharge charge, PixChargeStatus previousStatus) {
+        return new PixChargeStatusChangedEvent(
+                charge.getPixChargeId(),
+                charge.getOrganization().getId(),
+                charge.getTxid(),
+                charge.getLocalDonationId(),
+                charge.getAmountCents(),
+                charge.getOrigin(),
+                charge.getCreatedAt(),
+                previousStatus,
+                charge.getStatus(),
+                LocalDateTime.now()
+        );
+    }
+
+    @JsonIgnore
+    public boolean isCreation() {
+        return previousStatus == null;
+    }
+}
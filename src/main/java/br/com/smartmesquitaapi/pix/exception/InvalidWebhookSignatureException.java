@@ -0,0 +1,12 @@
+package br.com.smartmesquitaapi.pix.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Webhook recebido sem assinatura válida do PSP
+ */
+public class InvalidWebhookSignatureException extends PixException {
+    public InvalidWebhookSignatureException(String message) {
+        super(message, HttpStatus.UNAUTHORIZED);
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.smartmesquitaapi.pix.idempotency;
+
+import br.com.smartmesquitaapi.pix.PixChargeMetrics;
+import br.com.smartmesquitaapi.pix.dto.CreatePixChargeResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cache de idempotência da criação de cobranças, por (organização, idempotencyKey).
+ *
+ * A resposta da criação fica no Redis até a cobrança expirar, então o reenvio
+ * de um totem custa um GET, sem tocar no banco. Requisições simultâneas com a
+ * mesma chave disputam um lock (SET NX): só a primeira cria a cobrança, as
+ * demais aguardam a resposta ser gravada no cache.
+ *
+ * O banco continua sendo a garantia de idempotência: sem Redis, ou se a espera
+ * esgotar, a criação segue direto e o INSERT ... ON CONFLICT resolve duplicatas.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChargeIdempotencyCache {
+
+    private static final String KEY_PREFIX = "pix:idem:";
+    private static final String LOCK_SUFFIX = ":lock";
+
+    /**
+     * Só remove o lock se ainda for do mesmo dono (o TTL pode ter expirado)
+     */
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    // Respostas em Smile (RedisConfig); o lock continua em texto
+    private final RedisTemplate<String, CreatePixChargeResponse> chargeResponseRedisTemplate;
+    private final PixChargeMetrics metrics;
+
+    @Value("${pix.idempotency.lock-ttl-ms:10000}")
+    private long lockTtlMs;
+
+    @Value("${pix.idempotency.wait-timeout-ms:5000}")
+    private long waitTimeoutMs;
+
+    @Value("${pix.idempotency.poll-interval-ms:50}")
+    private long pollIntervalMs;
+
+    /**
+     * Devolve a resposta em cache ou executa a criação (uma vez por chave) e guarda o resultado.
+     * O creator deve confirmar a transação antes de retornar.
+     */
+    public CreatePixChargeResponse getOrCreate(
+            UUID organizationId,
+            String idempotencyKey,
+            Supplier<CreatePixChargeResponse> creator
+    ) {
+        String key = KEY_PREFIX + organizationId + ":" + idempotencyKey;
+        String lockKey = key + LOCK_SUFFIX;
+        String token = UUID.randomUUID().toString();
+
+        // Etapa "idempotency_cache": consulta ao cache e espera pelo lock, sem a criação
+        long lookupStart = System.nanoTime();
+        boolean locked;
+        try {
+            long deadline = System.nanoTime() + Duration.ofMillis(waitTimeoutMs).toNanos();
+            while (true) {
+                CreatePixChargeResponse cached = read(key);
+                if (cached != null) {
+                    metrics.record(PixChargeMetrics.Stage.IDEMPOTENCY_CACHE, System.nanoTime() - lookupStart);
+                    return cached;
+                }
+                locked = Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                        .setIfAbsent(lockKey, token, Duration.ofMillis(lockTtlMs)));
+                if (locked) {
+                    break;
+                }
+                if (System.nanoTime() - deadline > 0) {
+                    log.warn("Tempo de espera esgotado pela cobrança em criação - Chave: {}", key);
+                    break;
+                }
+                Thread.sleep(pollIntervalMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return creator.get();
+        } catch (Exception e) {
+            log.warn("Cache de idempotência indisponível, seguindo sem cache: {}", e.getMessage());
+            metrics.record(PixChargeMetrics.Stage.IDEMPOTENCY_CACHE, System.nanoTime() - lookupStart);
+            return creator.get();
+        }
+        metrics.record(PixChargeMetrics.Stage.IDEMPOTENCY_CACHE, System.nanoTime() - lookupStart);
+
+        if (!locked) {
+            return creator.get();
+        }
+
+        try {
+            CreatePixChargeResponse response = creator.get();
+            store(key, response);
+            return response;
+        } finally {
+            releaseLock(lockKey, token);
+        }
+    }
+
+    private CreatePixChargeResponse read(String key) {
+        try {
+            return chargeResponseRedisTemplate.opsForValue().get(key);
+        } catch (SerializationException e) {
+            log.warn("Resposta de idempotência inválida no Redis - Chave: {}", key);
+            return null;
+        }
+    }
+
+    /**
+     * Guarda a resposta até a cobrança expirar
+     */
+    private void store(String key, CreatePixChargeResponse response) {
+        long ttlMs = response.getExpiresAt() - System.currentTimeMillis();
+        if (ttlMs <= 0) {
+            return;
+        }
+        try {
+            chargeResponseRedisTemplate.opsForValue().set(key, response, Duration.ofMillis(ttlMs));
+        } catch (Exception e) {
+            log.warn("Falha ao gravar resposta de idempotência no Redis - Chave: {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void releaseLock(String lockKey, String token) {
+        try {
+            stringRedisTemplate.execute(RELEASE_LOCK, List.of(lockKey), token);
+        } catch (Exception e) {
+            // O lock expira sozinho pelo TTL
+            log.warn("Falha ao liberar lock de idempotência - Chave: {}: {}", lockKey, e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.smartmesquitaapi.pix.infrastructure;
 
 import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
 
 /**
  * Gerador de payload EMV (QR Code dinâmico PIX) seguindo a especificação do Banco Central.
@@ -40,6 +41,39 @@ public class EmvPayloadGenerator {
     private static final String TRANSACTION_CURRENCY_VALUE = "986"; // BRL (Real Brasileiro)
     private static final String COUNTRY_CODE_VALUE = "BR";
 
+    private static final int MERCHANT_NAME_MAX_LENGTH = 25;
+    private static final int MERCHANT_CITY_MAX_LENGTH = 15;
+
+    /**
+     * Tabela de sanitização por caractere UTF-16: o caractere ASCII permitido
+     * (letra, dígito, espaço em branco ou hífen) que sobra da decomposição NFD
+     * sem as marcas, ou 0 se nada sobra. Nenhum caractere produz mais de um
+     * permitido, e nenhum caractere fora do BMP produz algum (os surrogates são
+     * descartados), então um laço pela tabela equivale ao Normalizer + regex.
+     */
+    private static final char[] SANITIZE_TABLE = buildSanitizeTable();
+
+    /**
+     * Nome e cidade do recebedor já sanitizados e truncados (tags 59 e 60).
+     * Dependem só do cadastro da organização, então podem ser reaproveitados
+     * entre cobranças.
+     */
+    public record Merchant(String name, String city) {
+
+        public static Merchant of(String merchantName, String merchantCity) {
+            if (merchantName == null || merchantName.isBlank()) {
+                throw new IllegalArgumentException("Nome do recebedor é obrigatório");
+            }
+            if (merchantCity == null || merchantCity.isBlank()) {
+                throw new IllegalArgumentException("Cidade do recebedor é obrigatória");
+            }
+            return new Merchant(
+                    sanitizeAndTruncate(merchantName, MERCHANT_NAME_MAX_LENGTH),
+                    sanitizeAndTruncate(merchantCity, MERCHANT_CITY_MAX_LENGTH)
+            );
+        }
+    }
+
     /**
      * Gera o payload EMV completo para QR Code PIX estático
      *
@@ -59,6 +93,26 @@ public class EmvPayloadGenerator {
     ) {
         validateInputs(pixKey, merchantName, merchantCity, txid);
 
+        return generate(pixKey, Merchant.of(merchantName, merchantCity), txid, amountCents);
+    }
+
+    /**
+     * Gera o payload EMV com nome e cidade já sanitizados
+     *
+     * @param pixKey Chave PIX (email, telefone, CPF, CNPJ ou EVP)
+     * @param merchant Nome e cidade do recebedor (ver {@link Merchant#of})
+     * @param txid Transaction ID (máx 25 caracteres, alfanumérico)
+     * @param amountCents Valor em centavos (null para valor em aberto)
+     * @return Payload EMV completo com CRC-16
+     */
+    public static String generate(
+            String pixKey,
+            Merchant merchant,
+            String txid,
+            Integer amountCents
+    ) {
+        validatePixKeyAndTxid(pixKey, txid);
+
         StringBuilder payload = new StringBuilder();
 
         // 00: Payload Format Indicator
@@ -84,12 +138,10 @@ public class EmvPayloadGenerator {
         payload.append(buildTlv(TAG_COUNTRY_CODE, COUNTRY_CODE_VALUE));
 
         // 59: Merchant Name (sanitizado e truncado)
-        String sanitizedName = sanitizeAndTruncate(merchantName, 25);
-        payload.append(buildTlv(TAG_MERCHANT_NAME, sanitizedName));
+        payload.append(buildTlv(TAG_MERCHANT_NAME, merchant.name()));
 
         // 60: Merchant City (sanitizado e truncado)
-        String sanitizedCity = sanitizeAndTruncate(merchantCity, 15);
-        payload.append(buildTlv(TAG_MERCHANT_CITY, sanitizedCity));
+        payload.append(buildTlv(TAG_MERCHANT_CITY, merchant.city()));
 
         // 62: Additional Data Field Template (contém txid)
         String additionalData = buildAdditionalDataField(txid);
@@ -152,7 +204,7 @@ public class EmvPayloadGenerator {
      * Valor inicial: 0xFFFF
      * XOR final: 0x0000
      */
-    private static String calculateCRC16(String payload) {
+    static String calculateCRC16(String payload) {
         byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
         int crc = 0xFFFF;
         int polynomial = 0x1021;
@@ -174,32 +226,61 @@ public class EmvPayloadGenerator {
 
     /**
      * Sanitiza e trunca uma string para uso no payload
-     * Remove acentos e caracteres especiais, mantém apenas alfanuméricos e espaços
+     * Remove acentos e caracteres especiais, mantém apenas alfanuméricos, espaços e hífens
      */
-    private static String sanitizeAndTruncate(String text, int maxLength) {
+    static String sanitizeAndTruncate(String text, int maxLength) {
         if (text == null || text.isBlank()) {
             throw new IllegalArgumentException("Texto não pode ser vazio");
         }
 
-        // Remove acentos
-        String sanitized = removeAccents(text);
-
-        // Remove caracteres especiais (mantém apenas letras, números, espaços e hífens)
-        sanitized = sanitized.replaceAll("[^a-zA-Z0-9\\s\\-]", "");
+        // Cada caractere produz no máximo um caractere permitido
+        char[] sanitized = new char[Math.min(text.length(), maxLength)];
+        int length = 0;
+        for (int i = 0; i < text.length() && length < sanitized.length; i++) {
+            char mapped = SANITIZE_TABLE[text.charAt(i)];
+            if (mapped != 0) {
+                sanitized[length++] = mapped;
+            }
+        }
 
-        // Trunca se necessário
-        if (sanitized.length() > maxLength) {
-            sanitized = sanitized.substring(0, maxLength);
+        int start = 0;
+        while (start < length && sanitized[start] <= ' ') {
+            start++;
+        }
+        while (length > start && sanitized[length - 1] <= ' ') {
+            length--;
         }
 
-        return sanitized.trim();
+        return new String(sanitized, start, length - start);
     }
 
+    private static char[] buildSanitizeTable() {
+        char[] table = new char[Character.MAX_VALUE + 1];
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (Character.isSurrogate((char) c)) {
+                continue;
+            }
+            String decomposed = Normalizer.normalize(String.valueOf((char) c), Normalizer.Form.NFD);
+            for (int i = 0; i < decomposed.length(); i++) {
+                char folded = decomposed.charAt(i);
+                if (isAllowed(folded)) {
+                    table[c] = folded;
+                    break;
+                }
+            }
+        }
+        return table;
+    }
 
-    private static String removeAccents(String text) {
-        return java.text.Normalizer
-                .normalize(text, java.text.Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", "");
+    /**
+     * [a-zA-Z0-9\s\-], com \s restrito a ASCII como na regex do Java
+     */
+    private static boolean isAllowed(char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9')
+                || c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r'
+                || c == '-';
     }
 
 
@@ -213,6 +294,13 @@ public class EmvPayloadGenerator {
         if (merchantCity == null || merchantCity.isBlank()) {
             throw new IllegalArgumentException("Cidade do recebedor é obrigatória");
         }
+        validatePixKeyAndTxid(pixKey, txid);
+    }
+
+    private static void validatePixKeyAndTxid(String pixKey, String txid) {
+        if (pixKey == null || pixKey.isBlank()) {
+            throw new IllegalArgumentException("Chave PIX é obrigatória");
+        }
         if (txid == null || txid.isBlank()) {
             throw new IllegalArgumentException("Transaction ID (txid) é obrigatório");
         }
@@ -0,0 +1,32 @@
+package br.com.smartmesquitaapi.pix.infrastructure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * txid derivado da chave de idempotência (comportamento original).
+ *
+ * Chaves iguais em organizações diferentes geram o mesmo txid; o conflito é
+ * detectado no INSERT em pix_charge_keys e a criação tenta outro txid.
+ * Mantido para totems que dependem do txid previsível.
+ */
+@Component
+@ConditionalOnProperty(name = "pix.txid.strategy", havingValue = "legacy")
+public class LegacyTxidGenerator implements TxidGenerator {
+
+    private static final int MIN_LENGTH = 10;
+
+    @Override
+    public String generate(String idempotencyKey) {
+        String txid = idempotencyKey.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+
+        if (txid.length() < MIN_LENGTH) {
+            txid = txid + System.currentTimeMillis();
+        }
+        if (txid.length() > MAX_LENGTH) {
+            txid = txid.substring(0, MAX_LENGTH);
+        }
+
+        return txid;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.smartmesquitaapi.pix.infrastructure;
+
+import br.com.smartmesquitaapi.user.domain.PixKeyType;
+
+/**
+ * Chave PIX já classificada: tipo detectado e chave normalizada
+ * (e-mail e EVP em minúsculas; telefone, CPF e CNPJ só com dígitos e +).
+ *
+ * @see PixKeyValidator#classify(String)
+ */
+public record PixKey(PixKeyType type, String value) {
+}
@@ -2,31 +2,38 @@ package br.com.smartmesquitaapi.pix.infrastructure;
 
 import br.com.smartmesquitaapi.user.domain.PixKeyType;
 
-import java.util.regex.Pattern;
-
 /**
  * Validador de chaves PIX
  * Valida formato e detecta tipo de chave automaticamente
+ *
+ * A validação roda a cada cobrança criada, então a classificação percorre a
+ * chave uma única vez, sem regex: o mesmo laço acompanha o formato de e-mail,
+ * o de EVP e separa os dígitos usados por telefone, CPF e CNPJ. As regras são
+ * as mesmas das expressões regulares que existiam aqui antes:
+ * <ul>
+ *     <li>EMAIL: [a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\.[a-zA-Z]{2,}</li>
+ *     <li>PHONE: \+55[1-9]{2}9?[0-9]{8}</li>
+ *     <li>EVP: UUID em hexadecimal (8-4-4-4-12)</li>
+ *     <li>CPF e CNPJ: 11 e 14 dígitos com dígitos verificadores válidos</li>
+ * </ul>
  */
 public class PixKeyValidator {
 
-    // Padrões regex para validação
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(
-            "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$",
-            Pattern.CASE_INSENSITIVE
-    );
-
-    private static final Pattern PHONE_PATTERN = Pattern.compile(
-            "^\\+55[1-9]{2}9?[0-9]{8}$"
-    );
+    private static final int CPF_LENGTH = 11;
+    private static final int CNPJ_LENGTH = 14;
+    private static final int PHONE_MIN_LENGTH = 13;
+    private static final int PHONE_MAX_LENGTH = 14;
+    private static final int EVP_LENGTH = 36;
 
-    private static final Pattern CPF_PATTERN = Pattern.compile("^[0-9]{11}$");
-    private static final Pattern CNPJ_PATTERN = Pattern.compile("^[0-9]{14}$");
+    /**
+     * Maior chave numérica aceita (CNPJ e telefone com nono dígito)
+     */
+    private static final int MAX_NUMERIC_LENGTH = 14;
 
-    private static final Pattern EVP_PATTERN = Pattern.compile(
-            "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$",
-            Pattern.CASE_INSENSITIVE
-    );
+    /**
+     * Pesos do segundo dígito do CNPJ; os do primeiro são os mesmos a partir do índice 1
+     */
+    private static final int[] CNPJ_WEIGHTS = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
 
     /**
      * Valida se uma chave PIX é válida
@@ -35,14 +42,7 @@ public class PixKeyValidator {
      * @return true se válida, false caso contrário
      */
     public static boolean isValid(String key){
-        if (key == null || key.isBlank()){
-            return false;
-        }
-
-        String cleanKey = clean(key);
-        PixKeyType detectedType = detectType(cleanKey);
-
-        return detectedType != null;
+        return classify(key) != null;
     }
 
     /**
@@ -53,20 +53,15 @@ public class PixKeyValidator {
      * @return true se a chave é válida para o tipo, false caso contrário
      */
     public static boolean isValidForType(String key, PixKeyType type){
-        if (key == null || key.isBlank() || type == null){
+        if (type == null){
             return false;
         }
 
-        String cleanKey = clean(key);
+        PixKey pixKey = classify(key);
 
-        return switch (type) {
-            case EMAIL -> EMAIL_PATTERN.matcher(cleanKey).matches();
-            case PHONE -> PHONE_PATTERN.matcher(cleanKey).matches();
-            case CPF -> CPF_PATTERN.matcher(cleanKey).matches() && isValidCpf(cleanKey);
-            case CNPJ -> CNPJ_PATTERN.matcher(cleanKey).matches() && isValidCnpj(cleanKey);
-            case EVP -> EVP_PATTERN.matcher(cleanKey).matches();
-        };
+        return pixKey != null && pixKey.type() == type;
     }
+
     /**
      * Detecta automaticamente o tipo da chave PIX
      *
@@ -74,30 +69,109 @@ public class PixKeyValidator {
      * @return Tipo detectado ou null se inválida
      */
     public static PixKeyType detectType(String key) {
-        if (key == null || key.isBlank()) {
+        PixKey pixKey = classify(key);
+
+        return pixKey != null ? pixKey.type() : null;
+    }
+
+    /**
+     * Classifica a chave em uma passada pelos caracteres
+     *
+     * @param key Chave a ser analisada
+     * @return Tipo e chave normalizada, ou null se inválida
+     */
+    public static PixKey classify(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        int start = 0;
+        int end = key.length();
+        while (start < end && key.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && key.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length == 0) {
             return null;
         }
 
-        String cleanKey = clean(key);
+        boolean evp = length == EVP_LENGTH;
+        boolean hasDash = false;
+
+        boolean email = true;
+        int at = -1;
+        int lastDot = -1;
+        int letterTail = 0; // letras desde o último '.' do domínio; -1 se houve outro caractere
+
+        char[] digits = new char[MAX_NUMERIC_LENGTH];
+        int digitCount = 0;
+        boolean misplacedPlus = false;
+
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(start + i);
+
+            if (evp) {
+                evp = (i == 8 || i == 13 || i == 18 || i == 23) ? c == '-' : isHex(c);
+            }
+            if (c == '-') {
+                hasDash = true;
+            }
+
+            if (c == '@') {
+                email &= at < 0;
+                at = i;
+            } else if (at < 0) {
+                email &= isEmailLocalChar(c);
+            } else if (c == '.') {
+                lastDot = i;
+                letterTail = 0;
+            } else if (isLetter(c)) {
+                if (letterTail >= 0) {
+                    letterTail++;
+                }
+            } else if (isDigit(c) || c == '-') {
+                letterTail = -1;
+            } else {
+                email = false;
+            }
 
-        // Tenta detectar cada tipo
-        if (EMAIL_PATTERN.matcher(cleanKey).matches()) {
-            return PixKeyType.EMAIL;
+            if (isDigit(c) || c == '+') {
+                misplacedPlus |= c == '+' && digitCount > 0;
+                if (digitCount < MAX_NUMERIC_LENGTH) {
+                    digits[digitCount] = c;
+                }
+                digitCount++;
+            }
         }
-        if (PHONE_PATTERN.matcher(cleanKey).matches()) {
-            return PixKeyType.PHONE;
+
+        // Com '@' ou '-' a chave é usada como está (ver clean)
+        if (at >= 0) {
+            boolean valid = email && at > 0 && lastDot > at + 1 && letterTail >= 2;
+            return valid ? new PixKey(PixKeyType.EMAIL, key.substring(start, end).toLowerCase()) : null;
         }
-        if (EVP_PATTERN.matcher(cleanKey).matches()) {
-            return PixKeyType.EVP;
+        if (hasDash) {
+            return evp ? new PixKey(PixKeyType.EVP, key.substring(start, end).toLowerCase()) : null;
         }
-        if (CPF_PATTERN.matcher(cleanKey).matches() && isValidCpf(cleanKey)) {
-            return PixKeyType.CPF;
+
+        if (digitCount == 0 || digitCount > MAX_NUMERIC_LENGTH || misplacedPlus) {
+            return null;
         }
-        if (CNPJ_PATTERN.matcher(cleanKey).matches() && isValidCnpj(cleanKey)) {
-            return PixKeyType.CNPJ;
+
+        PixKeyType type;
+        if (digits[0] == '+') {
+            type = isValidPhone(digits, digitCount) ? PixKeyType.PHONE : null;
+        } else if (digitCount == CPF_LENGTH) {
+            type = isValidCpf(digits) ? PixKeyType.CPF : null;
+        } else if (digitCount == CNPJ_LENGTH) {
+            type = isValidCnpj(digits) ? PixKeyType.CNPJ : null;
+        } else {
+            type = null;
         }
 
-        return null;
+        return type != null ? new PixKey(type, new String(digits, 0, digitCount)) : null;
     }
 
     /**
@@ -115,102 +189,98 @@ public class PixKeyValidator {
         String cleaned = key.trim();
 
         // Se parece ser email ou EVP, não remove caracteres especiais
-        if (cleaned.contains("@") || cleaned.contains("-")) {
+        if (cleaned.indexOf('@') >= 0 || cleaned.indexOf('-') >= 0) {
             return cleaned;
         }
 
         // Remove tudo que não é número ou + (para telefone)
-        cleaned = cleaned.replaceAll("[^0-9+]", "");
+        StringBuilder kept = new StringBuilder(cleaned.length());
+        for (int i = 0; i < cleaned.length(); i++) {
+            char c = cleaned.charAt(i);
+            if (isDigit(c) || c == '+') {
+                kept.append(c);
+            }
+        }
 
-        return cleaned;
+        return kept.toString();
+    }
+
+    /**
+     * +55, DDD sem zero, nono dígito opcional e 8 dígitos
+     */
+    private static boolean isValidPhone(char[] digits, int length) {
+        if (length != PHONE_MIN_LENGTH && length != PHONE_MAX_LENGTH) {
+            return false;
+        }
+        if (digits[1] != '5' || digits[2] != '5' || digits[3] == '0' || digits[4] == '0') {
+            return false;
+        }
+        return length == PHONE_MIN_LENGTH || digits[5] == '9';
     }
 
     /**
      * Valida CPF usando algoritmo de dígitos verificadores
      *
-     * @param cpf CPF apenas com números (11 dígitos)
+     * @param cpf 11 dígitos
      * @return true se válido, false caso contrário
      */
-    private static boolean isValidCpf(String cpf) {
-        if (cpf == null || cpf.length() != 11) {
+    private static boolean isValidCpf(char[] cpf) {
+        if (allEqual(cpf, CPF_LENGTH)) {
             return false;
         }
 
-        // Verifica se todos os dígitos são iguais (inválido)
-        if (cpf.matches("(\\d)\\1{10}")) {
-            return false;
+        // Os dois dígitos verificadores somados no mesmo laço
+        int firstSum = 0;
+        int secondSum = 0;
+        for (int i = 0; i < 9; i++) {
+            int digit = cpf[i] - '0';
+            firstSum += digit * (10 - i);
+            secondSum += digit * (11 - i);
         }
 
-        try {
-            // Calcula o primeiro dígito verificador
-            int sum = 0;
-            for (int i = 0; i < 9; i++) {
-                sum += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
-            }
-            int firstDigit = 11 - (sum % 11);
-            if (firstDigit >= 10) firstDigit = 0;
-
-            if (Character.getNumericValue(cpf.charAt(9)) != firstDigit) {
-                return false;
-            }
-
-            // Calcula o segundo dígito verificador
-            sum = 0;
-            for (int i = 0; i < 10; i++) {
-                sum += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
-            }
-            int secondDigit = 11 - (sum % 11);
-            if (secondDigit >= 10) secondDigit = 0;
+        int firstDigit = 11 - (firstSum % 11);
+        if (firstDigit >= 10) firstDigit = 0;
 
-            return Character.getNumericValue(cpf.charAt(10)) == secondDigit;
-
-        } catch (Exception e) {
+        if (cpf[9] - '0' != firstDigit) {
             return false;
         }
+
+        secondSum += firstDigit * 2;
+        int secondDigit = 11 - (secondSum % 11);
+        if (secondDigit >= 10) secondDigit = 0;
+
+        return cpf[10] - '0' == secondDigit;
     }
 
     /**
      * Valida CNPJ usando algoritmo de dígitos verificadores
      *
-     * @param cnpj CNPJ apenas com números (14 dígitos)
+     * @param cnpj 14 dígitos
      * @return true se válido, false caso contrário
      */
-    private static boolean isValidCnpj(String cnpj) {
-        if (cnpj == null || cnpj.length() != 14) {
+    private static boolean isValidCnpj(char[] cnpj) {
+        if (allEqual(cnpj, CNPJ_LENGTH)) {
             return false;
         }
 
-        // Verifica se todos os dígitos são iguais (inválido)
-        if (cnpj.matches("(\\d)\\1{13}")) {
-            return false;
+        int firstSum = 0;
+        int secondSum = 0;
+        for (int i = 0; i < 12; i++) {
+            int digit = cnpj[i] - '0';
+            firstSum += digit * CNPJ_WEIGHTS[i + 1];
+            secondSum += digit * CNPJ_WEIGHTS[i];
         }
 
-        try {
-            // Calcula o primeiro dígito verificador
-            int[] weight1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-            int sum = 0;
-            for (int i = 0; i < 12; i++) {
-                sum += Character.getNumericValue(cnpj.charAt(i)) * weight1[i];
-            }
-            int firstDigit = sum % 11 < 2 ? 0 : 11 - (sum % 11);
-
-            if (Character.getNumericValue(cnpj.charAt(12)) != firstDigit) {
-                return false;
-            }
-
-            // Calcula o segundo dígito verificador
-            int[] weight2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
-            sum = 0;
-            for (int i = 0; i < 13; i++) {
-                sum += Character.getNumericValue(cnpj.charAt(i)) * weight2[i];
-            }
-            int secondDigit = sum % 11 < 2 ? 0 : 11 - (sum % 11);
-
-            return Character.getNumericValue(cnpj.charAt(13)) == secondDigit;
+        int firstDigit = firstSum % 11 < 2 ? 0 : 11 - (firstSum % 11);
 
-        } catch (Exception e) {
+        if (cnpj[12] - '0' != firstDigit) {
             return false;
         }
+
+        secondSum += firstDigit * CNPJ_WEIGHTS[12];
+        int secondDigit = secondSum % 11 < 2 ? 0 : 11 - (secondSum % 11);
+
+        return cnpj[13] - '0' == secondDigit;
     }
 
     /**
@@ -224,14 +294,14 @@ public class PixKeyValidator {
             return "";
         }
 
-        PixKeyType type = detectType(key);
-        if (type == null) {
+        PixKey pixKey = classify(key);
+        if (pixKey == null) {
             return key;
         }
 
-        String cleanKey = clean(key);
+        String cleanKey = pixKey.value();
 
-        return switch (type) {
+        return switch (pixKey.type()) {
             case EMAIL -> {
                 int atIndex = key.indexOf('@');
                 if (atIndex > 2) {
@@ -245,24 +315,9 @@ public class PixKeyValidator {
                 }
                 yield cleanKey;
             }
-            case CPF -> {
-                if (cleanKey.length() == 11) {
-                    yield cleanKey.substring(0, 3) + ".***.***-" + cleanKey.substring(9);
-                }
-                yield cleanKey;
-            }
-            case CNPJ -> {
-                if (cleanKey.length() == 14) {
-                    yield cleanKey.substring(0, 2) + ".***.***/****-" + cleanKey.substring(12);
-                }
-                yield cleanKey;
-            }
-            case EVP -> {
-                if (key.length() > 8) {
-                    yield key.substring(0, 8) + "-****-****-****-************";
-                }
-                yield key;
-            }
+            case CPF -> cleanKey.substring(0, 3) + ".***.***-" + cleanKey.substring(9);
+            case CNPJ -> cleanKey.substring(0, 2) + ".***.***/****-" + cleanKey.substring(12);
+            case EVP -> key.substring(0, 8) + "-****-****-****-************";
         };
     }
 
@@ -278,15 +333,33 @@ public class PixKeyValidator {
             return null;
         }
 
-        PixKeyType type = detectType(key);
-        if (type == null) {
-            return clean(key);
+        PixKey pixKey = classify(key);
+
+        return pixKey != null ? pixKey.value() : clean(key);
+    }
+
+    private static boolean allEqual(char[] digits, int length) {
+        for (int i = 1; i < length; i++) {
+            if (digits[i] != digits[0]) {
+                return false;
+            }
         }
+        return true;
+    }
 
-        return switch (type) {
-            case EMAIL, EVP -> key.trim().toLowerCase();
-            case PHONE, CPF, CNPJ -> clean(key);
-        };
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isHex(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static boolean isEmailLocalChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
 }
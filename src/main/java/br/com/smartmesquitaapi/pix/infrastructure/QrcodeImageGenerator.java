@@ -1,5 +1,6 @@
 package br.com.smartmesquitaapi.pix.infrastructure;
 
+import br.com.smartmesquitaapi.jfr.QrCodeRenderEvent;
 import br.com.smartmesquitaapi.pix.exception.QrCodeGenerationException;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
@@ -62,6 +63,10 @@ public class QrcodeImageGenerator {
      */
     public static byte[] generatePngBytes(String payload, int size) throws WriterException, IOException {
 
+        QrCodeRenderEvent event = new QrCodeRenderEvent();
+        event.begin();
+        long encodeStart = System.nanoTime();
+
         // Cria o QR code usando Zxing
         QRCodeWriter qrCodeWriter = new QRCodeWriter();
         BitMatrix bitMatrix = qrCodeWriter.encode(
@@ -70,12 +75,15 @@ public class QrcodeImageGenerator {
                 size,
                 size
         );
+        long encodeTime = System.nanoTime() - encodeStart;
 
         // converte a imagem pra png
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         MatrixToImageWriter.writeToStream(bitMatrix, "PNG", outputStream);
 
-        return outputStream.toByteArray();
+        byte[] png = outputStream.toByteArray();
+        event.finish(size, encodeTime, png.length);
+        return png;
     }
 
     /**
@@ -0,0 +1,106 @@
+package br.com.smartmesquitaapi.pix.infrastructure;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * txid no esquema Snowflake: 41 bits de milissegundos desde 2025-01-01,
+ * 10 bits de nó e 12 bits de sequência, em base 36 (13 caracteres).
+ *
+ * Únicos entre instâncias sem consultar o banco, desde que cada instância use
+ * um pix.txid.node-id diferente. Dentro do nó, o estado (milissegundo,
+ * sequência) avança por CAS: com o relógio parado ou voltando, a sequência
+ * continua do último valor emitido; esgotada, passa ao milissegundo seguinte.
+ *
+ * Com pix.txid.node-id-required=true (produção), a aplicação não sobe sem
+ * node-id: o valor derivado do hostname pode coincidir entre instâncias.
+ */
+@Component
+@ConditionalOnProperty(name = "pix.txid.strategy", havingValue = "snowflake", matchIfMissing = true)
+@Slf4j
+public class SnowflakeTxidGenerator implements TxidGenerator {
+
+    static final long EPOCH_MILLIS = 1_735_689_600_000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * Long.MAX_VALUE em base 36; zeros à esquerda mantêm a ordem lexicográfica
+     */
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+
+    /**
+     * (milissegundo << SEQUENCE_BITS) | sequência do último id emitido
+     */
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public SnowflakeTxidGenerator(
+            @Value("${pix.txid.node-id:-1}") long configuredNodeId,
+            @Value("${pix.txid.node-id-required:false}") boolean nodeIdRequired
+    ) {
+        this(resolveNodeId(configuredNodeId, nodeIdRequired), System::currentTimeMillis);
+    }
+
+    SnowflakeTxidGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("pix.txid.node-id deve estar entre 0 e " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public String generate(String idempotencyKey) {
+        String encoded = Long.toString(nextId(), Character.MAX_RADIX).toUpperCase();
+        return "0".repeat(ENCODED_LENGTH - encoded.length()) + encoded;
+    }
+
+    long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        long state = lastState.updateAndGet(last -> now > (last >>> SEQUENCE_BITS)
+                ? now << SEQUENCE_BITS
+                : last + 1);
+
+        long millis = state >>> SEQUENCE_BITS;
+        long sequence = state & SEQUENCE_MASK;
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * Sem node-id configurado, deriva do hostname (só fora de produção). Serve
+     * para uma instância só; com várias, configure valores distintos.
+     */
+    static long resolveNodeId(long configuredNodeId, boolean nodeIdRequired) {
+        if (configuredNodeId >= 0) {
+            return configuredNodeId;
+        }
+        if (nodeIdRequired) {
+            throw new IllegalStateException(
+                    "pix.txid.node-id (PIX_NODE_ID) é obrigatório: defina um valor entre 0 e "
+                            + MAX_NODE_ID + " diferente em cada instância");
+        }
+        try {
+            String hostname = InetAddress.getLocalHost().getHostName();
+            long derived = hostname.hashCode() & MAX_NODE_ID;
+            log.warn("pix.txid.node-id não configurado; usando {} derivado do hostname {}", derived, hostname);
+            return derived;
+        } catch (Exception e) {
+            log.warn("pix.txid.node-id não configurado e hostname indisponível; usando 0");
+            return 0;
+        }
+    }
+}
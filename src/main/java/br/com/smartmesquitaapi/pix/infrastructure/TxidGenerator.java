@@ -0,0 +1,20 @@
+package br.com.smartmesquitaapi.pix.infrastructure;
+
+/**
+ * Gera o txid de uma nova cobrança.
+ *
+ * O txid vai no campo 62-05 do payload EMV de QR estático: no máximo 25
+ * caracteres alfanuméricos. A implementação é escolhida por pix.txid.strategy.
+ */
+public interface TxidGenerator {
+
+    /**
+     * Tamanho máximo do txid em QR Code estático
+     */
+    int MAX_LENGTH = 25;
+
+    /**
+     * @param idempotencyKey chave de idempotência da requisição (nem toda estratégia usa)
+     */
+    String generate(String idempotencyKey);
+}
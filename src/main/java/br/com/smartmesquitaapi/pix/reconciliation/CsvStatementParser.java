@@ -0,0 +1,194 @@
+package br.com.smartmesquitaapi.pix.reconciliation;
+
+import br.com.smartmesquitaapi.pix.exception.InvalidRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Parser de extratos CSV exportados pelos bancos.
+ *
+ * A primeira linha deve ser o cabeçalho; as colunas são reconhecidas pelo nome
+ * (data, valor, descrição, txid, identificador), em português ou inglês.
+ * O separador (';', ',' ou tab) é deduzido do cabeçalho. Lê uma linha por vez.
+ */
+public class CsvStatementParser implements StatementParser {
+
+    private static final Set<String> DATE_COLUMNS =
+            Set.of("data", "date", "datahora", "dataehora", "datalancamento", "datamovimento");
+    private static final Set<String> AMOUNT_COLUMNS =
+            Set.of("valor", "amount", "valorr", "quantia");
+    private static final Set<String> DESCRIPTION_COLUMNS =
+            Set.of("descricao", "historico", "memo", "description", "lancamento", "detalhes");
+    private static final Set<String> TXID_COLUMNS =
+            Set.of("txid", "identificadortransacao");
+    private static final Set<String> REFERENCE_COLUMNS =
+            Set.of("id", "fitid", "e2eid", "endtoendid", "documento", "referencia", "identificador");
+
+    private static final DateTimeFormatter[] DATE_FORMATS = {
+            DateTimeFormatter.ofPattern("yyyy-MM-dd[['T'][' ']HH:mm[:ss]]"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy[ HH:mm[:ss]]")
+    };
+
+    @Override
+    public void parse(InputStream input, Consumer<StatementEntry> sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        String header = reader.readLine();
+        if (header == null) {
+            throw new InvalidRequestException("Extrato CSV vazio");
+        }
+        if (!header.isEmpty() && header.charAt(0) == '\uFEFF') {
+            header = header.substring(1);
+        }
+
+        char delimiter = detectDelimiter(header);
+        Columns columns = Columns.from(split(header, delimiter));
+
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            List<String> fields = split(line, delimiter);
+            String rawDate = columns.get(fields, columns.date);
+            String rawAmount = columns.get(fields, columns.amount);
+            if (rawDate == null || rawAmount == null) {
+                throw new InvalidRequestException("Linha " + lineNumber + ": data ou valor ausente");
+            }
+
+            TemporalAccessor date = parseDate(rawDate, lineNumber);
+            boolean precise = date instanceof LocalDateTime;
+
+            sink.accept(new StatementEntry(
+                    lineNumber,
+                    precise ? LocalDateTime.from(date) : LocalDate.from(date).atStartOfDay(),
+                    precise,
+                    parseAmount(rawAmount, lineNumber),
+                    columns.get(fields, columns.txid),
+                    columns.get(fields, columns.reference),
+                    columns.get(fields, columns.description)
+            ));
+        }
+    }
+
+    /**
+     * Posição das colunas reconhecidas no cabeçalho (-1 quando ausente)
+     */
+    private record Columns(int date, int amount, int description, int txid, int reference) {
+
+        static Columns from(List<String> header) {
+            int date = -1, amount = -1, description = -1, txid = -1, reference = -1;
+
+            for (int i = 0; i < header.size(); i++) {
+                String name = normalize(header.get(i));
+                if (date < 0 && DATE_COLUMNS.contains(name)) date = i;
+                else if (amount < 0 && AMOUNT_COLUMNS.contains(name)) amount = i;
+                else if (description < 0 && DESCRIPTION_COLUMNS.contains(name)) description = i;
+                else if (txid < 0 && TXID_COLUMNS.contains(name)) txid = i;
+                else if (reference < 0 && REFERENCE_COLUMNS.contains(name)) reference = i;
+            }
+
+            if (date < 0 || amount < 0) {
+                throw new InvalidRequestException("Cabeçalho do CSV deve conter as colunas de data e valor");
+            }
+            return new Columns(date, amount, description, txid, reference);
+        }
+
+        String get(List<String> fields, int index) {
+            if (index < 0 || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static String normalize(String name) {
+            return Normalizer.normalize(name, Normalizer.Form.NFD)
+                    .replaceAll("[^A-Za-z0-9]", "")
+                    .toLowerCase();
+        }
+    }
+
+    private static char detectDelimiter(String header) {
+        if (header.indexOf(';') >= 0) return ';';
+        if (header.indexOf('\t') >= 0) return '\t';
+        return ',';
+    }
+
+    /**
+     * Divide uma linha respeitando campos entre aspas (RFC 4180, sem quebra de linha no campo)
+     */
+    private static List<String> split(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static TemporalAccessor parseDate(String raw, int lineNumber) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return format.parseBest(raw, LocalDateTime::from, LocalDate::from);
+            } catch (DateTimeParseException ignored) {
+                // tenta o próximo formato
+            }
+        }
+        throw new InvalidRequestException("Linha " + lineNumber + ": data inválida: " + raw);
+    }
+
+    /**
+     * Aceita "1.234,56", "1234,56", "1234.56" e "R$ 50,00"
+     */
+    private static long parseAmount(String raw, int lineNumber) {
+        String value = raw.replace("R$", "").replace(" ", "");
+        if (value.indexOf(',') >= 0) {
+            value = value.replace(".", "").replace(',', '.');
+        }
+
+        try {
+            return new BigDecimal(value).movePointRight(2).longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new InvalidRequestException("Linha " + lineNumber + ": valor inválido: " + raw);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.smartmesquitaapi.pix.reconciliation;
+
+import br.com.smartmesquitaapi.pix.exception.InvalidRequestException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+/**
+ * Parser de extratos OFX 1.x (SGML, sem fechamento de elementos) e 2.x (XML).
+ *
+ * Percorre o arquivo caractere a caractere reconhecendo apenas as tags, sem
+ * montar árvore: cada STMTTRN é emitido ao ser fechado. O arquivo é lido como
+ * ISO-8859-1, que aceita qualquer byte; os campos usados (datas, valores, txid)
+ * são ASCII em qualquer codificação que o banco declare.
+ */
+public class OfxStatementParser implements StatementParser {
+
+    private static final int MAX_VALUE_LENGTH = 1024;
+
+    @Override
+    public void parse(InputStream input, Consumer<StatementEntry> sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.ISO_8859_1));
+
+        StringBuilder text = new StringBuilder();
+        StringBuilder tag = new StringBuilder();
+        String currentTag = null;
+        Transaction transaction = null;
+        int transactionCount = 0;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (c != '<') {
+                if (text.length() < MAX_VALUE_LENGTH) {
+                    text.append((char) c);
+                }
+                continue;
+            }
+
+            if (transaction != null && currentTag != null) {
+                transaction.set(currentTag, text.toString().trim());
+            }
+            text.setLength(0);
+
+            tag.setLength(0);
+            while ((c = reader.read()) != -1 && c != '>') {
+                tag.append((char) c);
+            }
+            String name = tag.toString().trim().toUpperCase();
+
+            if (name.startsWith("?") || name.startsWith("!")) {
+                currentTag = null;
+            } else if (name.startsWith("/")) {
+                currentTag = null;
+                if (name.equals("/STMTTRN") && transaction != null) {
+                    sink.accept(transaction.toEntry(++transactionCount));
+                    transaction = null;
+                }
+            } else if (name.equals("STMTTRN")) {
+                transaction = new Transaction();
+                currentTag = null;
+            } else {
+                currentTag = name;
+            }
+        }
+    }
+
+    /**
+     * Campos de um STMTTRN em construção
+     */
+    private static final class Transaction {
+        private String dtPosted;
+        private String trnAmt;
+        private String fitId;
+        private String memo;
+        private String name;
+
+        void set(String tag, String value) {
+            if (value.isEmpty()) {
+                return;
+            }
+            switch (tag) {
+                case "DTPOSTED" -> dtPosted = value;
+                case "TRNAMT" -> trnAmt = value;
+                case "FITID" -> fitId = value;
+                case "MEMO" -> memo = value;
+                case "NAME" -> name = value;
+                default -> { }
+            }
+        }
+
+        StatementEntry toEntry(int position) {
+            if (dtPosted == null || trnAmt == null) {
+                throw new InvalidRequestException("Lançamento OFX " + position + " sem DTPOSTED ou TRNAMT");
+            }
+
+            ParsedDate date = parseDate(dtPosted, position);
+            String description = memo == null ? name : (name == null ? memo : name + " " + memo);
+
+            return new StatementEntry(
+                    position,
+                    date.value(),
+                    date.precise(),
+                    parseAmount(trnAmt, position),
+                    null,
+                    fitId,
+                    description
+            );
+        }
+    }
+
+    private record ParsedDate(LocalDateTime value, boolean precise) {}
+
+    /**
+     * Formato OFX: AAAAMMDD[HHMMSS[.XXX]][[gmt offset[:tz name]]]
+     */
+    private static ParsedDate parseDate(String raw, int position) {
+        int digits = 0;
+        while (digits < raw.length() && Character.isDigit(raw.charAt(digits))) {
+            digits++;
+        }
+        if (digits < 8) {
+            throw new InvalidRequestException("Lançamento OFX " + position + " com DTPOSTED inválido: " + raw);
+        }
+
+        try {
+            int year = Integer.parseInt(raw, 0, 4, 10);
+            int month = Integer.parseInt(raw, 4, 6, 10);
+            int day = Integer.parseInt(raw, 6, 8, 10);
+            int hour = digits >= 10 ? Integer.parseInt(raw, 8, 10, 10) : 0;
+            int minute = digits >= 12 ? Integer.parseInt(raw, 10, 12, 10) : 0;
+            int second = digits >= 14 ? Integer.parseInt(raw, 12, 14, 10) : 0;
+            LocalDateTime value = LocalDateTime.of(year, month, day, hour, minute, second);
+
+            // Vários bancos preenchem 000000 quando não informam o horário
+            boolean precise = digits >= 12 && (hour | minute | second) != 0;
+
+            int offsetStart = raw.indexOf('[');
+            if (precise && offsetStart >= 0) {
+                int offsetEnd = raw.indexOf(':', offsetStart);
+                if (offsetEnd < 0) {
+                    offsetEnd = raw.indexOf(']', offsetStart);
+                }
+                double offsetHours = Double.parseDouble(raw.substring(offsetStart + 1, offsetEnd));
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds((int) Math.round(offsetHours * 3600));
+                value = value.atOffset(offset).atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+            }
+
+            return new ParsedDate(value, precise);
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Lançamento OFX " + position + " com DTPOSTED inválido: " + raw);
+        }
+    }
+
+    private static long parseAmount(String raw, int position) {
+        try {
+            return new BigDecimal(raw.replace(',', '.')).movePointRight(2).longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new InvalidRequestException("Lançamento OFX " + position + " com TRNAMT inválido: " + raw);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.smartmesquitaapi.pix.reconciliation;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Pagamento identificado no extrato, a ser aplicado na cobrança
+ */
+public record ReconciledPayment(UUID chargeId, LocalDateTime paidAt, String note) {
+}
@@ -0,0 +1,19 @@
+package br.com.smartmesquitaapi.pix.reconciliation;
+
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projeção enxuta de uma cobrança ainda não paga, usada no índice de conciliação
+ */
+public record ReconciliationCandidate(
+        UUID id,
+        String txid,
+        Integer amountCents,
+        PixChargeStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime expiresAt
+) {
+}
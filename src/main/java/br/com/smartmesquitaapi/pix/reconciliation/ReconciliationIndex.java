@@ -0,0 +1,167 @@
+package br.com.smartmesquitaapi.pix.reconciliation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória das cobranças candidatas de uma importação.
+ *
+ * Montado uma única vez por extrato: txid → cobrança e (valor, faixa de
+ * 15 minutos da criação) → cobranças. Cada lançamento custa algumas buscas
+ * em hash, nunca uma consulta ao banco. Uma cobrança conciliada sai do
+ * índice, então dois lançamentos iguais não casam com a mesma cobrança.
+ */
+class ReconciliationIndex {
+
+    private static final long BUCKET_MINUTES = 15;
+
+    /**
+     * Tempo máximo entre criação e pagamento (validade máxima do QR Code)
+     */
+    private static final Duration MAX_CHARGE_LIFETIME = Duration.ofMinutes(60);
+
+    /**
+     * Diferença tolerada entre o relógio do banco e o nosso
+     */
+    private static final Duration CLOCK_TOLERANCE = Duration.ofMinutes(2);
+
+    private static final Pattern TXID_TOKEN = Pattern.compile("[A-Za-z0-9]{10,35}");
+
+    enum MatchType { TXID, AMOUNT_AND_TIME }
+
+    record Match(ReconciliationCandidate candidate, MatchType type) {}
+
+    private record AmountBucket(long amountCents, long bucket) {}
+
+    private final Map<String, ReconciliationCandidate> byTxid;
+    private final Map<AmountBucket, List<ReconciliationCandidate>> byAmountAndBucket;
+
+    private ReconciliationIndex(Collection<ReconciliationCandidate> candidates) {
+        this.byTxid = HashMap.newHashMap(candidates.size());
+        this.byAmountAndBucket = HashMap.newHashMap(candidates.size());
+
+        for (ReconciliationCandidate candidate : candidates) {
+            byTxid.put(candidate.txid(), candidate);
+            byAmountAndBucket
+                    .computeIfAbsent(new AmountBucket(candidate.amountCents(), bucketOf(candidate.createdAt())),
+                            key -> new ArrayList<>(1))
+                    .add(candidate);
+        }
+    }
+
+    static ReconciliationIndex of(Collection<ReconciliationCandidate> candidates) {
+        return new ReconciliationIndex(candidates);
+    }
+
+    int size() {
+        return byTxid.size();
+    }
+
+    /**
+     * Procura a cobrança de um lançamento de crédito: primeiro pelo txid (coluna
+     * própria ou citado no histórico), depois por valor e horário.
+     */
+    Optional<Match> match(StatementEntry entry) {
+        ReconciliationCandidate byTxidMatch = findByTxid(entry);
+        if (byTxidMatch != null) {
+            remove(byTxidMatch);
+            return Optional.of(new Match(byTxidMatch, MatchType.TXID));
+        }
+
+        ReconciliationCandidate byAmountMatch = findByAmountAndTime(entry);
+        if (byAmountMatch != null) {
+            remove(byAmountMatch);
+            return Optional.of(new Match(byAmountMatch, MatchType.AMOUNT_AND_TIME));
+        }
+
+        return Optional.empty();
+    }
+
+    private ReconciliationCandidate findByTxid(StatementEntry entry) {
+        if (entry.txid() != null) {
+            ReconciliationCandidate candidate = byTxid.get(entry.txid().trim().toUpperCase());
+            if (candidate != null) {
+                return candidate;
+            }
+        }
+
+        if (entry.description() != null) {
+            Matcher tokens = TXID_TOKEN.matcher(entry.description());
+            while (tokens.find()) {
+                ReconciliationCandidate candidate = byTxid.get(tokens.group().toUpperCase());
+                if (candidate != null) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Com horário exato, escolhe a cobrança criada mais perto (antes) do pagamento
+     * e ainda válida nesse instante. Só com a data, escolhe a mais antiga do dia.
+     */
+    private ReconciliationCandidate findByAmountAndTime(StatementEntry entry) {
+        LocalDateTime windowStart;
+        LocalDateTime windowEnd;
+        if (entry.timePrecise()) {
+            windowStart = entry.postedAt().minus(CLOCK_TOLERANCE);
+            windowEnd = entry.postedAt().plus(CLOCK_TOLERANCE);
+        } else {
+            windowStart = entry.postedAt().toLocalDate().atStartOfDay();
+            windowEnd = windowStart.plusDays(1);
+        }
+
+        long firstBucket = bucketOf(windowStart.minus(MAX_CHARGE_LIFETIME));
+        long lastBucket = bucketOf(windowEnd);
+
+        ReconciliationCandidate best = null;
+        for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+            List<ReconciliationCandidate> candidates =
+                    byAmountAndBucket.get(new AmountBucket(entry.amountCents(), bucket));
+            if (candidates == null) {
+                continue;
+            }
+
+            for (ReconciliationCandidate candidate : candidates) {
+                boolean createdBeforePayment = !candidate.createdAt().isAfter(windowEnd);
+                boolean validAtPayment = !candidate.expiresAt().plus(CLOCK_TOLERANCE).isBefore(windowStart);
+                if (!createdBeforePayment || !validAtPayment) {
+                    continue;
+                }
+
+                if (best == null
+                        || (entry.timePrecise() && candidate.createdAt().isAfter(best.createdAt()))
+                        || (!entry.timePrecise() && candidate.createdAt().isBefore(best.createdAt()))) {
+                    best = candidate;
+                }
+            }
+        }
+        return best;
+    }
+
+    private void remove(ReconciliationCandidate candidate) {
+        byTxid.remove(candidate.txid());
+        AmountBucket key = new AmountBucket(candidate.amountCents(), bucketOf(candidate.createdAt()));
+        List<ReconciliationCandidate> candidates = byAmountAndBucket.get(key);
+        if (candidates != null) {
+            candidates.remove(candidate);
+            if (candidates.isEmpty()) {
+                byAmountAndBucket.remove(key);
+            }
+        }
+    }
+
+    private static long bucketOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 60 / BUCKET_MINUTES;
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.smartmesquitaapi.pix.reconciliation;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lançamento de um extrato bancário
+ *
+ * @param lineNumber  linha (CSV) ou posição (OFX) do lançamento no arquivo
+ * @param postedAt    data/hora do lançamento
+ * @param timePrecise false quando o banco informa apenas a data
+ * @param amountCents valor em centavos; negativo para débitos
+ * @param txid        txid informado explicitamente pelo banco, se houver
+ * @param reference   identificador do lançamento no banco (FITID, E2E...)
+ * @param description histórico/memo livre, onde o txid costuma aparecer
+ */
+public record StatementEntry(
+        int lineNumber,
+        LocalDateTime postedAt,
+        boolean timePrecise,
+        long amountCents,
+        String txid,
+        String reference,
+        String description
+) {
+
+    public boolean isCredit() {
+        return amountCents > 0;
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.smartmesquitaapi.pix.reconciliation;
+
+/**
+ * Formatos de extrato bancário aceitos na importação
+ */
+public enum StatementFormat {
+    OFX,
+    CSV;
+
+    /**
+     * Deduz o formato pela extensão do arquivo enviado
+     */
+    public static StatementFormat fromFilename(String filename) {
+        if (filename != null && filename.toLowerCase().endsWith(".ofx")) {
+            return OFX;
+        }
+        return CSV;
+    }
+}
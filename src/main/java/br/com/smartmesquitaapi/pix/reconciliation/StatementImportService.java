@@ -0,0 +1,155 @@
+package br.com.smartmesquitaapi.pix.reconciliation;
+
+import br.com.smartmesquitaapi.organization.exception.OrganizationNotFoundException;
+import br.com.smartmesquitaapi.organization.repository.OrganizationRepository;
+import br.com.smartmesquitaapi.pix.PixChargeRepository;
+import br.com.smartmesquitaapi.pix.PixChargeService;
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import br.com.smartmesquitaapi.pix.dto.StatementImportResult;
+import br.com.smartmesquitaapi.pix.exception.InvalidRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Importa extratos bancários e concilia os créditos com as cobranças PIX.
+ *
+ * O arquivo é lido em streaming e só os créditos são guardados (registros
+ * pequenos). Em seguida as cobranças candidatas do período são carregadas em
+ * uma única consulta, indexadas em memória, e os pagamentos encontrados são
+ * aplicados em lotes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StatementImportService {
+
+    private static final int MAX_ENTRIES = 100_000;
+    private static final int MAX_STATEMENT_DAYS = 93;
+    private static final int MAX_UNMATCHED_SAMPLES = 50;
+
+    /**
+     * O job de expiração marca como EXPIRED as cobranças não pagas em poucos
+     * minutos; quando o extrato chega, o pagamento pode ter ocorrido dentro da
+     * validade e a cobrança já estar expirada.
+     */
+    private static final List<PixChargeStatus> CANDIDATE_STATUSES =
+            List.of(PixChargeStatus.PENDING, PixChargeStatus.EXPIRED);
+
+    private final PixChargeRepository pixChargeRepository;
+    private final OrganizationRepository organizationRepository;
+    private final PixChargeService pixChargeService;
+
+    public StatementImportResult importStatement(UUID organizationId, StatementFormat format, InputStream input) {
+        long start = System.nanoTime();
+
+        if (!organizationRepository.existsById(organizationId)) {
+            throw new OrganizationNotFoundException("Organização não encontrada: " + organizationId);
+        }
+
+        StatementParser parser = format == StatementFormat.OFX ? new OfxStatementParser() : new CsvStatementParser();
+
+        List<StatementEntry> credits = new ArrayList<>();
+        int[] totalEntries = {0};
+        try {
+            parser.parse(input, entry -> {
+                if (++totalEntries[0] > MAX_ENTRIES) {
+                    throw new InvalidRequestException("Extrato excede " + MAX_ENTRIES + " lançamentos");
+                }
+                if (entry.isCredit()) {
+                    credits.add(entry);
+                }
+            });
+        } catch (IOException e) {
+            throw new InvalidRequestException("Falha ao ler o extrato: " + e.getMessage());
+        }
+
+        StatementImportResult.StatementImportResultBuilder result = StatementImportResult.builder()
+                .format(format)
+                .totalEntries(totalEntries[0])
+                .creditEntries(credits.size());
+
+        if (credits.isEmpty()) {
+            return result.unmatchedSamples(List.of())
+                    .durationMs(elapsedMs(start))
+                    .build();
+        }
+
+        LocalDateTime firstPosted = credits.getFirst().postedAt();
+        LocalDateTime lastPosted = firstPosted;
+        for (StatementEntry credit : credits) {
+            if (credit.postedAt().isBefore(firstPosted)) firstPosted = credit.postedAt();
+            if (credit.postedAt().isAfter(lastPosted)) lastPosted = credit.postedAt();
+        }
+        if (ChronoUnit.DAYS.between(firstPosted, lastPosted) > MAX_STATEMENT_DAYS) {
+            throw new InvalidRequestException("Período máximo do extrato: " + MAX_STATEMENT_DAYS + " dias");
+        }
+
+        // A cobrança é criada até 1h antes do pagamento; lançamentos sem hora cobrem o dia todo
+        List<ReconciliationCandidate> candidates = pixChargeRepository.findReconciliationCandidates(
+                organizationId,
+                CANDIDATE_STATUSES,
+                firstPosted.toLocalDate().atStartOfDay().minusHours(2),
+                lastPosted.toLocalDate().plusDays(1).atStartOfDay()
+        );
+        ReconciliationIndex index = ReconciliationIndex.of(candidates);
+
+        List<ReconciledPayment> payments = new ArrayList<>();
+        List<String> unmatchedSamples = new ArrayList<>();
+        int matchedByTxid = 0;
+        int matchedByAmount = 0;
+
+        for (StatementEntry credit : credits) {
+            var match = index.match(credit);
+            if (match.isEmpty()) {
+                if (unmatchedSamples.size() < MAX_UNMATCHED_SAMPLES) {
+                    unmatchedSamples.add("linha " + credit.lineNumber()
+                            + (credit.reference() != null ? " (" + credit.reference() + ")" : ""));
+                }
+                continue;
+            }
+
+            if (match.get().type() == ReconciliationIndex.MatchType.TXID) {
+                matchedByTxid++;
+            } else {
+                matchedByAmount++;
+            }
+            payments.add(new ReconciledPayment(
+                    match.get().candidate().id(),
+                    credit.postedAt(),
+                    "Conciliado via extrato " + format + ", linha " + credit.lineNumber()
+                            + (credit.reference() != null ? ", ref " + credit.reference() : "")
+            ));
+        }
+
+        int updated = pixChargeService.applyReconciledPayments(payments);
+        int unmatched = credits.size() - payments.size();
+
+        log.info("Extrato importado - Org: {} | Formato: {} | Lançamentos: {} | Créditos: {} | " +
+                        "Conciliados: {} (txid {}, valor {}) | Sem cobrança: {}",
+                organizationId, format, totalEntries[0], credits.size(),
+                updated, matchedByTxid, matchedByAmount, unmatched);
+
+        return result
+                .candidateCharges(candidates.size())
+                .matchedByTxid(matchedByTxid)
+                .matchedByAmount(matchedByAmount)
+                .updatedCharges(updated)
+                .unmatchedCredits(unmatched)
+                .unmatchedSamples(unmatchedSamples)
+                .durationMs(elapsedMs(start))
+                .build();
+    }
+
+    private static long elapsedMs(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
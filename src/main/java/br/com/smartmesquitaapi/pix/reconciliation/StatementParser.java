@@ -0,0 +1,14 @@
+package br.com.smartmesquitaapi.pix.reconciliation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Lê um extrato de forma incremental, entregando cada lançamento assim que
+ * é reconhecido, sem carregar o arquivo inteiro em memória.
+ */
+public interface StatementParser {
+
+    void parse(InputStream input, Consumer<StatementEntry> sink) throws IOException;
+}
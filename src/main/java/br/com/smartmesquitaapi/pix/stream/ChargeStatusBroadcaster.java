@@ -0,0 +1,70 @@
+package br.com.smartmesquitaapi.pix.stream;
+
+import br.com.smartmesquitaapi.outbox.OutboxEventHandler;
+import br.com.smartmesquitaapi.pix.event.PixChargeStatusChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Distribui mudanças de status de cobrança para todas as instâncias.
+ *
+ * O outbox entrega a mudança já confirmada, que é publicada no canal Redis; cada instância
+ * (inclusive a que publicou) recebe a mensagem e a entrega às suas
+ * conexões SSE locais.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChargeStatusBroadcaster implements MessageListener, OutboxEventHandler<PixChargeStatusChangedEvent> {
+
+    static final String CHANNEL = "pix:charge-status";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChargeStatusEmitterRegistry emitterRegistry;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public String eventType() {
+        return PixChargeStatusChangedEvent.TYPE;
+    }
+
+    @Override
+    public Class<PixChargeStatusChangedEvent> payloadType() {
+        return PixChargeStatusChangedEvent.class;
+    }
+
+    @Override
+    public void handle(PixChargeStatusChangedEvent event) {
+        ChargeStatusMessage message = ChargeStatusMessage.from(event);
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            // Sem Redis, ao menos os totems conectados nesta instância são avisados
+            log.warn("Falha ao publicar status da cobrança {} no Redis: {}", event.txid(), e.getMessage());
+            emitterRegistry.deliver(message);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            emitterRegistry.deliver(objectMapper.readValue(message.getBody(), ChargeStatusMessage.class));
+        } catch (Exception e) {
+            log.error("Mensagem de status de cobrança inválida recebida do Redis", e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.smartmesquitaapi.pix.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Conexões SSE abertas nesta instância, por organização e por txid.
+ *
+ * Os emitters usam o suporte assíncrono do servlet: uma conexão ociosa não
+ * ocupa thread, apenas o registro neste mapa.
+ *
+ * Inclusão e remoção alteram o conjunto de uma chave sempre dentro de
+ * compute/computeIfPresent, então uma inscrição nova não cai em um conjunto
+ * que a última remoção acabou de tirar do mapa, e conjuntos vazios não ficam.
+ */
+@Component
+@Slf4j
+public class ChargeStatusEmitterRegistry {
+
+    static final String EVENT_NAME = "charge-status";
+    private static final long EMITTER_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+
+    private final Map<UUID, Set<SseEmitter>> byOrganization = new ConcurrentHashMap<>();
+    private final Map<String, Set<SseEmitter>> byTxid = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribeOrganization(UUID organizationId) {
+        return register(byOrganization, organizationId);
+    }
+
+    public SseEmitter subscribeCharge(String txid) {
+        return register(byTxid, txid);
+    }
+
+    /**
+     * Desfaz uma inscrição cujo emitter não chegou a ser devolvido ao cliente
+     */
+    public void unsubscribeCharge(String txid, SseEmitter emitter) {
+        unregister(byTxid, txid, emitter);
+    }
+
+    /**
+     * Entrega a mensagem às conexões locais interessadas.
+     * Conexões de uma cobrança são encerradas quando o status é final.
+     */
+    public void deliver(ChargeStatusMessage message) {
+        Set<SseEmitter> orgEmitters = byOrganization.get(message.organizationId());
+        if (orgEmitters != null) {
+            orgEmitters.forEach(emitter -> send(byOrganization, message.organizationId(), emitter, message));
+        }
+
+        Set<SseEmitter> chargeEmitters = byTxid.get(message.txid());
+        if (chargeEmitters != null) {
+            chargeEmitters.forEach(emitter -> {
+                if (send(byTxid, message.txid(), emitter, message) && message.status().isFinal()) {
+                    emitter.complete();
+                }
+            });
+        }
+    }
+
+    /**
+     * Comentário periódico para manter proxies abertos e detectar clientes desconectados
+     */
+    @Scheduled(fixedDelay = 20000)
+    public void heartbeat() {
+        byOrganization.forEach((organizationId, emitters) -> ping(byOrganization, organizationId, emitters));
+        byTxid.forEach((txid, emitters) -> ping(byTxid, txid, emitters));
+    }
+
+    public int connectionCount() {
+        return byOrganization.values().stream().mapToInt(Set::size).sum()
+                + byTxid.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private <K> SseEmitter register(Map<K, Set<SseEmitter>> index, K key) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        index.compute(key, (k, emitters) -> {
+            Set<SseEmitter> target = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            target.add(emitter);
+            return target;
+        });
+
+        Runnable remove = () -> unregister(index, key, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        return emitter;
+    }
+
+    private static <K> void unregister(Map<K, Set<SseEmitter>> index, K key, SseEmitter emitter) {
+        index.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static <K> boolean send(Map<K, Set<SseEmitter>> index, K key, SseEmitter emitter,
+                                    ChargeStatusMessage message) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(message.chargeId() + ":" + message.status())
+                    .data(message));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Conexão SSE encerrada pelo cliente: {}", e.getMessage());
+            unregister(index, key, emitter);
+            return false;
+        }
+    }
+
+    private static <K> void ping(Map<K, Set<SseEmitter>> index, K key, Set<SseEmitter> emitters) {
+        emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                unregister(index, key, emitter);
+            }
+        });
+    }
+}
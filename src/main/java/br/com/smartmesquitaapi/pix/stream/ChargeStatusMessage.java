@@ -0,0 +1,36 @@
+package br.com.smartmesquitaapi.pix.stream;
+
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import br.com.smartmesquitaapi.pix.event.PixChargeStatusChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Mensagem de mudança de status enviada aos totems via SSE
+ * (e trafegada entre instâncias via Redis pub/sub).
+ */
+public record ChargeStatusMessage(
+        UUID chargeId,
+        UUID organizationId,
+        String txid,
+        String localDonationId,
+        Integer amountCents,
+        PixChargeStatus previousStatus,
+        PixChargeStatus status,
+        LocalDateTime occurredAt
+) {
+
+    public static ChargeStatusMessage from(PixChargeStatusChangedEvent event) {
+        return new ChargeStatusMessage(
+                event.chargeId(),
+                event.organizationId(),
+                event.txid(),
+                event.localDonationId(),
+                event.amountCents(),
+                event.previousStatus(),
+                event.newStatus(),
+                event.occurredAt()
+        );
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.smartmesquitaapi.pix.stream;
+
+import br.com.smartmesquitaapi.pix.PixChargeRepository;
+import br.com.smartmesquitaapi.pix.dto.PixChargeSummary;
+import br.com.smartmesquitaapi.pix.exception.ChargeNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Abre as conexões SSE de acompanhamento de status de cobranças
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChargeStatusStreamService {
+
+    private final ChargeStatusEmitterRegistry emitterRegistry;
+    private final PixChargeRepository pixChargeRepository;
+
+    /**
+     * Recebe todas as mudanças de status das cobranças da organização
+     */
+    public SseEmitter streamOrganization(UUID organizationId) {
+        return emitterRegistry.subscribeOrganization(organizationId);
+    }
+
+    /**
+     * Recebe as mudanças de status de uma cobrança.
+     *
+     * A inscrição vem antes da leitura do status atual, que é enviado logo na abertura:
+     * uma confirmação ocorrida antes da conexão chega pela leitura e uma ocorrida
+     * durante a abertura chega pelo registry. O mesmo status pode chegar duas vezes;
+     * o cliente descarta pelo id do evento (cobrança:status). Se já for final, a
+     * conexão é encerrada.
+     */
+    public SseEmitter streamCharge(UUID organizationId, String txid) {
+        SseEmitter emitter = emitterRegistry.subscribeCharge(txid);
+
+        PixChargeSummary charge = pixChargeRepository.findSummaryByTxidAndOrganizationId(txid, organizationId)
+                .orElse(null);
+        if (charge == null) {
+            emitterRegistry.unsubscribeCharge(txid, emitter);
+            throw new ChargeNotFoundException("Cobrança não encontrada: " + txid);
+        }
+
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(ChargeStatusEmitterRegistry.EVENT_NAME)
+                    .id(charge.getId() + ":" + charge.getStatus())
+                    .data(new ChargeStatusMessage(
+                            charge.getId(),
+                            organizationId,
+                            charge.getTxid(),
+                            charge.getLocalDonationId(),
+                            charge.getAmountCents(),
+                            null,
+                            charge.getStatus(),
+                            charge.getConfirmedAt() != null ? charge.getConfirmedAt() : charge.getCreatedAt()
+                    )));
+
+            if (charge.getStatus().isFinal()) {
+                emitter.complete();
+            }
+        } catch (IOException e) {
+            log.debug("Cliente desconectou antes do status inicial da cobrança {}", txid);
+            emitter.completeWithError(e);
+        } catch (IllegalStateException e) {
+            // O registry já entregou o status final e encerrou a conexão
+            log.debug("Conexão da cobrança {} encerrada antes do status inicial", txid);
+        }
+
+        return emitter;
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.smartmesquitaapi.pix.webhook;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acesso à tabela pix_webhook_inbox via JDBC: inserção em lote com
+ * ON CONFLICT e leitura com FOR UPDATE SKIP LOCKED não têm equivalente direto no JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PixWebhookInboxRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO pix_webhook_inbox (end_to_end_id, txid, amount_cents, paid_at, psp_name, payload) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (end_to_end_id) DO NOTHING";
+
+    private static final String LOCK_PENDING_SQL =
+            "SELECT id, end_to_end_id, txid, amount_cents, paid_at, psp_name " +
+            "FROM pix_webhook_inbox WHERE processed_at IS NULL " +
+            "ORDER BY id LIMIT ? " +
+            "FOR UPDATE SKIP LOCKED";
+
+    private static final String MARK_PROCESSED_SQL =
+            "UPDATE pix_webhook_inbox SET processed_at = ?, outcome = ? WHERE id = ?";
+
+    private static final String DELETE_PROCESSED_SQL =
+            "DELETE FROM pix_webhook_inbox WHERE processed_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NewNotification(
+            String endToEndId,
+            String txid,
+            long amountCents,
+            LocalDateTime paidAt,
+            String pspName,
+            String payload
+    ) {}
+
+    /**
+     * Grava as notificações em um único lote e em uma única transação: sem ela,
+     * em autocommit, cada INSERT do lote seria confirmado sozinho e uma falha no
+     * meio deixaria parte da requisição gravada (o PSP reenviaria tudo).
+     *
+     * @return quantas eram novas (reenvios com o mesmo endToEndId são ignorados)
+     */
+    @Transactional
+    public int enqueue(List<NewNotification> notifications) {
+        int[][] results = jdbcTemplate.batchUpdate(INSERT_SQL, notifications, notifications.size(), (ps, n) -> {
+            ps.setString(1, n.endToEndId());
+            ps.setString(2, n.txid());
+            ps.setLong(3, n.amountCents());
+            ps.setTimestamp(4, Timestamp.valueOf(n.paidAt()));
+            ps.setString(5, n.pspName());
+            ps.setString(6, n.payload());
+        });
+
+        return Arrays.stream(results).flatMapToInt(Arrays::stream).map(count -> Math.max(count, 0)).sum();
+    }
+
+    /**
+     * Bloqueia o próximo lote de pendentes. Linhas já bloqueadas por outra
+     * instância são puladas, então vários processadores dividem a fila.
+     * Deve ser chamado dentro de uma transação.
+     */
+    public List<PspPayment> lockPending(int limit) {
+        return jdbcTemplate.query(LOCK_PENDING_SQL, (rs, rowNum) -> new PspPayment(
+                rs.getLong("id"),
+                rs.getString("end_to_end_id"),
+                rs.getString("txid"),
+                rs.getLong("amount_cents"),
+                rs.getTimestamp("paid_at").toLocalDateTime(),
+                rs.getString("psp_name")
+        ), limit);
+    }
+
+    public void markProcessed(Map<Long, WebhookOutcome> outcomes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<Long, WebhookOutcome>> entries = List.copyOf(outcomes.entrySet());
+
+        jdbcTemplate.batchUpdate(MARK_PROCESSED_SQL, entries, entries.size(), (ps, entry) -> {
+            ps.setTimestamp(1, now);
+            ps.setString(2, entry.getValue().name());
+            ps.setLong(3, entry.getKey());
+        });
+    }
+
+    public int deleteProcessedBefore(LocalDateTime threshold) {
+        return jdbcTemplate.update(DELETE_PROCESSED_SQL, Timestamp.valueOf(threshold));
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.smartmesquitaapi.pix.webhook;
+
+import br.com.smartmesquitaapi.pix.PixChargeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Processa a caixa de entrada do webhook em lotes.
+ *
+ * Cada lote é bloqueado com SKIP LOCKED, aplicado às cobranças e marcado
+ * como processado na mesma transação: se algo falhar, o lote inteiro volta
+ * para a fila. A baixa é idempotente por txid, então reprocessar não paga
+ * uma cobrança duas vezes.
+ */
+@Component
+@Slf4j
+public class PixWebhookProcessor {
+
+    private final PixWebhookInboxRepository inboxRepository;
+    private final PixChargeService pixChargeService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int retentionDays;
+
+    public PixWebhookProcessor(
+            PixWebhookInboxRepository inboxRepository,
+            PixChargeService pixChargeService,
+            PlatformTransactionManager transactionManager,
+            @Value("${pix.webhook.batch-size:500}") int batchSize,
+            @Value("${pix.webhook.retention-days:30}") int retentionDays
+    ) {
+        this.inboxRepository = inboxRepository;
+        this.pixChargeService = pixChargeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Esvazia a fila: processa lotes enquanto vierem cheios
+     */
+    @Scheduled(fixedDelayString = "${pix.webhook.poll-interval-ms:250}")
+    public void drain() {
+        try {
+            int processed;
+            do {
+                processed = transactionTemplate.execute(status -> processBatch());
+            } while (processed == batchSize);
+        } catch (OptimisticLockingFailureException e) {
+            // Cobrança alterada por outro escritor durante o lote: o lote volta para a fila
+            log.warn("Lote de webhook desfeito por alteração concorrente; será reprocessado: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Erro ao processar notificações do webhook PIX", e);
+        }
+    }
+
+    @Scheduled(cron = "${pix.webhook.cleanup-cron:0 15 4 * * *}")
+    public void deleteOldNotifications() {
+        int deleted = inboxRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Notificações de webhook antigas removidas: {}", deleted);
+        }
+    }
+
+    private int processBatch() {
+        List<PspPayment> payments = inboxRepository.lockPending(batchSize);
+        if (payments.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, WebhookOutcome> outcomes = pixChargeService.applyPspPayments(payments);
+        inboxRepository.markProcessed(outcomes);
+
+        long paid = outcomes.values().stream().filter(outcome -> outcome == WebhookOutcome.PAID).count();
+        log.info("Lote de webhook processado - Notificações: {} | Pagas: {}", payments.size(), paid);
+
+        return payments.size();
+    }
+}
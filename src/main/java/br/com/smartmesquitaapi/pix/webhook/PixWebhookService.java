@@ -0,0 +1,111 @@
+package br.com.smartmesquitaapi.pix.webhook;
+
+import br.com.smartmesquitaapi.pix.dto.PixWebhookNotification;
+import br.com.smartmesquitaapi.pix.dto.PixWebhookRequest;
+import br.com.smartmesquitaapi.pix.exception.InvalidRequestException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recebe as notificações de pagamento do PSP.
+ *
+ * O webhook apenas valida e grava as notificações na caixa de entrada;
+ * a resposta sai assim que a inserção é confirmada pelo banco. A validação roda
+ * fora de transação; só a gravação do lote (atômica) segura uma conexão. A baixa das
+ * cobranças é feita pelo {@link PixWebhookProcessor}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PixWebhookService {
+
+    private static final int MAX_NOTIFICATIONS_PER_REQUEST = 1000;
+
+    private final WebhookSignatureVerifier signatureVerifier;
+    private final PixWebhookInboxRepository inboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${pix.psp.name:static-key}")
+    private String pspName;
+
+    /**
+     * @return quantidade recebida e quantidade nova (não duplicada) enfileirada
+     */
+    public Map<String, Integer> ingest(byte[] body, String signature) {
+        signatureVerifier.verify(body, signature);
+
+        PixWebhookRequest request;
+        try {
+            request = objectMapper.readValue(body, PixWebhookRequest.class);
+        } catch (IOException e) {
+            throw new InvalidRequestException("Corpo do webhook inválido");
+        }
+
+        List<PixWebhookNotification> notifications = request.getPix();
+        if (notifications == null || notifications.isEmpty()) {
+            return Map.of("received", 0, "enqueued", 0);
+        }
+        if (notifications.size() > MAX_NOTIFICATIONS_PER_REQUEST) {
+            throw new InvalidRequestException("Máximo de " + MAX_NOTIFICATIONS_PER_REQUEST + " notificações por requisição");
+        }
+
+        List<PixWebhookInboxRepository.NewNotification> rows = new ArrayList<>(notifications.size());
+        for (PixWebhookNotification notification : notifications) {
+            rows.add(toRow(notification));
+        }
+
+        int enqueued = inboxRepository.enqueue(rows);
+
+        log.debug("Webhook PIX recebido - PSP: {} | Notificações: {} | Novas: {}", pspName, rows.size(), enqueued);
+
+        return Map.of("received", rows.size(), "enqueued", enqueued);
+    }
+
+    private PixWebhookInboxRepository.NewNotification toRow(PixWebhookNotification notification) {
+        if (notification.getEndToEndId() == null || notification.getEndToEndId().isBlank()) {
+            throw new InvalidRequestException("Notificação sem endToEndId");
+        }
+
+        long amountCents;
+        LocalDateTime paidAt;
+        String payload;
+        try {
+            amountCents = new BigDecimal(notification.getValor()).movePointRight(2).longValueExact();
+            paidAt = OffsetDateTime.parse(notification.getHorario())
+                    .atZoneSameInstant(ZoneId.systemDefault())
+                    .toLocalDateTime();
+            payload = objectMapper.writeValueAsString(notification);
+        } catch (NullPointerException | ArithmeticException | NumberFormatException | DateTimeParseException e) {
+            throw new InvalidRequestException("Notificação com valor ou horário inválido: " + notification.getEndToEndId());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar notificação", e);
+        }
+
+        String txid = notification.getTxid() == null || notification.getTxid().isBlank()
+                ? null
+                : notification.getTxid().trim();
+
+        return new PixWebhookInboxRepository.NewNotification(
+                notification.getEndToEndId().trim(),
+                txid,
+                amountCents,
+                paidAt,
+                pspName,
+                payload
+        );
+    }
+}
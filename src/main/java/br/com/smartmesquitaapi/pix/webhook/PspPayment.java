@@ -0,0 +1,16 @@
+package br.com.smartmesquitaapi.pix.webhook;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pagamento notificado pelo PSP, lido da caixa de entrada
+ */
+public record PspPayment(
+        long inboxId,
+        String endToEndId,
+        String txid,
+        long amountCents,
+        LocalDateTime paidAt,
+        String pspName
+) {
+}
@@ -0,0 +1,192 @@
+package br.com.smartmesquitaapi.pix.webhook;
+
+import br.com.smartmesquitaapi.pix.PixChargeRepository;
+import br.com.smartmesquitaapi.pix.dto.PixWebhookNotification;
+import br.com.smartmesquitaapi.pix.dto.PixWebhookRequest;
+import br.com.smartmesquitaapi.pix.dto.PspSimulationRequest;
+import br.com.smartmesquitaapi.pix.dto.PspSimulationResult;
+import br.com.smartmesquitaapi.pix.reconciliation.ReconciliationCandidate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * PSP simulado para desenvolvimento e testes de carga.
+ *
+ * Gera notificações de pagamento para as cobranças pendentes da organização
+ * indicada no pedido (completando com txids inexistentes quando faltam pendentes)
+ * e as envia, assinadas, ao webhook na taxa pedida. Cobranças de outras
+ * organizações nunca são pagas. Só existe com pix.webhook.simulator.enabled=true,
+ * que vem desligado por padrão.
+ */
+@Component
+@ConditionalOnProperty(name = "pix.webhook.simulator.enabled", havingValue = "true")
+@Slf4j
+public class PspSimulator {
+
+    private static final DateTimeFormatter E2E_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final String SIMULATED_ISPB = "00000000";
+    private static final char[] ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+    private final PixChargeRepository pixChargeRepository;
+    private final WebhookSignatureVerifier signatureVerifier;
+    private final ObjectMapper objectMapper;
+    private final URI targetUri;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    public PspSimulator(
+            PixChargeRepository pixChargeRepository,
+            WebhookSignatureVerifier signatureVerifier,
+            ObjectMapper objectMapper,
+            @Value("${pix.webhook.simulator.target-url:http://localhost:${server.port:8080}/api/v1/webhooks/pix}") String targetUrl
+    ) {
+        this.pixChargeRepository = pixChargeRepository;
+        this.signatureVerifier = signatureVerifier;
+        this.objectMapper = objectMapper;
+        this.targetUri = URI.create(targetUrl);
+    }
+
+    public PspSimulationResult replay(PspSimulationRequest request) {
+        List<ReconciliationCandidate> pending = pixChargeRepository.findRecentPendingCandidatesByOrganization(
+                request.getOrganizationId(), Limit.of(request.getCount()));
+
+        List<PixWebhookNotification> notifications = new ArrayList<>(request.getCount());
+        for (ReconciliationCandidate charge : pending) {
+            notifications.add(notification(charge.txid(), charge.amountCents()));
+        }
+        int synthetic = request.getCount() - pending.size();
+        for (int i = 0; i < synthetic; i++) {
+            notifications.add(notification("SIM" + randomAlphanumeric(22), 100 + ThreadLocalRandom.current().nextInt(10_000)));
+        }
+
+        int duplicates = (int) Math.round(notifications.size() * request.getDuplicateRatio());
+        for (int i = 0; i < duplicates; i++) {
+            notifications.add(notifications.get(ThreadLocalRandom.current().nextInt(request.getCount())));
+        }
+
+        log.info("Simulador PSP iniciado - Org: {} | Notificações: {} (pendentes {}, sintéticas {}, reenvios {}) | Taxa: {}/s | Destino: {}",
+                request.getOrganizationId(), notifications.size(), pending.size(), synthetic, duplicates,
+                request.getRatePerSecond(), targetUri);
+
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong enqueued = new AtomicLong();
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+
+        long nanosPerNotification = TimeUnit.SECONDS.toNanos(1) / request.getRatePerSecond();
+        long start = System.nanoTime();
+
+        for (int from = 0; from < notifications.size(); from += request.getBatchSize()) {
+            // Modelo aberto: cada lote sai no seu horário, independente da latência das respostas
+            long sendAt = start + from * nanosPerNotification;
+            long wait = sendAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            List<PixWebhookNotification> batch =
+                    notifications.subList(from, Math.min(from + request.getBatchSize(), notifications.size()));
+            inFlight.add(send(batch)
+                    .thenAccept(response -> {
+                        if (response.statusCode() / 100 != 2) {
+                            failed.incrementAndGet();
+                            return;
+                        }
+                        enqueued.addAndGet(enqueuedCount(response.body()));
+                    })
+                    .exceptionally(error -> {
+                        failed.incrementAndGet();
+                        return null;
+                    }));
+        }
+
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        long durationMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        PspSimulationResult result = PspSimulationResult.builder()
+                .pendingChargesPaid(pending.size())
+                .syntheticNotifications(synthetic)
+                .duplicatesSent(duplicates)
+                .notificationsSent(notifications.size())
+                .requestsSent(inFlight.size())
+                .requestsFailed(failed.get())
+                .enqueued(enqueued.get())
+                .durationMs(durationMs)
+                .notificationsPerSecond(notifications.size() * 1000.0 / durationMs)
+                .build();
+
+        log.info("Simulador PSP concluído - {}", result);
+        return result;
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(List<PixWebhookNotification> batch) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new PixWebhookRequest(batch));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HttpRequest httpRequest = HttpRequest.newBuilder(targetUri)
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .header(WebhookSignatureVerifier.HEADER, signatureVerifier.sign(body))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private long enqueuedCount(String responseBody) {
+        try {
+            JsonNode node = objectMapper.readTree(responseBody);
+            return node.path("enqueued").asLong();
+        } catch (JsonProcessingException e) {
+            return 0;
+        }
+    }
+
+    private static PixWebhookNotification notification(String txid, long amountCents) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return PixWebhookNotification.builder()
+                .endToEndId("E" + SIMULATED_ISPB + now.format(E2E_TIMESTAMP) + randomAlphanumeric(11))
+                .txid(txid)
+                .valor(BigDecimal.valueOf(amountCents, 2).toPlainString())
+                .horario(now.toString())
+                .infoPagador("Pagamento simulado")
+                .build();
+    }
+
+    private static String randomAlphanumeric(int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHANUMERIC[random.nextInt(ALPHANUMERIC.length)];
+        }
+        return new String(chars);
+    }
+}
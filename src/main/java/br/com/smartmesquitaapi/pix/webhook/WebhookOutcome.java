@@ -0,0 +1,32 @@
+package br.com.smartmesquitaapi.pix.webhook;
+
+/**
+ * Resultado do processamento de uma notificação de pagamento
+ */
+public enum WebhookOutcome {
+
+    /**
+     * Cobrança marcada como paga
+     */
+    PAID,
+
+    /**
+     * Cobrança já estava paga (notificação repetida ou confirmação manual anterior)
+     */
+    ALREADY_PAID,
+
+    /**
+     * Nenhuma cobrança com o txid informado
+     */
+    UNKNOWN_TXID,
+
+    /**
+     * Valor pago diferente do valor da cobrança; requer análise manual
+     */
+    AMOUNT_MISMATCH,
+
+    /**
+     * Cobrança cancelada
+     */
+    NOT_PAYABLE
+}
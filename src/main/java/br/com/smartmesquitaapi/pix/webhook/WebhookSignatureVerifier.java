@@ -0,0 +1,48 @@
+package br.com.smartmesquitaapi.pix.webhook;
+
+import br.com.smartmesquitaapi.pix.exception.InvalidWebhookSignatureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Assinatura HMAC-SHA256 do corpo do webhook, enviada pelo PSP no header
+ * X-Webhook-Signature no formato "sha256=&lt;hex&gt;".
+ */
+@Component
+public class WebhookSignatureVerifier {
+
+    public static final String HEADER = "X-Webhook-Signature";
+    private static final String PREFIX = "sha256=";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+
+    public WebhookSignatureVerifier(@Value("${pix.webhook.secret}") String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+    }
+
+    public String sign(byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return PREFIX + HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Falha ao calcular assinatura do webhook", e);
+        }
+    }
+
+    public void verify(byte[] body, String signature) {
+        if (signature == null || !MessageDigest.isEqual(
+                sign(body).getBytes(StandardCharsets.US_ASCII),
+                signature.trim().toLowerCase().getBytes(StandardCharsets.US_ASCII))) {
+            throw new InvalidWebhookSignatureException("Assinatura do webhook inválida");
+        }
+    }
+}
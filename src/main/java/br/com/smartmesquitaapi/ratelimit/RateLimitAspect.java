@@ -1,6 +1,7 @@
 package br.com.smartmesquitaapi.ratelimit;
 
 import br.com.smartmesquitaapi.api.exception.infrastructure.RateLimitExceededException;
+import br.com.smartmesquitaapi.jfr.RateLimitCheckEvent;
 import br.com.smartmesquitaapi.ratelimit.annotations.RateLimit;
 import br.com.smartmesquitaapi.ratelimit.keygenerators.RateLimitKeyGenerator;
 import lombok.extern.slf4j.Slf4j;
@@ -26,10 +27,19 @@ public class RateLimitAspect {
 
     private final RateLimitService rateLimitService;
     private final List<RateLimitKeyGenerator> keyGenerators;
-
-    public RateLimitAspect(RateLimitService rateLimitService, List<RateLimitKeyGenerator> keyGenerators) {
+    private final RateLimitMetrics metrics;
+    private final RateLimitHeavyHitters heavyHitters;
+
+    public RateLimitAspect(
+            RateLimitService rateLimitService,
+            List<RateLimitKeyGenerator> keyGenerators,
+            RateLimitMetrics metrics,
+            RateLimitHeavyHitters heavyHitters
+    ) {
         this.rateLimitService = rateLimitService;
         this.keyGenerators = keyGenerators;
+        this.metrics = metrics;
+        this.heavyHitters = heavyHitters;
     }
 
     @Around("@annotation(br.com.smartmesquitaapi.ratelimit.annotations.RateLimit)")
@@ -52,7 +62,15 @@ public class RateLimitAspect {
         String baseKey = buildBaseKey(joinPoint, rateLimit);
         String key = buildRateLimitKey(rateLimit, baseKey);
 
+        RateLimitCheckEvent event = new RateLimitCheckEvent();
+        event.begin();
+        long redisStart = System.nanoTime();
+
         if (rateLimitService.isBanned(key)) {
+            long redisNanos = System.nanoTime() - redisStart;
+            event.finish(key, RateLimitCheckEvent.BANNED, redisNanos);
+            metrics.recordDecision(baseKey, RateLimitMetrics.BANNED, redisNanos);
+            heavyHitters.recordDenial(key);
             throw new RateLimitExceededException(
                     "Você foi temporariamente bloqueado. Tente novamente mais tarde."
             );
@@ -64,6 +82,10 @@ public class RateLimitAspect {
         if (!allowed) {
             long remaining = rateLimitService.getRemainingRequests(key, rateLimit.limit());
             long resetTime = rateLimitService.getResetTimeSeconds(key);
+            long redisNanos = System.nanoTime() - redisStart;
+            event.finish(key, RateLimitCheckEvent.DENIED, redisNanos);
+            metrics.recordDecision(baseKey, RateLimitMetrics.DENIED, redisNanos);
+            heavyHitters.recordDenial(key);
 
             throw new RateLimitExceededException(
                     String.format("Limite de requisições excedido. Tente novamente em %d segundos.", resetTime),
@@ -73,6 +95,9 @@ public class RateLimitAspect {
         }
 
         addRateLimitHeaders(key, rateLimit.limit());
+        long redisNanos = System.nanoTime() - redisStart;
+        event.finish(key, RateLimitCheckEvent.ALLOWED, redisNanos);
+        metrics.recordDecision(baseKey, RateLimitMetrics.ALLOWED, redisNanos);
 
         return joinPoint.proceed();
     }
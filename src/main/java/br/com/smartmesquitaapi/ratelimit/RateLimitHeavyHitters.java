@@ -0,0 +1,136 @@
+package br.com.smartmesquitaapi.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chaves de rate limit com mais bloqueios (algoritmo Space-Saving).
+ *
+ * Guarda no máximo "capacity" chaves em memória, qualquer que seja o volume.
+ * Quando uma chave nova chega com a tabela cheia, ela substitui a de menor
+ * contagem e herda essa contagem como erro: count é um teto e
+ * count - error um piso para o número real de bloqueios. Toda chave com
+ * mais de total / capacity bloqueios está garantidamente na tabela.
+ *
+ * Os contadores são por nó e recomeçam a cada restart.
+ *
+ * ReentrantLock em vez de synchronized: no Java 21 uma virtual thread que
+ * espera por um monitor prende a carrier thread; esperando pelo lock, não.
+ */
+@Component
+public class RateLimitHeavyHitters {
+
+    private final int capacity;
+    private final Map<String, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long totalDenials;
+
+    public RateLimitHeavyHitters(@Value("${ratelimit.heavy-hitters.capacity:200}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("ratelimit.heavy-hitters.capacity deve ser positivo");
+        }
+        this.capacity = capacity;
+        this.entries = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Registra um bloqueio (limite excedido ou chave banida)
+     */
+    public void recordDenial(String key) {
+        lock.lock();
+        try {
+            totalDenials++;
+
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                entry.count++;
+                return;
+            }
+
+            if (entries.size() < capacity) {
+                entries.put(key, new Entry(key, 1, 0));
+                return;
+            }
+
+            // Bloqueios são raros perto do total de requisições: varrer a tabela é suficiente
+            Entry min = null;
+            for (Entry candidate : entries.values()) {
+                if (min == null || candidate.count < min.count) {
+                    min = candidate;
+                }
+            }
+            entries.remove(min.key);
+            entries.put(key, new Entry(key, min.count + 1, min.count));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * As n chaves com mais bloqueios, da maior para a menor contagem
+     */
+    public List<HeavyHitter> top(int n) {
+        List<HeavyHitter> snapshot = new ArrayList<>(capacity);
+        lock.lock();
+        try {
+            for (Entry entry : entries.values()) {
+                snapshot.add(new HeavyHitter(entry.key, entry.count, entry.count - entry.error));
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Ordenação fora do lock: não atrasa quem está registrando bloqueios
+        snapshot.sort(Comparator.comparingLong(HeavyHitter::denials).reversed());
+        return new ArrayList<>(snapshot.subList(0, Math.min(n, snapshot.size())));
+    }
+
+    public long totalDenials() {
+        lock.lock();
+        try {
+            return totalDenials;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void reset() {
+        lock.lock();
+        try {
+            entries.clear();
+            totalDenials = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param denials       bloqueios contados (pode superestimar)
+     * @param minimumDenials bloqueios garantidos para esta chave
+     */
+    public record HeavyHitter(String key, long denials, long minimumDenials) {
+    }
+
+    private static final class Entry {
+        private final String key;
+        private long count;
+        private final long error;
+
+        private Entry(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.smartmesquitaapi.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas do rate limiting (expostas em /actuator/prometheus).
+ *
+ * A tag "policy" é a chave base do @RateLimit (key() ou a assinatura do
+ * método), nunca a chave final com IP ou usuário: são poucas séries, uma por
+ * endpoint anotado. As chaves individuais ficam em {@link RateLimitHeavyHitters}.
+ *
+ * - ratelimit.decisions: por política e decisão (allowed, denied, banned)
+ * - ratelimit.redis: tempo das chamadas ao Redis de uma verificação
+ * - ratelimit.fallback: falhas do Redis em que a requisição foi liberada
+ */
+@Component
+public class RateLimitMetrics {
+
+    public static final String ALLOWED = "allowed";
+    public static final String DENIED = "denied";
+    public static final String BANNED = "banned";
+
+    private final MeterRegistry registry;
+
+    public RateLimitMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordDecision(String policy, String decision, long redisNanos) {
+        Counter.builder("ratelimit.decisions")
+                .description("Verificações de rate limit por política e decisão")
+                .tag("policy", policy)
+                .tag("decision", decision)
+                .register(registry)
+                .increment();
+
+        Timer.builder("ratelimit.redis")
+                .description("Tempo das chamadas ao Redis em uma verificação de rate limit")
+                .tag("policy", policy)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(registry)
+                .record(redisNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param operation "allow" (incremento do contador) ou "banned" (consulta de banimento)
+     */
+    public void recordFallback(String operation) {
+        Counter.builder("ratelimit.fallback")
+                .description("Falhas do Redis em que o rate limit liberou a requisição")
+                .tag("operation", operation)
+                .register(registry)
+                .increment();
+    }
+}
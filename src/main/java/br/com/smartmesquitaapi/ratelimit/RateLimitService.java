@@ -1,8 +1,7 @@
 package br.com.smartmesquitaapi.ratelimit;
 
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.support.PropertiesLoaderSupport;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
@@ -12,11 +11,20 @@ import java.util.concurrent.TimeUnit;
 @Service
 public class RateLimitService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final String COUNTER_PREFIX = "rateLimit:";
+    private static final String BAN_PREFIX = "banned:";
+
+    /**
+     * Contadores e banimentos são texto puro: INCR já grava o número em
+     * decimal e o banimento só precisa existir
+     */
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitMetrics metrics;
 
 
-    public RateLimitService(RedisTemplate<String, Object> redisTemplate) {
+    public RateLimitService(StringRedisTemplate redisTemplate, RateLimitMetrics metrics) {
         this.redisTemplate = redisTemplate;
+        this.metrics = metrics;
     }
 
     /**
@@ -28,12 +36,13 @@ public class RateLimitService {
      * @return true se pode processar, false se atingiu limite
      */
     public boolean allowRequest(String key, int maxRequests, Duration windowDuration) {
-        String redisKey = "rateLimit:" + key;
+        String redisKey = COUNTER_PREFIX + key;
 
         try {
             Long currentCount = redisTemplate.opsForValue().increment(redisKey);
             if (currentCount == null){
                 log.error("O 'Redis increment' retornou null para chave: {}", redisKey);
+                metrics.recordFallback("allow");
                 return true;
             }
 
@@ -52,19 +61,20 @@ public class RateLimitService {
             return allowed;
         } catch (Exception e) {
             log.error("Verificando erro de 'rate limit' para chave: {}", key, e);
+            metrics.recordFallback("allow");
             return true;
         }
     }
 
     public long getRemainingRequests(String key, int maxRequests) {
-        String redisKey = "ratelimit:" + key;
+        String redisKey = COUNTER_PREFIX + key;
 
         try {
-            Long currentCount = (Long) redisTemplate.opsForValue().get(redisKey);
+            String currentCount = redisTemplate.opsForValue().get(redisKey);
             if (currentCount == null) {
                 return maxRequests;
             }
-            return Math.max(0, maxRequests - currentCount);
+            return Math.max(0, maxRequests - Long.parseLong(currentCount));
         } catch (Exception e) {
             log.error("Error getting remaining requests for key: {}", key, e);
             return maxRequests;
@@ -73,7 +83,7 @@ public class RateLimitService {
 
 
     public long getResetTimeSeconds(String key) {
-        String redisKey = "ratelimit:" + key;
+        String redisKey = COUNTER_PREFIX + key;
 
         try {
             Long ttl = redisTemplate.getExpire(redisKey, TimeUnit.SECONDS);
@@ -85,10 +95,10 @@ public class RateLimitService {
     }
 
     public void ban(String key, Duration duration){
-        String redisKey = "banned:" + key;
+        String redisKey = BAN_PREFIX + key;
 
         try {
-            redisTemplate.opsForValue().set(redisKey, "banned", duration);
+            redisTemplate.opsForValue().set(redisKey, "1", duration);
             log.warn(" Chave banida: {} pelo tempo de: {}", key, duration);
         } catch(Exception e){
             log.error("Erro de chave banida: {}", key, e);
@@ -96,12 +106,13 @@ public class RateLimitService {
     }
 
     public boolean isBanned(String key){
-        String redisKey = "banned:" + key;
+        String redisKey = BAN_PREFIX + key;
 
         try {
             return redisTemplate.hasKey(redisKey);
         } catch (Exception e){
             log.error("Erro ao checar se a chave {} foi banida", key, e);
+            metrics.recordFallback("banned");
             return false;
         }
     }
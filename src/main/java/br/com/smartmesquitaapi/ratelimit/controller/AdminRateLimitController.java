@@ -0,0 +1,55 @@
+package br.com.smartmesquitaapi.ratelimit.controller;
+
+import br.com.smartmesquitaapi.ratelimit.RateLimitHeavyHitters;
+import br.com.smartmesquitaapi.user.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Controller administrativo do rate limiting
+ * Acesso restrito a ADMIN (as chaves contêm IPs e ids de usuário)
+ */
+@RestController
+@RequestMapping("/api/admin/ratelimit")
+@RequiredArgsConstructor
+@Slf4j
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminRateLimitController {
+
+    private static final int MAX_TOP = 100;
+
+    private final RateLimitHeavyHitters heavyHitters;
+
+    /**
+     * Chaves com mais bloqueios neste nó desde o último restart ou reset
+     */
+    @GetMapping("/top-offenders")
+    public ResponseEntity<Map<String, Object>> getTopOffenders(
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        int top = Math.max(1, Math.min(limit, MAX_TOP));
+
+        return ResponseEntity.ok(Map.of(
+                "totalDenials", heavyHitters.totalDenials(),
+                "capacity", heavyHitters.capacity(),
+                "offenders", heavyHitters.top(top)
+        ));
+    }
+
+    /**
+     * Zera o ranking (ex.: depois de ajustar um limite)
+     */
+    @DeleteMapping("/top-offenders")
+    public ResponseEntity<Void> resetTopOffenders(@AuthenticationPrincipal User authenticatedUser) {
+        log.info("DELETE /api/admin/ratelimit/top-offenders - Admin: {}", authenticatedUser.getUserId());
+
+        heavyHitters.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
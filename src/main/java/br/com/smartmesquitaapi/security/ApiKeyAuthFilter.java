@@ -2,6 +2,7 @@ package br.com.smartmesquitaapi.security;
 
 import br.com.smartmesquitaapi.apikey.domain.TotemKey;
 import br.com.smartmesquitaapi.apikey.repository.TotemKeyRepository;
+import br.com.smartmesquitaapi.jfr.AuthenticationEvent;
 import jakarta.servlet.Filter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -33,7 +34,12 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
 
         if (apiKeyHeader != null && SecurityContextHolder.getContext().getAuthentication() == null){
 
+            AuthenticationEvent event = new AuthenticationEvent();
+            event.begin();
+            long dbStart = System.nanoTime();
+
             var totemOptional = totemKeyRepository.findByKeyValueAndIsActiveTrue(apiKeyHeader);
+            long dbTime = System.nanoTime() - dbStart;
 
             if (totemOptional.isPresent()){
                 TotemKey totem = totemOptional.get();
@@ -48,6 +54,7 @@ public class ApiKeyAuthFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(auth);
 
             }
+            event.finish(AuthenticationEvent.API_KEY, totemOptional.isPresent(), dbTime);
         }
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,46 @@
+package br.com.smartmesquitaapi.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.function.Supplier;
+
+/**
+ * Libera o scrape do Prometheus para quem envia o token configurado em
+ * metrics.scrape-token (Authorization: Bearer &lt;token&gt;, ver bearer_token no
+ * scrape_config). Sem token configurado, ninguém passa por aqui.
+ *
+ * Um token inválido como JWT é apenas ignorado pelo {@link SecurityFilter}.
+ */
+@Component
+public class MetricsScrapeAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final byte[] scrapeToken;
+
+    public MetricsScrapeAuthorizationManager(@Value("${metrics.scrape-token:}") String scrapeToken) {
+        this.scrapeToken = scrapeToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        if (scrapeToken.length == 0) {
+            return new AuthorizationDecision(false);
+        }
+
+        String header = context.getRequest().getHeader("Authorization");
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return new AuthorizationDecision(false);
+        }
+
+        byte[] presented = header.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8);
+        return new AuthorizationDecision(MessageDigest.isEqual(scrapeToken, presented));
+    }
+}
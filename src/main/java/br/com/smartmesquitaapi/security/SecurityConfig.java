@@ -6,6 +6,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -26,13 +28,19 @@ public class SecurityConfig {
 
     private final SecurityFilter securityFilter;
     private final ApiKeyAuthFilter apiKeyAuthFilter;
+    private final MetricsScrapeAuthorizationManager metricsScrapeAuthorization;
 
     @Value("${cors.allowed-origins}")
     private String[] allowedOrigins;
 
-    public SecurityConfig(SecurityFilter securityFilter, ApiKeyAuthFilter apiKeyAuthFilter) {
+    public SecurityConfig(
+            SecurityFilter securityFilter,
+            ApiKeyAuthFilter apiKeyAuthFilter,
+            MetricsScrapeAuthorizationManager metricsScrapeAuthorization
+    ) {
         this.securityFilter = securityFilter;
         this.apiKeyAuthFilter = apiKeyAuthFilter;
+        this.metricsScrapeAuthorization = metricsScrapeAuthorization;
     }
 
     @Bean
@@ -40,6 +48,7 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
+                // JWT e X-API-KEY a cada requisição: sem HttpSession nem Spring Session no Redis
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(
@@ -48,8 +57,18 @@ public class SecurityConfig {
                                 "/swagger-ui.html"
                         ).permitAll()
                         .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+                        // Respostas assíncronas (streaming) já foram autorizadas no dispatch original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/auth/register").permitAll()
+                        // Autenticado pela assinatura HMAC (PixWebhookService)
+                        .requestMatchers(HttpMethod.POST, "/api/v1/webhooks/pix").permitAll()
+                        // Scrape do Prometheus: token de scrape (metrics.scrape-token) ou ADMIN
+                        .requestMatchers(HttpMethod.GET, "/actuator/prometheus").access(AuthorizationManagers.anyOf(
+                                metricsScrapeAuthorization,
+                                AuthorityAuthorizationManager.hasRole("ADMIN")))
+                        // Gravações JFR podem conter chaves de rate limit (IPs, ids de usuário)
+                        .requestMatchers("/actuator/flightrecording").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .addFilterBefore(apiKeyAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class);
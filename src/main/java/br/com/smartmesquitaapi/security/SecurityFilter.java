@@ -1,6 +1,7 @@
 package br.com.smartmesquitaapi.security;
 
 import br.com.smartmesquitaapi.auth.JWTUserData;
+import br.com.smartmesquitaapi.jfr.AuthenticationEvent;
 import br.com.smartmesquitaapi.user.domain.User;
 import br.com.smartmesquitaapi.user.UserRepository;
 import jakarta.servlet.FilterChain;
@@ -37,6 +38,11 @@ public class SecurityFilter extends OncePerRequestFilter {
         String authorizesHeader = request.getHeader("Authorization");
 
         if (Strings.isNotEmpty(authorizesHeader) && authorizesHeader.startsWith("Bearer ")) {
+            AuthenticationEvent event = new AuthenticationEvent();
+            event.begin();
+            long dbTime = 0;
+            boolean authenticated = false;
+
             String token = authorizesHeader.substring("Bearer ".length());
                 Optional<JWTUserData> optUser = tokenConfig.validateToken(token);
 
@@ -44,7 +50,9 @@ public class SecurityFilter extends OncePerRequestFilter {
                     JWTUserData userData = optUser.get();
 
                     UUID userId = userData.getUserId();
+                    long dbStart = System.nanoTime();
                     Optional<User> userOpt = userRepository.findById(userId);
+                    dbTime = System.nanoTime() - dbStart;
 
                     if (userOpt.isPresent()) {
                         User user = userOpt.get();
@@ -57,8 +65,10 @@ public class SecurityFilter extends OncePerRequestFilter {
                                 );
 
                         SecurityContextHolder.getContext().setAuthentication(authentication);
+                        authenticated = true;
                     }
                 }
+                event.finish(AuthenticationEvent.JWT, authenticated, dbTime);
             }
             filterChain.doFilter(request, response);
     }
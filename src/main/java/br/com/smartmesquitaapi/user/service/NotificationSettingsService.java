@@ -1,9 +1,12 @@
 package br.com.smartmesquitaapi.user.service;
 
+import br.com.smartmesquitaapi.config.cache.CacheConfig;
 import br.com.smartmesquitaapi.user.UserRepository;
 import br.com.smartmesquitaapi.user.domain.Notification;
 import br.com.smartmesquitaapi.user.domain.User;
 import br.com.smartmesquitaapi.user.dto.NotificationsSettingsDto;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +20,7 @@ public class NotificationSettingsService {
         this.userRepository = userRepository;
     }
 
+    @Cacheable(cacheNames = CacheConfig.NOTIFICATION_SETTINGS, keyGenerator = CacheConfig.CURRENT_USER_KEY)
     public NotificationsSettingsDto getNotificationSettings(){
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -33,6 +37,11 @@ public class NotificationSettingsService {
         return notificationDto;
     }
 
+    /**
+     * As preferências também fazem parte do perfil da organização
+     */
+    @CacheEvict(cacheNames = {CacheConfig.NOTIFICATION_SETTINGS, CacheConfig.ORGANIZATION_PROFILE},
+            keyGenerator = CacheConfig.CURRENT_USER_KEY)
     public void updateNotificationSettings(NotificationsSettingsDto notificationDto){
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -0,0 +1,14 @@
+-- ============================================================
+-- V005: Índice para o histórico de cobranças por organização
+-- ============================================================
+-- Suporta a paginação por cursor (keyset) de
+-- GET /api/v1/organizations/me/charges:
+--   WHERE organization_id = ? AND (created_at, id) < (?, ?)
+--   ORDER BY created_at DESC, id DESC
+-- O planner percorre o índice na ordem da consulta e para no LIMIT,
+-- sem OFFSET e sem sort.
+
+CREATE INDEX IF NOT EXISTS idx_pix_charges_org_created
+    ON pix_charges (organization_id, created_at DESC, id DESC);
+
+COMMENT ON INDEX idx_pix_charges_org_created IS 'Histórico de cobranças por organização (paginação keyset)';
@@ -0,0 +1,34 @@
+-- ============================================================
+-- V006: Totais diários de doações por organização e status
+-- ============================================================
+-- Atualizada de forma incremental a cada mudança de status de uma
+-- cobrança e reconstruída por dia pelo job de reconciliação.
+-- O dia é a data de criação da cobrança (created_at).
+
+CREATE TABLE donation_daily_rollup (
+    organization_id UUID NOT NULL,
+    day DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    charge_count BIGINT NOT NULL DEFAULT 0,
+    amount_cents BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_donation_daily_rollup PRIMARY KEY (organization_id, day, status),
+    CONSTRAINT fk_donation_rollup_organization FOREIGN KEY (organization_id)
+        REFERENCES organization(id) ON DELETE CASCADE,
+    CONSTRAINT chk_donation_rollup_status CHECK (status IN ('PENDING', 'PAID', 'CONFIRMED_MANUAL', 'EXPIRED', 'CANCELLED'))
+);
+
+-- Usado pela reconstrução de um dia inteiro
+CREATE INDEX idx_donation_rollup_day ON donation_daily_rollup(day);
+
+-- Backfill com o histórico existente
+INSERT INTO donation_daily_rollup (organization_id, day, status, charge_count, amount_cents, updated_at)
+SELECT organization_id, CAST(created_at AS date), status, COUNT(*), SUM(amount_cents), CURRENT_TIMESTAMP
+FROM pix_charges
+GROUP BY organization_id, CAST(created_at AS date), status;
+
+-- Comentários
+COMMENT ON TABLE donation_daily_rollup IS 'Totais diários de doações por organização, dia de criação e status';
+COMMENT ON COLUMN donation_daily_rollup.charge_count IS 'Quantidade de cobranças do dia neste status';
+COMMENT ON COLUMN donation_daily_rollup.amount_cents IS 'Soma dos valores em centavos';
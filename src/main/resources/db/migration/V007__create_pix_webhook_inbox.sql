@@ -0,0 +1,33 @@
+-- ============================================================
+-- V007: Caixa de entrada das notificações de pagamento do PSP
+-- ============================================================
+-- O webhook só grava a notificação aqui e responde; o processamento
+-- acontece em lotes, de forma assíncrona. O endToEndId único garante
+-- que reenvios do PSP sejam descartados já na inserção.
+
+CREATE TABLE pix_webhook_inbox (
+    id BIGSERIAL PRIMARY KEY,
+    end_to_end_id VARCHAR(64) NOT NULL,
+    txid VARCHAR(35),
+    amount_cents BIGINT NOT NULL,
+    paid_at TIMESTAMP NOT NULL,
+    psp_name VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    received_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+    outcome VARCHAR(20),
+
+    CONSTRAINT uk_pix_webhook_inbox_e2e UNIQUE (end_to_end_id)
+);
+
+-- Fila de pendentes: só as linhas ainda não processadas entram no índice
+CREATE INDEX idx_pix_webhook_inbox_pending ON pix_webhook_inbox(id) WHERE processed_at IS NULL;
+
+-- Limpeza das notificações antigas já processadas
+CREATE INDEX idx_pix_webhook_inbox_processed ON pix_webhook_inbox(processed_at) WHERE processed_at IS NOT NULL;
+
+-- Comentários
+COMMENT ON TABLE pix_webhook_inbox IS 'Notificações de pagamento recebidas do PSP, processadas em lote';
+COMMENT ON COLUMN pix_webhook_inbox.end_to_end_id IS 'Identificador fim a fim do PIX (único por pagamento)';
+COMMENT ON COLUMN pix_webhook_inbox.payload IS 'Notificação original, para auditoria';
+COMMENT ON COLUMN pix_webhook_inbox.outcome IS 'Resultado do processamento (PAID, ALREADY_PAID, UNKNOWN_TXID, AMOUNT_MISMATCH, NOT_PAYABLE)';
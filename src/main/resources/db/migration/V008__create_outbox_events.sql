@@ -0,0 +1,20 @@
+-- ============================================================
+-- V008: Outbox transacional de eventos de domínio
+-- ============================================================
+-- Eventos gravados na mesma transação que altera a cobrança.
+-- O relay lê em lotes (FOR UPDATE SKIP LOCKED), entrega aos consumidores
+-- (listeners internos e Redis Stream) e apaga as linhas entregues.
+
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id UUID NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Comentários
+COMMENT ON TABLE outbox_events IS 'Eventos de domínio pendentes de entrega (outbox transacional)';
+COMMENT ON COLUMN outbox_events.aggregate_id IS 'Id da entidade que originou o evento (ex.: cobrança PIX)';
+COMMENT ON COLUMN outbox_events.payload IS 'Evento serializado em JSON';
@@ -0,0 +1,137 @@
+-- ============================================================
+-- V009: Particionamento mensal de pix_charges por created_at
+-- ============================================================
+-- A tabela passa a ser particionada por faixa (RANGE) de created_at,
+-- uma partição por mês (pix_charges_yAAAAmMM), mais uma partição DEFAULT
+-- para linhas fora das faixas criadas. Consultas com created_at no filtro
+-- só leem as partições do período; partições antigas são desanexadas,
+-- arquivadas em disco e removidas pelo PixChargePartitionMaintenanceJob.
+--
+-- Restrições UNIQUE em tabela particionada precisam incluir a chave de
+-- partição, então a unicidade global de txid e de (user_id, idempotency_key)
+-- passa para a tabela pix_charge_keys, alimentada por trigger a cada INSERT.
+-- Ela também guarda o created_at de cada cobrança, o que permite buscar por
+-- txid ou local_donation_id lendo uma única partição.
+
+-- 1. Tira a tabela atual do caminho
+ALTER TABLE pix_charges RENAME TO pix_charges_unpartitioned;
+
+-- 2. Nova tabela particionada (mesmas colunas)
+CREATE TABLE pix_charges (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    user_id UUID,
+    organization_id UUID NOT NULL,
+    local_donation_id VARCHAR(100),
+    idempotency_key VARCHAR(100) NOT NULL,
+    txid VARCHAR(35) NOT NULL,
+    amount_cents INTEGER NOT NULL CHECK (amount_cents > 0),
+    qr_payload TEXT NOT NULL,
+    qr_image_base64 TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    psp_name VARCHAR(50) DEFAULT 'static-key',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    receipt_image_url VARCHAR(500),
+    confirmed_by_user_id UUID,
+    confirmed_at TIMESTAMP,
+    notes TEXT,
+
+    CONSTRAINT pk_pix_charges PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_pix_charges_user FOREIGN KEY (user_id)
+        REFERENCES users(user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_pix_charges_confirmed_by FOREIGN KEY (confirmed_by_user_id)
+        REFERENCES users(user_id) ON DELETE SET NULL,
+    CONSTRAINT fk_pix_charges_organization FOREIGN KEY (organization_id)
+        REFERENCES organization(id),
+    CONSTRAINT chk_status CHECK (status IN ('PENDING', 'PAID', 'CONFIRMED_MANUAL', 'EXPIRED', 'CANCELLED'))
+) PARTITION BY RANGE (created_at);
+
+-- 3. Partições mensais do mês mais antigo até 3 meses à frente
+DO $$
+DECLARE
+    month_start DATE;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(created_at))::date, date_trunc('month', CURRENT_DATE)::date)
+    INTO month_start
+    FROM pix_charges_unpartitioned;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF pix_charges FOR VALUES FROM (%L) TO (%L)',
+            'pix_charges_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::date
+        );
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+CREATE TABLE pix_charges_default PARTITION OF pix_charges DEFAULT;
+
+-- 4. Copia os dados e remove a tabela antiga
+INSERT INTO pix_charges (
+    id, user_id, organization_id, local_donation_id, idempotency_key, txid, amount_cents,
+    qr_payload, qr_image_base64, status, psp_name, created_at, expires_at, updated_at,
+    receipt_image_url, confirmed_by_user_id, confirmed_at, notes
+)
+SELECT
+    id, user_id, organization_id, local_donation_id, idempotency_key, txid, amount_cents,
+    qr_payload, qr_image_base64, status, psp_name, created_at, expires_at, updated_at,
+    receipt_image_url, confirmed_by_user_id, confirmed_at, notes
+FROM pix_charges_unpartitioned;
+
+DROP TABLE pix_charges_unpartitioned;
+
+-- 5. Índices (criados em cada partição)
+CREATE INDEX idx_txid ON pix_charges(txid);
+CREATE INDEX idx_status_expires ON pix_charges(status, expires_at);
+CREATE INDEX idx_local_donation ON pix_charges(local_donation_id);
+CREATE INDEX idx_created_at ON pix_charges(created_at DESC);
+CREATE INDEX idx_user_created ON pix_charges(user_id, created_at DESC);
+CREATE INDEX idx_pix_charges_org_created ON pix_charges(organization_id, created_at DESC, id DESC);
+
+-- 6. Tabela de chaves: unicidade global e localização da partição
+CREATE TABLE pix_charge_keys (
+    txid VARCHAR(35) PRIMARY KEY,
+    charge_id UUID NOT NULL,
+    organization_id UUID NOT NULL,
+    user_id UUID,
+    idempotency_key VARCHAR(100) NOT NULL,
+    local_donation_id VARCHAR(100),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX idx_user_idempotency ON pix_charge_keys(user_id, idempotency_key);
+CREATE INDEX idx_charge_keys_org_idempotency ON pix_charge_keys(organization_id, idempotency_key);
+CREATE INDEX idx_charge_keys_local_donation ON pix_charge_keys(local_donation_id);
+CREATE INDEX idx_charge_keys_created ON pix_charge_keys(created_at);
+
+INSERT INTO pix_charge_keys (txid, charge_id, organization_id, user_id, idempotency_key, local_donation_id, created_at)
+SELECT txid, id, organization_id, user_id, idempotency_key, local_donation_id, created_at
+FROM pix_charges;
+
+CREATE FUNCTION pix_charges_register_key() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO pix_charge_keys (txid, charge_id, organization_id, user_id, idempotency_key, local_donation_id, created_at)
+    VALUES (NEW.txid, NEW.id, NEW.organization_id, NEW.user_id, NEW.idempotency_key, NEW.local_donation_id, NEW.created_at);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_pix_charges_register_key
+    AFTER INSERT ON pix_charges
+    FOR EACH ROW EXECUTE FUNCTION pix_charges_register_key();
+
+-- Comentários
+COMMENT ON TABLE pix_charges IS 'Cobranças PIX geradas pelo sistema (particionada por mês de created_at)';
+COMMENT ON COLUMN pix_charges.user_id IS 'ID do usuário que gerou a cobrança (nulo quando gerada por totem)';
+COMMENT ON COLUMN pix_charges.idempotency_key IS 'Chave de idempotência gerada pelo cliente (totem)';
+COMMENT ON COLUMN pix_charges.txid IS 'Transaction ID do PIX (máx 35 chars); unicidade garantida por pix_charge_keys';
+COMMENT ON COLUMN pix_charges.amount_cents IS 'Valor em centavos (ex: 5000 = R$ 50,00)';
+COMMENT ON COLUMN pix_charges.qr_payload IS 'Payload EMV completo do QR Code';
+COMMENT ON COLUMN pix_charges.qr_image_base64 IS 'Imagem do QR Code em Base64 (PNG)';
+COMMENT ON COLUMN pix_charges.expires_at IS 'Data/hora de expiração do QR Code';
+COMMENT ON COLUMN pix_charges.psp_name IS 'Nome do PSP/Gateway usado (padrão: static-key)';
+COMMENT ON TABLE pix_charge_keys IS 'Chaves únicas das cobranças e created_at para localizar a partição';
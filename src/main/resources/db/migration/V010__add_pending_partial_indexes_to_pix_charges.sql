@@ -0,0 +1,31 @@
+-- ============================================================
+-- V010: Índices parciais para as cobranças pendentes
+-- ============================================================
+-- As consultas frequentes (expiração, limite de cobranças por hora,
+-- cobranças travadas e busca por valor) filtram status = 'PENDING', que é
+-- uma fração pequena da tabela. Índices parciais cobrem só essas linhas:
+-- ficam pequenos, cabem em memória e não são tocados quando a cobrança
+-- muda de PENDING para qualquer outro status e deixa de ser atualizada.
+--
+-- As consultas precisam usar o literal 'PENDING' (não um parâmetro) para
+-- que o planejador consiga provar o predicado do índice em planos genéricos.
+
+-- Limite de cobranças por hora (PixChargeService.validateRateLimit)
+CREATE INDEX idx_pix_charges_pending_org ON pix_charges(organization_id, created_at)
+    WHERE status = 'PENDING';
+
+-- Expiração e cobranças travadas
+CREATE INDEX idx_pix_charges_pending_expires ON pix_charges(expires_at)
+    WHERE status = 'PENDING';
+
+-- Busca de cobrança pendente por valor em uma janela de tempo
+CREATE INDEX idx_pix_charges_pending_amount ON pix_charges(amount_cents, created_at)
+    WHERE status = 'PENDING';
+
+-- Substituído por idx_pix_charges_pending_expires: nenhuma consulta filtra
+-- expires_at para outro status
+DROP INDEX idx_status_expires;
+
+COMMENT ON INDEX idx_pix_charges_pending_org IS 'Cobranças pendentes por organização (limite por hora)';
+COMMENT ON INDEX idx_pix_charges_pending_expires IS 'Cobranças pendentes por vencimento (expiração)';
+COMMENT ON INDEX idx_pix_charges_pending_amount IS 'Cobranças pendentes por valor e data de criação';
@@ -0,0 +1,36 @@
+-- ============================================================
+-- V011: Idempotência por organização e criação em um só comando
+-- ============================================================
+-- A busca de idempotência é feita por (organization_id, idempotency_key),
+-- mas a única restrição UNIQUE era (user_id, idempotency_key). Cobranças de
+-- totem têm user_id nulo e o NULL não conflita no índice único, então
+-- reenvios concorrentes do mesmo totem podiam gerar cobranças duplicadas.
+--
+-- A partir daqui a cobrança é criada por um único INSERT ... ON CONFLICT DO
+-- NOTHING em pix_charge_keys encadeado (CTE) com o INSERT em pix_charges
+-- (ver PixChargeInsertRepository); o trigger que copiava as chaves sai.
+
+-- 1. Duplicatas existentes: a cobrança mais antiga fica com a chave; as
+--    demais continuam na tabela, mas deixam de responder à idempotência
+ALTER TABLE pix_charge_keys ALTER COLUMN idempotency_key DROP NOT NULL;
+
+UPDATE pix_charge_keys k
+SET idempotency_key = NULL
+FROM (
+    SELECT txid,
+           row_number() OVER (PARTITION BY organization_id, idempotency_key ORDER BY created_at, txid) AS position
+    FROM pix_charge_keys
+) d
+WHERE d.txid = k.txid
+  AND d.position > 1;
+
+-- 2. Unicidade no escopo consultado
+DROP INDEX idx_user_idempotency;
+DROP INDEX idx_charge_keys_org_idempotency;
+CREATE UNIQUE INDEX idx_charge_keys_org_idempotency ON pix_charge_keys(organization_id, idempotency_key);
+
+-- 3. As chaves passam a ser gravadas pelo próprio comando de criação
+DROP TRIGGER trg_pix_charges_register_key ON pix_charges;
+DROP FUNCTION pix_charges_register_key();
+
+COMMENT ON COLUMN pix_charge_keys.idempotency_key IS 'Chave de idempotência, única por organização (nula em duplicatas anteriores à V011)';
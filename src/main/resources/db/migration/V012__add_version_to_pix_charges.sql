@@ -0,0 +1,17 @@
+-- ============================================================
+-- V012: Controle de concorrência otimista em pix_charges
+-- ============================================================
+-- A cobrança tem mais de um escritor automático: o job de expiração, o
+-- processador do webhook do PSP, a conciliação por extrato e a confirmação
+-- manual. Cada um lê a cobrança e grava a linha inteira; sem controle, a
+-- expiração podia gravar EXPIRED por cima de um PAID recém-confirmado (e
+-- apagar confirmed_at), ou a confirmação manual somar de novo uma cobrança
+-- já paga.
+--
+-- Com version (@Version em PixCharge), o UPDATE inclui "AND version = ?":
+-- quem leu uma versão antiga não grava nada e a transação é desfeita.
+-- Coluna com DEFAULT constante: só altera o catálogo, sem reescrever as partições.
+
+ALTER TABLE pix_charges ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN pix_charges.version IS 'Versão para controle de concorrência otimista (JPA @Version)';
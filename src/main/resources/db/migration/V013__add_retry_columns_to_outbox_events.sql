@@ -0,0 +1,16 @@
+-- ============================================================
+-- V013: Retentativa de eventos do outbox
+-- ============================================================
+-- Um evento cuja entrega a um handler interno falhou deixa de ser apagado:
+-- o relay incrementa attempts e adia a próxima tentativa (backoff
+-- exponencial), sem bloquear os demais eventos do lote.
+
+ALTER TABLE outbox_events
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at TIMESTAMP,
+    ADD COLUMN last_error TEXT;
+
+-- Comentários
+COMMENT ON COLUMN outbox_events.attempts IS 'Entregas que falharam em algum handler interno';
+COMMENT ON COLUMN outbox_events.next_attempt_at IS 'Antes deste instante o relay ignora o evento (NULL = imediatamente)';
+COMMENT ON COLUMN outbox_events.last_error IS 'Erro da última entrega que falhou';
@@ -0,0 +1,144 @@
+package br.com.smartmesquitaapi.config.cache;
+
+import br.com.smartmesquitaapi.user.dto.NotificationsSettingsDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Duas instâncias (nós) compartilhando o mesmo Redis: leitura pelo L2 e
+ * invalidação do L1 das outras instâncias via pub/sub.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class TwoLevelCacheTest {
+
+    private static final String CACHE = "settings";
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void startNodes() {
+        nodeA = new Node();
+        nodeB = new Node();
+    }
+
+    @AfterEach
+    void stopNodes() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    void valueWrittenByOneNodeIsServedFromRedisToAnother() {
+        nodeA.cache().put("admin@org.com", settings(true));
+
+        Cache.ValueWrapper first = nodeB.cache().get("admin@org.com");
+        Cache.ValueWrapper second = nodeB.cache().get("admin@org.com");
+
+        assertThat(first).isNotNull();
+        assertThat(first.get()).isEqualTo(settings(true));
+        assertThat(second).isNotNull();
+        assertThat(nodeB.requests("l2_hit")).isEqualTo(1);
+        assertThat(nodeB.requests("l1_hit")).isEqualTo(1);
+        assertThat(nodeB.registry.get("cache.hit.ratio").tag("cache", CACHE).gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void evictionOnOneNodeDropsLocalCopyOnTheOthers() throws InterruptedException {
+        nodeA.cache().put("admin@org.com", settings(true));
+        assertThat(nodeB.cache().get("admin@org.com")).isNotNull();
+        assertThat(nodeB.local().getIfPresent("admin@org.com")).isNotNull();
+
+        nodeA.cache().evict("admin@org.com");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (nodeB.local().getIfPresent("admin@org.com") != null && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(nodeB.local().getIfPresent("admin@org.com")).isNull();
+        assertThat(nodeB.cache().get("admin@org.com")).isNull();
+        assertThat(nodeB.requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void clearRemovesEveryKeyOfTheCacheFromRedis() {
+        nodeA.cache().put("a@org.com", settings(true));
+        nodeA.cache().put("b@org.com", settings(false));
+
+        nodeA.cache().clear();
+
+        assertThat(nodeA.template.keys(TwoLevelCache.KEY_PREFIX + CACHE + "::*")).isEmpty();
+        assertThat(nodeB.cache().get("a@org.com")).isNull();
+    }
+
+    private static NotificationsSettingsDto settings(boolean dailySummary) {
+        NotificationsSettingsDto dto = new NotificationsSettingsDto();
+        dto.setDailySummary(dailySummary);
+        dto.setDonationDone(true);
+        return dto;
+    }
+
+    private static final class Node {
+
+        final LettuceConnectionFactory connectionFactory;
+        final StringRedisTemplate template;
+        final RedisMessageListenerContainer listenerContainer;
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        final TwoLevelCacheManager manager;
+
+        Node() {
+            connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            template = new StringRedisTemplate(connectionFactory);
+
+            CacheSpec spec = new CacheSpec(CACHE, Duration.ofMinutes(10), Duration.ofMinutes(1), 100,
+                    new SmileRedisSerializer<>(NotificationsSettingsDto.class));
+            manager = new TwoLevelCacheManager(List.of(spec), connectionFactory, template, registry);
+            manager.afterPropertiesSet();
+
+            listenerContainer = new RedisMessageListenerContainer();
+            listenerContainer.setConnectionFactory(connectionFactory);
+            listenerContainer.addMessageListener(manager, new ChannelTopic(TwoLevelCacheManager.CHANNEL));
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        }
+
+        Cache cache() {
+            return manager.getCache(CACHE);
+        }
+
+        @SuppressWarnings("unchecked")
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local() {
+            return (com.github.benmanes.caffeine.cache.Cache<String, Object>) cache().getNativeCache();
+        }
+
+        double requests(String result) {
+            return registry.get("cache.requests").tag("cache", CACHE).tag("result", result).counter().count();
+        }
+
+        void stop() {
+            listenerContainer.stop();
+            connectionFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.smartmesquitaapi.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Um evento cujo handler interno falhou continua na tabela, com attempts e
+ * next_attempt_at preenchidos; os demais eventos do lote são apagados.
+ */
+@SpringBootTest(properties = {
+        "outbox.relay.poll-interval-ms=3600000",
+        "outbox.redis-stream.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxRelayRetryTest {
+
+    private static final String FAILING_TYPE = "test.failing";
+    private static final String HEALTHY_TYPE = "test.healthy";
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @TestConfiguration
+    static class Handlers {
+
+        @Bean
+        OutboxEventHandler<Map> failingHandler() {
+            return handler(FAILING_TYPE, payload -> {
+                throw new IllegalStateException("consumidor indisponível");
+            });
+        }
+
+        @Bean
+        OutboxEventHandler<Map> healthyHandler() {
+            return handler(HEALTHY_TYPE, payload -> { });
+        }
+
+        private static OutboxEventHandler<Map> handler(String type, Consumer<Map> body) {
+            return new OutboxEventHandler<>() {
+                @Override
+                public String eventType() {
+                    return type;
+                }
+
+                @Override
+                public Class<Map> payloadType() {
+                    return Map.class;
+                }
+
+                @Override
+                public void handle(Map payload) {
+                    body.accept(payload);
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void failedDeliveryIsRescheduledInsteadOfDeleted() {
+        long failingId = insertEvent(FAILING_TYPE);
+        long healthyId = insertEvent(HEALTHY_TYPE);
+
+        outboxRelay.relay();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM outbox_events WHERE id = ?", Long.class, healthyId)).isZero();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT attempts, next_attempt_at, last_error FROM outbox_events WHERE id = ?", failingId);
+        assertThat(row.get("attempts")).isEqualTo(1);
+        assertThat(((Timestamp) row.get("next_attempt_at")).toLocalDateTime()).isAfter(LocalDateTime.now().minusSeconds(1));
+        assertThat((String) row.get("last_error")).contains("consumidor indisponível");
+
+        // Dentro do backoff o evento não é lido de novo
+        outboxRelay.relay();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox_events WHERE id = ?", Integer.class, failingId)).isEqualTo(1);
+
+        // Vencido o backoff, nova tentativa incrementa attempts e mantém a linha
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = LOCALTIMESTAMP - INTERVAL '1 second' WHERE id = ?",
+                failingId);
+        outboxRelay.relay();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox_events WHERE id = ?", Integer.class, failingId)).isEqualTo(2);
+    }
+
+    private long insertEvent(String eventType) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO outbox_events (aggregate_type, aggregate_id, event_type, payload) " +
+                        "VALUES ('test', ?, ?, '{}') RETURNING id",
+                Long.class, UUID.randomUUID(), eventType);
+    }
+}
@@ -0,0 +1,196 @@
+package br.com.smartmesquitaapi.pix;
+
+import br.com.smartmesquitaapi.organization.domain.Mosque;
+import br.com.smartmesquitaapi.organization.domain.Organization;
+import br.com.smartmesquitaapi.pix.domain.PixCharge;
+import br.com.smartmesquitaapi.pix.domain.PixChargeStatus;
+import br.com.smartmesquitaapi.pix.webhook.PspPayment;
+import br.com.smartmesquitaapi.pix.webhook.WebhookOutcome;
+import br.com.smartmesquitaapi.user.UserRepository;
+import br.com.smartmesquitaapi.user.domain.BankDetails;
+import br.com.smartmesquitaapi.user.domain.PixKeyType;
+import br.com.smartmesquitaapi.user.domain.User;
+import br.com.smartmesquitaapi.user.domain.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Expiração e webhook disputando a mesma cobrança: a expiração lê a cobrança
+ * ainda PENDING, o webhook confirma o pagamento e faz commit, e só então a
+ * expiração tenta gravar. A versão (V012) faz a expiração falhar em vez de
+ * gravar EXPIRED por cima do PAID.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class PixChargeConcurrentStatusTest {
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @Autowired
+    private PixChargeService pixChargeService;
+
+    @Autowired
+    private PixChargeRepository pixChargeRepository;
+
+    @Autowired
+    private PixChargeInsertRepository pixChargeInsertRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void expirationThatReadBeforeTheWebhookCommitDoesNotOverwritePaid() {
+        Organization organization = seedOrganization("11222333000181");
+        PixCharge charge = seedExpiredPendingCharge(organization);
+        LocalDateTime paidAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        PspPayment payment = new PspPayment(1L, "E00000000202601010000ABCDEFGHIJK", charge.getTxid(),
+                charge.getAmountCents(), paidAt, "simulador");
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PixCharge> loaded = pixChargeRepository.findExpiredPendingChargesCreatedAfter(now, now.minusHours(1))
+                    .stream()
+                    .filter(candidate -> candidate.getPixChargeId().equals(charge.getPixChargeId()))
+                    .toList();
+            assertThat(loaded).hasSize(1);
+
+            // Webhook em outra transação, com commit antes da gravação da expiração
+            Map<Long, WebhookOutcome> outcomes =
+                    CompletableFuture.supplyAsync(() -> pixChargeService.applyPspPayments(List.of(payment))).join();
+            assertThat(outcomes).containsEntry(1L, WebhookOutcome.PAID);
+
+            // Mesmo corpo de PixChargeService.expire
+            loaded.forEach(stale -> {
+                stale.markAsExpired();
+                pixChargeRepository.save(stale);
+            });
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT status, confirmed_at, version FROM pix_charges WHERE id = ?", charge.getPixChargeId());
+        assertThat(row.get("status")).isEqualTo(PixChargeStatus.PAID.name());
+        assertThat(((Timestamp) row.get("confirmed_at")).toLocalDateTime()).isEqualTo(paidAt);
+        assertThat(row.get("version")).isEqualTo(1L);
+
+        // Só a transição para PAID chegou ao rollup; nenhuma para EXPIRED
+        List<Map<String, Object>> rollup = jdbcTemplate.queryForList(
+                "SELECT status, charge_count FROM donation_daily_rollup " +
+                        "WHERE organization_id = ? AND status IN ('PAID', 'EXPIRED') AND charge_count <> 0",
+                organization.getId());
+        assertThat(rollup).extracting(r -> r.get("status")).containsExactly("PAID");
+        assertThat(rollup).extracting(r -> ((Number) r.get("charge_count")).longValue()).containsExactly(1L);
+
+        // A próxima execução do job não encontra mais a cobrança
+        assertThat(pixChargeService.expireOldCharges()).isZero();
+    }
+
+    @Test
+    void webhookThatReadBeforeTheExpirationCommitFailsAndPaysOnRetry() {
+        Organization organization = seedOrganization("11444777000161");
+        PixCharge charge = seedExpiredPendingCharge(organization);
+        PspPayment payment = new PspPayment(2L, "E00000000202601010000LMNOPQRSTUV", charge.getTxid(),
+                charge.getAmountCents(), LocalDateTime.now(), "simulador");
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            PixCharge stale = pixChargeRepository.findById(charge.getPixChargeId()).orElseThrow();
+
+            int expired = CompletableFuture.supplyAsync(pixChargeService::expireOldCharges).join();
+            assertThat(expired).isPositive();
+
+            stale.markAsPaid("Pago via simulador", payment.paidAt());
+            pixChargeRepository.save(stale);
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        // Reprocessamento do lote: cobranças expiradas também recebem a baixa
+        assertThat(pixChargeService.applyPspPayments(List.of(payment))).containsEntry(2L, WebhookOutcome.PAID);
+        assertThat(pixChargeRepository.findById(charge.getPixChargeId()).orElseThrow().getStatus())
+                .isEqualTo(PixChargeStatus.PAID);
+    }
+
+    private PixCharge seedExpiredPendingCharge(Organization organization) {
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(20).truncatedTo(ChronoUnit.MILLIS);
+        PixCharge charge = PixCharge.builder()
+                .pixChargeId(UUID.randomUUID())
+                .organization(organization)
+                .idempotencyKey(UUID.randomUUID().toString())
+                .txid("CONC" + UUID.randomUUID().toString().replace("-", "").substring(0, 20).toUpperCase())
+                .amountCents(5000)
+                .qrPayload("payload")
+                .status(PixChargeStatus.PENDING)
+                .createdAt(createdAt)
+                .expiresAt(createdAt.plusMinutes(10))
+                .build();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(pixChargeInsertRepository.reserveOrFindExisting(charge, null))
+                    .hasValueSatisfying(reservation -> assertThat(reservation.created()).isTrue());
+            pixChargeInsertRepository.insert(charge, null);
+        });
+        return charge;
+    }
+
+    private Organization seedOrganization(String cnpj) {
+        BankDetails bankDetails = new BankDetails();
+        bankDetails.setBankName("Banco Teste");
+        bankDetails.setAccountHolder("Mesquita Teste");
+        bankDetails.setPixKey("tesouraria@mesquita-exemplo.org.br");
+        bankDetails.setPixKeyType(PixKeyType.EMAIL);
+        bankDetails.setIsVerified(true);
+        bankDetails.setVerifiedAt(LocalDateTime.now());
+
+        Mosque mosque = new Mosque();
+        mosque.setOrgName("Mesquita Concorrência");
+        mosque.setAdministratorName("Administrador");
+        mosque.setCnpj(cnpj);
+        mosque.setBankDetails(bankDetails);
+
+        User user = new User();
+        user.setName("Tesoureiro");
+        user.setEmail("concorrencia-" + UUID.randomUUID() + "@mesquita-exemplo.org.br");
+        user.setPassword("nao-usada");
+        user.setRole(UserRole.ORG_OWNER);
+        user.setEnabled(true);
+        user.setOrganization(mosque);
+        return userRepository.save(user).getOrganization();
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.smartmesquitaapi.pix;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Garante que as consultas de cobranças pendentes usam os índices parciais da V010.
+ *
+ * As consultas são preparadas com plan_cache_mode = force_generic_plan, como
+ * acontece com os PreparedStatement do Hibernate depois de algumas execuções.
+ * Índices em tabela particionada recebem um nome gerado em cada partição, por
+ * isso o plano é comparado com os índices filhos do índice parcial.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PixChargePendingIndexPlanTest {
+
+    private static final String ORG_ID = "00000000-0000-0000-0000-000000000001";
+
+    private static final Pattern INDEX_SCAN = Pattern.compile("Index (?:Only )?Scan (?:on|using) (\\S+)");
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO organization (id, org_name, administrator_name, cnpj)
+                    SELECT ('00000000-0000-0000-0000-0000000000' || lpad(g::text, 2, '0'))::uuid,
+                           'Org ' || g, 'Admin', lpad(g::text, 14, '0')
+                    FROM generate_series(1, 20) g
+                    """);
+
+            // 200 mil cobranças nos últimos 20 dias, 1% pendentes
+            statement.execute("""
+                    INSERT INTO pix_charges (organization_id, idempotency_key, txid, amount_cents, qr_payload,
+                                             status, created_at, expires_at, updated_at)
+                    SELECT ('00000000-0000-0000-0000-0000000000' || lpad((1 + i % 20)::text, 2, '0'))::uuid,
+                           'idem-' || i,
+                           'TX' || lpad(i::text, 20, '0'),
+                           100 + (i * 7919) % 50000,
+                           'payload',
+                           CASE WHEN i % 100 = 0 THEN 'PENDING' ELSE 'PAID' END,
+                           now() - make_interval(mins => i % 28800),
+                           now() - make_interval(mins => i % 28800) + interval '10 minutes',
+                           now() - make_interval(mins => i % 28800)
+                    FROM generate_series(1, 200000) i
+                    """);
+
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    void rateLimitCountUsesPendingOrganizationIndex() throws SQLException {
+        String plan = explain(
+                "SELECT count(*) FROM pix_charges p " +
+                        "WHERE p.organization_id = $1 AND p.status = 'PENDING' AND p.created_at >= $2",
+                "'" + ORG_ID + "'::uuid, now()::timestamp - interval '1 hour'");
+
+        assertThat(indexesUsed(plan)).containsAnyElementsOf(partitionIndexes("idx_pix_charges_pending_org"));
+    }
+
+    @Test
+    void statusAsParameterCannotUsePartialIndex() throws SQLException {
+        // Por isso as consultas do repositório usam o literal 'PENDING'
+        String plan = explain(
+                "SELECT count(*) FROM pix_charges p " +
+                        "WHERE p.organization_id = $1 AND p.status = $3::varchar AND p.created_at >= $2",
+                "'" + ORG_ID + "'::uuid, now()::timestamp - interval '1 hour', 'PENDING'");
+
+        assertThat(indexesUsed(plan)).doesNotContainAnyElementsOf(partitionIndexes("idx_pix_charges_pending_org"));
+    }
+
+    @Test
+    void fullExpirationSweepUsesPendingExpiresIndex() throws SQLException {
+        String plan = explain(
+                "SELECT * FROM pix_charges p WHERE p.status = 'PENDING' AND p.expires_at < $1",
+                "now()::timestamp");
+
+        assertThat(indexesUsed(plan)).containsAnyElementsOf(partitionIndexes("idx_pix_charges_pending_expires"));
+    }
+
+    @Test
+    void recentExpirationScanUsesPendingExpiresIndex() throws SQLException {
+        String plan = explain(
+                "SELECT * FROM pix_charges p " +
+                        "WHERE p.status = 'PENDING' AND p.expires_at < $1 AND p.created_at >= $2",
+                "now()::timestamp, now()::timestamp - interval '24 hours'");
+
+        assertThat(indexesUsed(plan)).containsAnyElementsOf(partitionIndexes("idx_pix_charges_pending_expires"));
+    }
+
+    @Test
+    void stuckChargeDetectionUsesPendingExpiresIndex() throws SQLException {
+        String plan = explain(
+                "SELECT * FROM pix_charges p " +
+                        "WHERE p.status = 'PENDING' AND p.expires_at < $1 AND p.updated_at < $2 LIMIT 100",
+                "now()::timestamp, now()::timestamp - interval '5 minutes'");
+
+        assertThat(indexesUsed(plan)).containsAnyElementsOf(partitionIndexes("idx_pix_charges_pending_expires"));
+    }
+
+    @Test
+    void amountSearchUsesPendingAmountIndex() throws SQLException {
+        String plan = explain(
+                "SELECT p.id FROM pix_charges p WHERE p.status = 'PENDING' AND p.amount_cents = $1 " +
+                        "AND p.created_at >= $2 AND p.created_at < $3 ORDER BY p.created_at LIMIT 50",
+                "5000, now()::timestamp - interval '7 days', now()::timestamp");
+
+        assertThat(indexesUsed(plan)).containsAnyElementsOf(partitionIndexes("idx_pix_charges_pending_amount"));
+    }
+
+    /**
+     * Prepara a consulta com plano genérico e devolve o EXPLAIN da execução com os argumentos
+     */
+    private static String explain(String sql, String arguments) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("SET plan_cache_mode = force_generic_plan");
+            statement.execute("PREPARE q AS " + sql);
+
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = statement.executeQuery("EXPLAIN (COSTS OFF) EXECUTE q(" + arguments + ")")) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * Índices lidos pelo plano (Index Scan, Index Only Scan e Bitmap Index Scan)
+     */
+    private static Set<String> indexesUsed(String plan) {
+        Set<String> indexes = new HashSet<>();
+        Matcher matcher = INDEX_SCAN.matcher(plan);
+        while (matcher.find()) {
+            indexes.add(matcher.group(1));
+        }
+        return indexes;
+    }
+
+    /**
+     * Nomes dos índices criados em cada partição a partir do índice da tabela pai
+     */
+    private static List<String> partitionIndexes(String parentIndex) throws SQLException {
+        String sql = """
+                SELECT child.relname
+                FROM pg_inherits i
+                JOIN pg_class child ON child.oid = i.inhrelid
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                WHERE parent.relname = ?
+                """;
+
+        List<String> names = new ArrayList<>();
+        try (Connection connection = connect(); PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, parentIndex);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                }
+            }
+        }
+
+        assertThat(names).as("partições de %s", parentIndex).isNotEmpty();
+        return names;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.smartmesquitaapi.pix.controller;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptEncodingTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "gzip",
+            "GZIP",
+            "deflate, gzip",
+            "gzip;q=0.5",
+            "gzip ; Q=0.001",
+            "x-gzip",
+            "*",
+            "br;q=1.0, *;q=0.1",
+            "gzip;q=0.8, identity;q=0.8",
+            "identity;q=0, gzip"
+    })
+    void acceptsGzip(String header) {
+        assertThat(AcceptEncoding.acceptsGzip(header)).isTrue();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+            " ",
+            "identity",
+            "gzip;q=0",
+            "gzip;q=0.000",
+            "gzip;q=0, *",
+            "*;q=0",
+            "deflate, br",
+            "gzipped",
+            "x-gzip-like",
+            "not-gzip",
+            "gzip;q=abc",
+            "gzip;q=2",
+            "gzip;q=0.5, identity;q=1"
+    })
+    void refusesGzip(String header) {
+        assertThat(AcceptEncoding.acceptsGzip(header)).isFalse();
+    }
+}
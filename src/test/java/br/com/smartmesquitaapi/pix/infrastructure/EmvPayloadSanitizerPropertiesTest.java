@@ -0,0 +1,92 @@
+package br.com.smartmesquitaapi.pix.infrastructure;
+
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.IntRange;
+
+import java.text.Normalizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A sanitização por tabela deve produzir exatamente o mesmo texto que a
+ * implementação anterior (NFD + remoção de marcas + regex).
+ */
+class EmvPayloadSanitizerPropertiesTest {
+
+    private static final String PORTUGUESE_CHARS =
+            "áàâãäéèêëíìîïóòôõöúùûüçñÁÀÂÃÄÉÈÊËÍÌÎÏÓÒÔÕÖÚÙÛÜÇÑªº" +
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789" +
+            " \t\n-'.,;:!?()/&@#%*+\"´`^~¨°§";
+
+    @Property(tries = 5000)
+    void portugueseTextMatchesPreviousImplementation(
+            @ForAll("portugueseText") String text,
+            @ForAll @IntRange(min = 1, max = 30) int maxLength
+    ) {
+        assertSameAsPrevious(text, maxLength);
+    }
+
+    @Property(tries = 5000)
+    void arbitraryUnicodeMatchesPreviousImplementation(
+            @ForAll("unicodeText") String text,
+            @ForAll @IntRange(min = 1, max = 30) int maxLength
+    ) {
+        assertSameAsPrevious(text, maxLength);
+    }
+
+    @Example
+    void everyBmpCharacterMatchesPreviousImplementation() {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            assertSameAsPrevious("a" + (char) c + "b", 25);
+        }
+    }
+
+    @Example
+    void foldsCommonMerchantNames() {
+        assertThat(EmvPayloadGenerator.sanitizeAndTruncate("Mesquita São João - Ação Social", 25))
+                .isEqualTo("Mesquita Sao Joao - Acao");
+        assertThat(EmvPayloadGenerator.sanitizeAndTruncate("São Paulo", 15)).isEqualTo("Sao Paulo");
+    }
+
+    @Provide
+    Arbitrary<String> portugueseText() {
+        return Arbitraries.strings().withChars(PORTUGUESE_CHARS.toCharArray()).ofMaxLength(60)
+                .filter(text -> !text.isBlank());
+    }
+
+    @Provide
+    Arbitrary<String> unicodeText() {
+        // Inclui combinantes soltos, surrogates e caracteres fora do BMP
+        return Arbitraries.strings().all().ofMaxLength(60)
+                .filter(text -> !text.isBlank());
+    }
+
+    private static void assertSameAsPrevious(String text, int maxLength) {
+        assertThat(EmvPayloadGenerator.sanitizeAndTruncate(text, maxLength))
+                .as("texto %s, máximo %d", escape(text), maxLength)
+                .isEqualTo(previousSanitizeAndTruncate(text, maxLength));
+    }
+
+    /**
+     * Implementação anterior, mantida como referência
+     */
+    private static String previousSanitizeAndTruncate(String text, int maxLength) {
+        String sanitized = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        sanitized = sanitized.replaceAll("[^a-zA-Z0-9\\s\\-]", "");
+        if (sanitized.length() > maxLength) {
+            sanitized = sanitized.substring(0, maxLength);
+        }
+        return sanitized.trim();
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder();
+        text.chars().forEach(c -> escaped.append(c < 128 && c >= 32 ? String.valueOf((char) c) : String.format("\\u%04X", c)));
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,420 @@
+package br.com.smartmesquitaapi.pix.infrastructure;
+
+import br.com.smartmesquitaapi.user.domain.PixKeyType;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.Example;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A classificação em uma passada (classify) deve aceitar e normalizar as
+ * chaves exatamente como a implementação anterior, baseada em regex.
+ */
+class PixKeyValidatorPropertiesTest {
+
+    /**
+     * Caracteres que aparecem em chaves reais e nos separadores digitados
+     */
+    private static final String KEY_CHARS =
+            "0123456789+-@._%abcdefABCDEFxyzXYZ ()/\t\u00A0";
+
+    @Property(tries = 5000)
+    void keyLikeTextMatchesPreviousImplementation(@ForAll("keyLikeText") String key) {
+        assertSameAsPrevious(key);
+    }
+
+    @Property(tries = 2000)
+    void arbitraryUnicodeMatchesPreviousImplementation(@ForAll("unicodeText") String key) {
+        assertSameAsPrevious(key);
+    }
+
+    @Property(tries = 2000)
+    void cpfsMatchPreviousImplementation(@ForAll("cpfs") String key) {
+        assertSameAsPrevious(key);
+    }
+
+    @Property(tries = 2000)
+    void cnpjsMatchPreviousImplementation(@ForAll("cnpjs") String key) {
+        assertSameAsPrevious(key);
+    }
+
+    @Property(tries = 2000)
+    void phonesMatchPreviousImplementation(@ForAll("phones") String key) {
+        assertSameAsPrevious(key);
+    }
+
+    @Property(tries = 2000)
+    void emailsMatchPreviousImplementation(@ForAll("emails") String key) {
+        assertSameAsPrevious(key);
+    }
+
+    @Property(tries = 2000)
+    void evpsMatchPreviousImplementation(@ForAll("evps") String key) {
+        assertSameAsPrevious(key);
+    }
+
+    @Example
+    void cpfCheckDigits() {
+        assertThat(PixKeyValidator.detectType("52998224725")).isEqualTo(PixKeyType.CPF);
+        assertThat(PixKeyValidator.normalize(" 529.982.247.25 ")).isEqualTo("52998224725");
+        // Primeiro e segundo dígitos com resto < 2 viram 0
+        assertThat(PixKeyValidator.detectType("70499962206")).isEqualTo(PixKeyType.CPF);
+        assertThat(PixKeyValidator.detectType("81241586810")).isEqualTo(PixKeyType.CPF);
+
+        assertThat(PixKeyValidator.detectType("52998224735")).isNull();
+        assertThat(PixKeyValidator.detectType("52998224726")).isNull();
+        assertThat(PixKeyValidator.detectType("00000000000")).isNull();
+        assertThat(PixKeyValidator.detectType("99999999999")).isNull();
+        assertThat(PixKeyValidator.detectType("5299822472")).isNull();
+    }
+
+    @Example
+    void cnpjCheckDigits() {
+        assertThat(PixKeyValidator.detectType("11222333000181")).isEqualTo(PixKeyType.CNPJ);
+        assertThat(PixKeyValidator.normalize("11.222.333/0001.81")).isEqualTo("11222333000181");
+        // Primeiro e segundo dígitos com resto < 2 viram 0
+        assertThat(PixKeyValidator.detectType("28351065553701")).isEqualTo(PixKeyType.CNPJ);
+        assertThat(PixKeyValidator.detectType("89323412610080")).isEqualTo(PixKeyType.CNPJ);
+
+        assertThat(PixKeyValidator.detectType("11222333000191")).isNull();
+        assertThat(PixKeyValidator.detectType("11222333000182")).isNull();
+        assertThat(PixKeyValidator.detectType("00000000000000")).isNull();
+        assertThat(PixKeyValidator.detectType("1122233300018")).isNull();
+    }
+
+    @Example
+    void eachEdgeCaseMatchesPreviousImplementation() {
+        String[] keys = {
+                null, "", " ", "\t\n", "\u00A0", "\u2003", "\u2028", "\u2028" + "52998224725",
+                "+", "++5511987654321", "5511987654321+",
+                "+5501987654321", "+5510987654321", "+551187654321", "+5511887654321", "+55119876543210",
+                "a@b.co", "a@b.c", "@b.com", "a@.com", "a@b.com.", "a@b.c0m", "a@@b.com", "a+b@b-c.com.br",
+                "529.982.247-25", "11.222.333/0001-81", "+55 (11) 98765-4321",
+                "123e4567-e89b-12d3-a456-426614174000", "123E4567-E89B-12D3-A456-426614174000",
+                "123e4567e89b-12d3-a456-426614174000-", "123g4567-e89b-12d3-a456-426614174000"
+        };
+        for (String key : keys) {
+            assertSameAsPrevious(key);
+        }
+    }
+
+    @Provide
+    Arbitrary<String> keyLikeText() {
+        return Arbitraries.strings().withChars(KEY_CHARS.toCharArray()).ofMaxLength(40);
+    }
+
+    @Provide
+    Arbitrary<String> unicodeText() {
+        return Arbitraries.strings().all().ofMaxLength(40);
+    }
+
+    @Provide
+    Arbitrary<String> cpfs() {
+        return withNoise(Arbitraries.strings().numeric().ofLength(9).map(PixKeyValidatorPropertiesTest::withCpfDigits));
+    }
+
+    @Provide
+    Arbitrary<String> cnpjs() {
+        return withNoise(Arbitraries.strings().numeric().ofLength(12).map(PixKeyValidatorPropertiesTest::withCnpjDigits));
+    }
+
+    @Provide
+    Arbitrary<String> phones() {
+        Arbitrary<String> ddd = Arbitraries.strings().numeric().ofLength(2);
+        Arbitrary<String> ninth = Arbitraries.of("", "9", "8");
+        Arbitrary<String> number = Arbitraries.strings().numeric().ofMinLength(7).ofMaxLength(9);
+        return withNoise(Combinators.combine(ddd, ninth, number).as((d, n, rest) -> "+55" + d + n + rest));
+    }
+
+    @Provide
+    Arbitrary<String> emails() {
+        Arbitrary<String> local = Arbitraries.strings().withChars("abcXYZ019._%+-@ ".toCharArray()).ofMinLength(0).ofMaxLength(8);
+        Arbitrary<String> domain = Arbitraries.strings().withChars("abcXYZ019.-_".toCharArray()).ofMinLength(0).ofMaxLength(8);
+        Arbitrary<String> tld = Arbitraries.strings().withChars("abcXYZ01-".toCharArray()).ofMinLength(0).ofMaxLength(4);
+        return Combinators.combine(local, domain, tld).as((l, d, t) -> l + "@" + d + "." + t);
+    }
+
+    @Provide
+    Arbitrary<String> evps() {
+        Arbitrary<String> uuid = Arbitraries.create(() -> UUID.randomUUID().toString());
+        Arbitrary<Integer> position = Arbitraries.integers().between(0, 35);
+        Arbitrary<Character> replacement = Arbitraries.chars().with("0aFg-@ ".toCharArray());
+        return Combinators.combine(uuid, position, replacement, Arbitraries.integers().between(0, 2))
+                .as((u, p, r, variant) -> switch (variant) {
+                    case 0 -> u;
+                    case 1 -> u.toUpperCase();
+                    default -> u.substring(0, p) + r + u.substring(p + 1);
+                });
+    }
+
+    /**
+     * Formatação e espaços em volta, e às vezes um dígito trocado
+     */
+    private static Arbitrary<String> withNoise(Arbitrary<String> keys) {
+        Arbitrary<Integer> variant = Arbitraries.integers().between(0, 4);
+        Arbitrary<Integer> position = Arbitraries.integers().between(0, 20);
+        return Combinators.combine(keys, variant, position).as((key, v, p) -> switch (v) {
+            case 0 -> key;
+            case 1 -> " " + key + "\t";
+            case 2 -> key.substring(0, Math.min(p, key.length())) + "." + key.substring(Math.min(p, key.length()));
+            case 3 -> key.substring(0, Math.min(p, key.length())) + "-" + key.substring(Math.min(p, key.length()));
+            default -> {
+                int index = Math.min(p, key.length() - 1);
+                char digit = key.charAt(index) == '9' ? '0' : (char) (key.charAt(index) + 1);
+                yield key.substring(0, index) + (Character.isDigit(key.charAt(index)) ? digit : key.charAt(index))
+                        + key.substring(index + 1);
+            }
+        });
+    }
+
+    private static String withCpfDigits(String base) {
+        int first = cpfDigit(base, 10);
+        int second = cpfDigit(base + first, 11);
+        return base + first + second;
+    }
+
+    private static int cpfDigit(String digits, int firstWeight) {
+        int sum = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            sum += (digits.charAt(i) - '0') * (firstWeight - i);
+        }
+        int digit = 11 - (sum % 11);
+        return digit >= 10 ? 0 : digit;
+    }
+
+    private static String withCnpjDigits(String base) {
+        int first = cnpjDigit(base, new int[]{5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2});
+        int second = cnpjDigit(base + first, new int[]{6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2});
+        return base + first + second;
+    }
+
+    private static int cnpjDigit(String digits, int[] weights) {
+        int sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += (digits.charAt(i) - '0') * weights[i];
+        }
+        return sum % 11 < 2 ? 0 : 11 - (sum % 11);
+    }
+
+    private static void assertSameAsPrevious(String key) {
+        String description = key == null ? "null" : escape(key);
+
+        assertThat(PixKeyValidator.detectType(key)).as("detectType %s", description)
+                .isEqualTo(Previous.detectType(key));
+        assertThat(PixKeyValidator.isValid(key)).as("isValid %s", description)
+                .isEqualTo(Previous.isValid(key));
+        assertThat(PixKeyValidator.normalize(key)).as("normalize %s", description)
+                .isEqualTo(Previous.normalize(key));
+        assertThat(PixKeyValidator.formatForDisplay(key)).as("formatForDisplay %s", description)
+                .isEqualTo(Previous.formatForDisplay(key));
+        for (PixKeyType type : PixKeyType.values()) {
+            assertThat(PixKeyValidator.isValidForType(key, type)).as("isValidForType %s %s", description, type)
+                    .isEqualTo(Previous.isValidForType(key, type));
+        }
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder();
+        text.chars().forEach(c -> escaped.append(c < 128 && c >= 32 ? String.valueOf((char) c) : String.format("\\u%04X", c)));
+        return escaped.toString();
+    }
+
+    /**
+     * Implementação anterior (regex), mantida como referência
+     */
+    private static final class Previous {
+
+        private static final Pattern EMAIL_PATTERN = Pattern.compile(
+                "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$",
+                Pattern.CASE_INSENSITIVE
+        );
+
+        private static final Pattern PHONE_PATTERN = Pattern.compile(
+                "^\\+55[1-9]{2}9?[0-9]{8}$"
+        );
+
+        private static final Pattern CPF_PATTERN = Pattern.compile("^[0-9]{11}$");
+        private static final Pattern CNPJ_PATTERN = Pattern.compile("^[0-9]{14}$");
+
+        private static final Pattern EVP_PATTERN = Pattern.compile(
+                "^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$",
+                Pattern.CASE_INSENSITIVE
+        );
+
+        static boolean isValid(String key) {
+            if (key == null || key.isBlank()) {
+                return false;
+            }
+            return detectType(clean(key)) != null;
+        }
+
+        static boolean isValidForType(String key, PixKeyType type) {
+            if (key == null || key.isBlank() || type == null) {
+                return false;
+            }
+
+            String cleanKey = clean(key);
+
+            return switch (type) {
+                case EMAIL -> EMAIL_PATTERN.matcher(cleanKey).matches();
+                case PHONE -> PHONE_PATTERN.matcher(cleanKey).matches();
+                case CPF -> CPF_PATTERN.matcher(cleanKey).matches() && isValidCpf(cleanKey);
+                case CNPJ -> CNPJ_PATTERN.matcher(cleanKey).matches() && isValidCnpj(cleanKey);
+                case EVP -> EVP_PATTERN.matcher(cleanKey).matches();
+            };
+        }
+
+        static PixKeyType detectType(String key) {
+            if (key == null || key.isBlank()) {
+                return null;
+            }
+
+            String cleanKey = clean(key);
+
+            if (EMAIL_PATTERN.matcher(cleanKey).matches()) {
+                return PixKeyType.EMAIL;
+            }
+            if (PHONE_PATTERN.matcher(cleanKey).matches()) {
+                return PixKeyType.PHONE;
+            }
+            if (EVP_PATTERN.matcher(cleanKey).matches()) {
+                return PixKeyType.EVP;
+            }
+            if (CPF_PATTERN.matcher(cleanKey).matches() && isValidCpf(cleanKey)) {
+                return PixKeyType.CPF;
+            }
+            if (CNPJ_PATTERN.matcher(cleanKey).matches() && isValidCnpj(cleanKey)) {
+                return PixKeyType.CNPJ;
+            }
+
+            return null;
+        }
+
+        static String clean(String key) {
+            if (key == null) {
+                return null;
+            }
+
+            String cleaned = key.trim();
+
+            if (cleaned.contains("@") || cleaned.contains("-")) {
+                return cleaned;
+            }
+
+            return cleaned.replaceAll("[^0-9+]", "");
+        }
+
+        private static boolean isValidCpf(String cpf) {
+            if (cpf.matches("(\\d)\\1{10}")) {
+                return false;
+            }
+
+            int sum = 0;
+            for (int i = 0; i < 9; i++) {
+                sum += Character.getNumericValue(cpf.charAt(i)) * (10 - i);
+            }
+            int firstDigit = 11 - (sum % 11);
+            if (firstDigit >= 10) firstDigit = 0;
+
+            if (Character.getNumericValue(cpf.charAt(9)) != firstDigit) {
+                return false;
+            }
+
+            sum = 0;
+            for (int i = 0; i < 10; i++) {
+                sum += Character.getNumericValue(cpf.charAt(i)) * (11 - i);
+            }
+            int secondDigit = 11 - (sum % 11);
+            if (secondDigit >= 10) secondDigit = 0;
+
+            return Character.getNumericValue(cpf.charAt(10)) == secondDigit;
+        }
+
+        private static boolean isValidCnpj(String cnpj) {
+            if (cnpj.matches("(\\d)\\1{13}")) {
+                return false;
+            }
+
+            int[] weight1 = {5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+            int sum = 0;
+            for (int i = 0; i < 12; i++) {
+                sum += Character.getNumericValue(cnpj.charAt(i)) * weight1[i];
+            }
+            int firstDigit = sum % 11 < 2 ? 0 : 11 - (sum % 11);
+
+            if (Character.getNumericValue(cnpj.charAt(12)) != firstDigit) {
+                return false;
+            }
+
+            int[] weight2 = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+            sum = 0;
+            for (int i = 0; i < 13; i++) {
+                sum += Character.getNumericValue(cnpj.charAt(i)) * weight2[i];
+            }
+            int secondDigit = sum % 11 < 2 ? 0 : 11 - (sum % 11);
+
+            return Character.getNumericValue(cnpj.charAt(13)) == secondDigit;
+        }
+
+        static String formatForDisplay(String key) {
+            if (key == null || key.isBlank()) {
+                return "";
+            }
+
+            PixKeyType type = detectType(key);
+            if (type == null) {
+                return key;
+            }
+
+            String cleanKey = clean(key);
+
+            return switch (type) {
+                case EMAIL -> {
+                    int atIndex = key.indexOf('@');
+                    if (atIndex > 2) {
+                        yield key.substring(0, 2) + "***" + key.substring(atIndex);
+                    }
+                    yield key;
+                }
+                case PHONE -> {
+                    if (cleanKey.length() >= 13) {
+                        yield cleanKey.substring(0, 6) + "****" + cleanKey.substring(cleanKey.length() - 4);
+                    }
+                    yield cleanKey;
+                }
+                case CPF -> cleanKey.substring(0, 3) + ".***.***-" + cleanKey.substring(9);
+                case CNPJ -> cleanKey.substring(0, 2) + ".***.***/****-" + cleanKey.substring(12);
+                case EVP -> {
+                    if (key.length() > 8) {
+                        yield key.substring(0, 8) + "-****-****-****-************";
+                    }
+                    yield key;
+                }
+            };
+        }
+
+        static String normalize(String key) {
+            if (key == null || key.isBlank()) {
+                return null;
+            }
+
+            PixKeyType type = detectType(key);
+            if (type == null) {
+                return clean(key);
+            }
+
+            return switch (type) {
+                case EMAIL, EVP -> key.trim().toLowerCase();
+                case PHONE, CPF, CNPJ -> clean(key);
+            };
+        }
+    }
+}
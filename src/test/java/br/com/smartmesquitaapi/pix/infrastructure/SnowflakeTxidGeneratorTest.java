@@ -0,0 +1,125 @@
+package br.com.smartmesquitaapi.pix.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeTxidGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    void concurrentGenerationNeverRepeats() throws Exception {
+        SnowflakeTxidGenerator generator = new SnowflakeTxidGenerator(1, System::currentTimeMillis);
+
+        Set<String> txids = generateConcurrently(List.of(generator));
+
+        assertThat(txids).hasSize(THREADS * IDS_PER_THREAD);
+    }
+
+    @Test
+    void nodesSharingTheSameClockNeverCollide() throws Exception {
+        // Relógio fixo: todos os nós disputam o mesmo milissegundo
+        SnowflakeTxidGenerator nodeA = new SnowflakeTxidGenerator(1, () -> SnowflakeTxidGenerator.EPOCH_MILLIS + 1_000);
+        SnowflakeTxidGenerator nodeB = new SnowflakeTxidGenerator(2, () -> SnowflakeTxidGenerator.EPOCH_MILLIS + 1_000);
+
+        Set<String> txids = generateConcurrently(List.of(nodeA, nodeB));
+
+        assertThat(txids).hasSize(THREADS * IDS_PER_THREAD);
+    }
+
+    @Test
+    void clockGoingBackwardsKeepsIdsIncreasing() {
+        AtomicLong now = new AtomicLong(SnowflakeTxidGenerator.EPOCH_MILLIS + 10_000);
+        SnowflakeTxidGenerator generator = new SnowflakeTxidGenerator(3, now::get);
+
+        long previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 100 == 0) {
+                now.addAndGet(-5);
+            }
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void txidFitsStaticQrCodeField() {
+        SnowflakeTxidGenerator generator = new SnowflakeTxidGenerator(SnowflakeTxidGenerator.MAX_NODE_ID, System::currentTimeMillis);
+
+        String txid = generator.generate("qualquer-chave");
+
+        assertThat(txid)
+                .hasSizeLessThanOrEqualTo(TxidGenerator.MAX_LENGTH)
+                .matches("[0-9A-Z]+");
+    }
+
+    @Test
+    void txidsSortInGenerationOrder() {
+        SnowflakeTxidGenerator generator = new SnowflakeTxidGenerator(7, System::currentTimeMillis);
+
+        String first = generator.generate(null);
+        String second = generator.generate(null);
+
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    void rejectsNodeIdOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeTxidGenerator(SnowflakeTxidGenerator.MAX_NODE_ID + 1, System::currentTimeMillis))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void missingNodeIdFailsWhenRequired() {
+        assertThatThrownBy(() -> SnowflakeTxidGenerator.resolveNodeId(-1, true))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(SnowflakeTxidGenerator.resolveNodeId(7, true)).isEqualTo(7);
+        assertThat(SnowflakeTxidGenerator.resolveNodeId(-1, false)).isBetween(0L, SnowflakeTxidGenerator.MAX_NODE_ID);
+    }
+
+    /**
+     * Divide as threads entre os geradores e junta todos os txids gerados
+     */
+    private static Set<String> generateConcurrently(List<SnowflakeTxidGenerator> generators) throws Exception {
+        Set<String> txids = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                SnowflakeTxidGenerator generator = generators.get(t % generators.size());
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        txids.add(generator.generate(null));
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return txids;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.smartmesquitaapi.ratelimit;
+
+import br.com.smartmesquitaapi.ratelimit.RateLimitHeavyHitters.HeavyHitter;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitHeavyHittersTest {
+
+    @Test
+    void countsAreExactWhileUnderCapacity() {
+        RateLimitHeavyHitters heavyHitters = new RateLimitHeavyHitters(10);
+
+        for (int i = 0; i < 5; i++) heavyHitters.recordDenial("login:10.0.0.1");
+        for (int i = 0; i < 3; i++) heavyHitters.recordDenial("login:10.0.0.2");
+        heavyHitters.recordDenial("create-pix:user-1");
+
+        assertThat(heavyHitters.top(2)).containsExactly(
+                new HeavyHitter("login:10.0.0.1", 5, 5),
+                new HeavyHitter("login:10.0.0.2", 3, 3)
+        );
+        assertThat(heavyHitters.totalDenials()).isEqualTo(9);
+    }
+
+    @Test
+    void abusiveKeysSurviveALongTailOfOneOffDenials() {
+        int capacity = 20;
+        RateLimitHeavyHitters heavyHitters = new RateLimitHeavyHitters(capacity);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+
+        // 3 IPs abusivos misturados a 5.000 IPs que só erram uma vez
+        for (int i = 0; i < 5_000; i++) {
+            String key = "login:" + (random.nextInt(10) < 2 ? "abuser-" + random.nextInt(3) : "ip-" + i);
+            heavyHitters.recordDenial(key);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        List<HeavyHitter> top = heavyHitters.top(3);
+
+        assertThat(top).extracting(HeavyHitter::key)
+                .containsExactlyInAnyOrder("login:abuser-0", "login:abuser-1", "login:abuser-2");
+        for (HeavyHitter hitter : top) {
+            long actual = exact.get(hitter.key());
+            assertThat(hitter.minimumDenials()).isLessThanOrEqualTo(actual);
+            assertThat(hitter.denials()).isGreaterThanOrEqualTo(actual);
+            assertThat(hitter.denials() - actual).isLessThanOrEqualTo(heavyHitters.totalDenials() / capacity);
+        }
+    }
+
+    @Test
+    void resetClearsTheRanking() {
+        RateLimitHeavyHitters heavyHitters = new RateLimitHeavyHitters(4);
+        heavyHitters.recordDenial("login:10.0.0.1");
+
+        heavyHitters.reset();
+
+        assertThat(heavyHitters.top(10)).isEmpty();
+        assertThat(heavyHitters.totalDenials()).isZero();
+    }
+}
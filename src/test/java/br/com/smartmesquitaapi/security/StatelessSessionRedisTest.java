@@ -0,0 +1,355 @@
+package br.com.smartmesquitaapi.security;
+
+import br.com.smartmesquitaapi.apikey.domain.TotemKey;
+import br.com.smartmesquitaapi.apikey.repository.TotemKeyRepository;
+import br.com.smartmesquitaapi.organization.domain.Mosque;
+import br.com.smartmesquitaapi.user.UserRepository;
+import br.com.smartmesquitaapi.user.domain.BankDetails;
+import br.com.smartmesquitaapi.user.domain.PixKeyType;
+import br.com.smartmesquitaapi.user.domain.User;
+import br.com.smartmesquitaapi.user.domain.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A API é stateless (JWT e X-API-KEY): nenhuma requisição cria HttpSession nem
+ * toca chaves spring:session:* no Redis.
+ *
+ * Sobe a aplicação com Postgres e Redis do Testcontainers e acompanha, com MONITOR,
+ * todos os comandos que o Redis recebe durante uma mistura de requisições de totem,
+ * de usuário logado e de login. Além da ausência de sessão, verifica o custo em
+ * Redis por requisição: famílias de comando esperadas (rate limit, cache), leituras
+ * do cache atendidas pelo L1 a partir da segunda rodada e um teto de comandos.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers(disabledWithoutDocker = true)
+class StatelessSessionRedisTest {
+
+    private static final String PASSWORD = "sessao-Senha-123";
+
+    /**
+     * Repetições das consultas do painel (a partir da segunda, servidas pelo cache)
+     */
+    private static final int DASHBOARD_ROUNDS = 5;
+
+    /**
+     * Consultas do painel com @Cacheable: cada uma lê o L2 no máximo uma vez
+     */
+    private static final int CACHED_ENDPOINTS = 4;
+
+    /**
+     * Teto da média de comandos por requisição (rate limit, idempotência, cache, outbox)
+     */
+    private static final double MAX_COMMANDS_PER_REQUEST = 6.0;
+
+    /**
+     * Comandos que a API usa; qualquer outro indica um acesso novo ao Redis
+     */
+    private static final Set<String> EXPECTED_COMMANDS = Set.of(
+            "INCR", "EXPIRE", "PEXPIRE", "TTL", "PTTL", "EXISTS", // rate limit
+            "GET", "SET", "DEL", "PUBLISH",                       // cache e idempotência
+            "EVAL", "EVALSHA", "XADD", "HMGET", "HSET",          // lock, outbox, contadores
+            "HELLO", "CLIENT", "PING", "SELECT");                  // conexões novas do Lettuce
+
+    private static final Logger log = LoggerFactory.getLogger(StatelessSessionRedisTest.class);
+
+    @Container
+    static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    @DynamicPropertySource
+    static void infrastructure(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.data.redis.host", redis::getHost);
+        registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TotemKeyRepository totemKeyRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenConfig tokenConfig;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void noSessionRepositoryFilterIsRegistered() {
+        assertThat(context.containsBean("springSessionRepositoryFilter")).isFalse();
+        assertThat(context.getBeansOfType(Filter.class).values())
+                .noneMatch(filter -> filter.getClass().getName().startsWith("org.springframework.session."));
+    }
+
+    @Test
+    void totemAndJwtRequestsNeverTouchSessionKeys() throws Exception {
+        User user = seedOrganization();
+        String accessToken = tokenConfig.generateToken(user);
+        String totemKey = seedTotem(user);
+
+        List<HttpResponse<String>> responses = new ArrayList<>();
+        List<String> commands;
+
+        try (RedisMonitor monitor = RedisMonitor.start(redis.getHost(), redis.getMappedPort(6379))) {
+            HttpResponse<String> charge = createCharge(totemKey);
+            responses.add(charge);
+            String txid = objectMapper.readTree(charge.body()).path("txid").asText();
+
+            for (int i = 0; i < DASHBOARD_ROUNDS; i++) {
+                responses.add(get("/api/v1/users/me/organization-profile", accessToken));
+                responses.add(get("/api/v1/users/me/notification-settings", accessToken));
+                responses.add(get("/api/v1/organizations/me/totems", accessToken));
+                responses.add(get("/api/v1/donations/txid/" + txid, accessToken));
+            }
+            responses.add(login(user.getEmail()));
+
+            commands = monitor.drain(stringRedisTemplate);
+        }
+
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.statusCode()).as(response.uri().toString()).isBetween(200, 299);
+            assertThat(response.headers().allValues("Set-Cookie")).as(response.uri().toString()).isEmpty();
+        });
+
+        Map<String, Integer> counts = commandCounts(commands);
+        log.info("Comandos Redis em {} requisições: {} | Por comando: {}", responses.size(), commands.size(), counts);
+
+        // O rate limit do login passa pelo Redis: sem INCR, o MONITOR não estaria funcionando
+        assertThat(counts).containsKey("INCR");
+        assertThat(counts.keySet()).isSubsetOf(EXPECTED_COMMANDS);
+        assertThat(commands).noneMatch(command -> command.contains("spring:session"));
+        assertThat(stringRedisTemplate.keys("spring:session:*")).isEmpty();
+
+        long cacheReads = commands.stream()
+                .filter(command -> RedisMonitor.commandName(command).equals("GET"))
+                .filter(command -> RedisMonitor.argument(command, 1).startsWith("cache:"))
+                .count();
+        assertThat(cacheReads).as("leituras do cache no Redis (L2)").isLessThanOrEqualTo(CACHED_ENDPOINTS);
+
+        assertThat((double) commands.size() / responses.size())
+                .as("comandos Redis por requisição")
+                .isLessThanOrEqualTo(MAX_COMMANDS_PER_REQUEST);
+    }
+
+    private HttpResponse<String> createCharge(String totemKey) throws IOException, InterruptedException {
+        String localId = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(Map.of(
+                "localDonationId", localId,
+                "amountCents", 5000,
+                "idempotencyKey", UUID.randomUUID().toString(),
+                "expiresMinutes", 10));
+
+        return send(request("/api/v1/donations/" + localId + "/pix")
+                .header("Content-Type", "application/json")
+                .header("X-API-KEY", totemKey)
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpResponse<String> get(String path, String accessToken) throws IOException, InterruptedException {
+        return send(request(path).header("Authorization", "Bearer " + accessToken).GET());
+    }
+
+    private HttpResponse<String> login(String email) throws IOException, InterruptedException {
+        String body = objectMapper.writeValueAsString(Map.of("email", email, "password", PASSWORD));
+        return send(request("/api/v1/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private User seedOrganization() {
+        BankDetails bankDetails = new BankDetails();
+        bankDetails.setBankName("Banco Teste");
+        bankDetails.setAccountHolder("Mesquita Teste");
+        bankDetails.setPixKey("tesouraria@mesquita-exemplo.org.br");
+        bankDetails.setPixKeyType(PixKeyType.EMAIL);
+        bankDetails.setIsVerified(true);
+        bankDetails.setVerifiedAt(LocalDateTime.now());
+
+        Mosque mosque = new Mosque();
+        mosque.setOrgName("Mesquita Sessão");
+        mosque.setAdministratorName("Administrador");
+        mosque.setCnpj("11222333000181");
+        mosque.setBankDetails(bankDetails);
+
+        User user = new User();
+        user.setName("Tesoureiro");
+        user.setEmail("sessao-" + UUID.randomUUID() + "@mesquita-exemplo.org.br");
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setRole(UserRole.ORG_OWNER);
+        user.setEnabled(true);
+        user.setOrganization(mosque);
+        return userRepository.save(user);
+    }
+
+    private String seedTotem(User user) {
+        String totemKey = "totem_" + UUID.randomUUID().toString().replace("-", "");
+        totemKeyRepository.save(new TotemKey("Totem sessão", totemKey, user.getOrganization()));
+        return totemKey;
+    }
+
+    private static Map<String, Integer> commandCounts(List<String> commands) {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (String command : commands) {
+            counts.merge(RedisMonitor.commandName(command), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /**
+     * Conexão em MONITOR com o Redis: guarda cada comando recebido pelo servidor
+     * (uma linha como: +1700000000.123456 [0 172.17.0.1:50000] "GET" "chave")
+     */
+    private static final class RedisMonitor implements AutoCloseable {
+
+        private static final Pattern ARGUMENT = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+        private final Socket socket;
+        private final List<String> lines = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private RedisMonitor(Socket socket) {
+            this.socket = socket;
+        }
+
+        static RedisMonitor start(String host, int port) throws IOException, InterruptedException {
+            RedisMonitor monitor = new RedisMonitor(new Socket(host, port));
+            OutputStream out = monitor.socket.getOutputStream();
+            out.write("MONITOR\r\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            Thread reader = new Thread(monitor::read, "redis-monitor");
+            reader.setDaemon(true);
+            reader.start();
+
+            assertThat(monitor.started.await(5, TimeUnit.SECONDS)).as("MONITOR não respondeu").isTrue();
+            return monitor;
+        }
+
+        private void read() {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.equals("+OK")) {
+                        started.countDown();
+                    } else {
+                        lines.add(line);
+                    }
+                }
+            } catch (IOException e) {
+                // Conexão fechada em close()
+            }
+        }
+
+        /**
+         * Envia um comando marcador e espera o MONITOR recebê-lo, para que os comandos
+         * das requisições já concluídas estejam todos na lista
+         */
+        List<String> drain(StringRedisTemplate template) throws InterruptedException {
+            String marker = "monitor:end:" + UUID.randomUUID();
+            template.hasKey(marker);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (lines.stream().noneMatch(line -> line.contains(marker))) {
+                assertThat(System.nanoTime()).as("Marcador não chegou ao MONITOR").isLessThan(deadline);
+                Thread.sleep(20);
+            }
+            return lines.stream().filter(line -> !line.contains(marker)).toList();
+        }
+
+        static String commandName(String line) {
+            return argument(line, 0).toUpperCase(Locale.ROOT);
+        }
+
+        /**
+         * Argumento na posição informada (0 é o nome do comando); "" se não existir
+         */
+        static String argument(String line, int index) {
+            Matcher matcher = ARGUMENT.matcher(line);
+            for (int i = 0; i <= index; i++) {
+                if (!matcher.find()) {
+                    return "";
+                }
+            }
+            return matcher.group(1);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}